@@ -19,12 +19,40 @@
 package io.functionmesh.compute;
 
 import static java.net.HttpURLConnection.HTTP_NOT_FOUND;
+import io.functionmesh.compute.auth.AuthorizationDecisionCache;
+import io.functionmesh.compute.functions.models.V1alpha1Function;
+import io.functionmesh.compute.functions.models.V1alpha1FunctionList;
 import io.functionmesh.compute.models.MeshWorkerServiceCustomConfig;
+import io.functionmesh.compute.models.PartialObjectMetadata;
+import io.functionmesh.compute.models.PartialObjectMetadataList;
 import io.functionmesh.compute.rest.api.FunctionsImpl;
 import io.functionmesh.compute.rest.api.SinksImpl;
 import io.functionmesh.compute.rest.api.SourcesImpl;
+import io.functionmesh.compute.sinks.models.V1alpha1Sink;
+import io.functionmesh.compute.sinks.models.V1alpha1SinkList;
+import io.functionmesh.compute.sources.models.V1alpha1Source;
+import io.functionmesh.compute.sources.models.V1alpha1SourceList;
 import io.functionmesh.compute.util.KubernetesUtils;
+import io.functionmesh.compute.worker.ApiServerRateLimiter;
+import io.functionmesh.compute.worker.BlockingExecutors;
+import io.functionmesh.compute.worker.ComponentCleanup;
+import io.functionmesh.compute.worker.ComponentCleanupJournal;
+import io.functionmesh.compute.worker.ComponentCleanupQueue;
+import io.functionmesh.compute.worker.ComponentCleanupReconciler;
+import io.functionmesh.compute.worker.FunctionsStatsGenerator;
+import io.functionmesh.compute.worker.InstanceCallLimiter;
+import io.functionmesh.compute.worker.InstanceControlChannelPool;
+import io.functionmesh.compute.worker.InstanceStatusPoller;
+import io.functionmesh.compute.worker.MeshComponentCache;
 import io.functionmesh.compute.worker.MeshConnectorsManager;
+import io.functionmesh.compute.worker.PackageFileCache;
+import io.functionmesh.compute.worker.PackageInspectionCache;
+import io.functionmesh.compute.worker.PackageMetadataCache;
+import io.functionmesh.compute.worker.PartialObjectMetadataInterceptor;
+import io.functionmesh.compute.worker.RequestCoalescer;
+import io.functionmesh.compute.worker.SecretAnnotationIndex;
+import io.functionmesh.compute.worker.TenantInfoCache;
+import io.kubernetes.client.informer.SharedInformerFactory;
 import io.kubernetes.client.openapi.ApiClient;
 import io.kubernetes.client.openapi.ApiException;
 import io.kubernetes.client.openapi.apis.AppsV1Api;
@@ -33,8 +61,12 @@ import io.kubernetes.client.openapi.apis.CustomObjectsApi;
 import io.kubernetes.client.util.ClientBuilder;
 import io.kubernetes.client.util.Config;
 import io.kubernetes.client.util.KubeConfig;
+import io.kubernetes.client.util.generic.GenericKubernetesApi;
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.bookkeeper.clients.StorageClientBuilder;
@@ -74,6 +106,8 @@ public class MeshWorkerService implements WorkerService {
     private static final String API_GROUP = "compute.functionmesh.io";
     private static final String API_VERSION = "v1alpha1";
     private static final String API_PLURAL = "functions";
+    private static final String API_PLURAL_SINKS = "sinks";
+    private static final String API_PLURAL_SOURCES = "sources";
     final PulsarWorkerService.PulsarClientCreator clientCreator;
     private volatile boolean isInitialized = false;
     private WorkerConfig workerConfig;
@@ -96,6 +130,25 @@ public class MeshWorkerService implements WorkerService {
     private MeshConnectorsManager connectorsManager;
     private ServiceConfiguration brokerConfig;
     private StorageAdminClient stateStoreAdminClient;
+    private ApiClient informerApiClient;
+    private SharedInformerFactory informerFactory;
+    private MeshComponentCache<V1alpha1Function> functionCache;
+    private MeshComponentCache<V1alpha1Sink> sinkCache;
+    private MeshComponentCache<V1alpha1Source> sourceCache;
+    private SecretAnnotationIndex oauth2SecretIndex;
+    private PackageFileCache packageFileCache;
+    private PackageInspectionCache packageInspectionCache;
+    private PackageMetadataCache packageMetadataCache;
+    private ComponentCleanupQueue componentCleanupQueue;
+    private ComponentCleanupJournal componentCleanupJournal;
+    private ComponentCleanupReconciler componentCleanupReconciler;
+    private InstanceCallLimiter instanceCallLimiter;
+    private RequestCoalescer requestCoalescer;
+    private ApiServerRateLimiter apiServerRateLimiter;
+    private InstanceControlChannelPool instanceControlChannelPool;
+    private InstanceStatusPoller instanceStatusPoller;
+    private AuthorizationDecisionCache authorizationDecisionCache;
+    private TenantInfoCache tenantInfoCache;
 
     public MeshWorkerService() {
 
@@ -174,6 +227,78 @@ public class MeshWorkerService implements WorkerService {
                 workerConfig.getFunctionRuntimeFactoryConfigs(), KubernetesRuntimeFactoryConfig.class);
         this.meshWorkerServiceCustomConfig = RuntimeUtils.getRuntimeFunctionConfig(
                 workerConfig.getFunctionsWorkerServiceCustomConfigs(), MeshWorkerServiceCustomConfig.class);
+        this.initApiServerRateLimiter();
+        this.initComponentCache();
+        this.initOAuth2SecretIndex();
+        this.initPackageFileCache();
+        BlockingExecutors.Mode blockingExecutorMode = meshWorkerServiceCustomConfig != null
+                ? BlockingExecutors.Mode.fromString(meshWorkerServiceCustomConfig.getBlockingExecutorMode())
+                : BlockingExecutors.Mode.PLATFORM;
+        if (meshWorkerServiceCustomConfig != null && meshWorkerServiceCustomConfig.isPackageInspectionCacheEnabled()) {
+            this.packageInspectionCache =
+                    new PackageInspectionCache(meshWorkerServiceCustomConfig.getPackageInspectionCacheMaxSize());
+        }
+        if (meshWorkerServiceCustomConfig != null && meshWorkerServiceCustomConfig.isPackageMetadataCacheEnabled()) {
+            this.packageMetadataCache = new PackageMetadataCache(
+                    meshWorkerServiceCustomConfig.getPackageMetadataCacheMaxSize(),
+                    meshWorkerServiceCustomConfig.getPackageMetadataCacheTtlSeconds());
+        }
+        if (meshWorkerServiceCustomConfig != null && meshWorkerServiceCustomConfig.isCleanupQueueEnabled()) {
+            if (meshWorkerServiceCustomConfig.isCleanupJournalEnabled()) {
+                this.componentCleanupJournal = new ComponentCleanupJournal(apiClient, getJobNamespace(),
+                        meshWorkerServiceCustomConfig.getCleanupJournalConfigMapName());
+            }
+            this.componentCleanupQueue = new ComponentCleanupQueue(
+                    meshWorkerServiceCustomConfig.getCleanupQueueConcurrency(),
+                    meshWorkerServiceCustomConfig.getCleanupQueueMaxPending(),
+                    meshWorkerServiceCustomConfig.getCleanupTopicParallelism(),
+                    componentCleanupJournal,
+                    blockingExecutorMode);
+        }
+        if (meshWorkerServiceCustomConfig != null && meshWorkerServiceCustomConfig.isInstanceChannelPoolEnabled()) {
+            this.instanceControlChannelPool = new InstanceControlChannelPool(getInstanceChannelPoolMaxSize(),
+                    meshWorkerServiceCustomConfig.getInstanceChannelIdleTimeoutSeconds());
+        }
+        if (meshWorkerServiceCustomConfig != null && meshWorkerServiceCustomConfig.isInstanceCallLimitEnabled()) {
+            this.instanceCallLimiter = new InstanceCallLimiter(
+                    meshWorkerServiceCustomConfig.getInstanceCallMaxConcurrency(),
+                    meshWorkerServiceCustomConfig.getInstanceCallMaxWaiting(),
+                    TimeUnit.SECONDS.toMillis(meshWorkerServiceCustomConfig.getInstanceCallMaxWaitSeconds()));
+        }
+        if (meshWorkerServiceCustomConfig != null && meshWorkerServiceCustomConfig.isRequestCoalescingEnabled()) {
+            this.requestCoalescer = new RequestCoalescer();
+        }
+        if (meshWorkerServiceCustomConfig != null && meshWorkerServiceCustomConfig.isAuthorizationCacheEnabled()) {
+            this.authorizationDecisionCache = new AuthorizationDecisionCache(
+                    meshWorkerServiceCustomConfig.getAuthorizationCacheMaxSize(),
+                    meshWorkerServiceCustomConfig.getAuthorizationCacheAllowedTtlSeconds(),
+                    meshWorkerServiceCustomConfig.getAuthorizationCacheDeniedTtlSeconds());
+        }
+    }
+
+    // a channel evicted from the pool is shut down, so the pool has to hold every channel polled at the same time
+    private long getInstanceChannelPoolMaxSize() {
+        long maxSize = meshWorkerServiceCustomConfig.getInstanceChannelPoolMaxSize();
+        if (!meshWorkerServiceCustomConfig.isInstanceStatusPollerEnabled()) {
+            return maxSize;
+        }
+        long minSize = meshWorkerServiceCustomConfig.getInstanceStatusPollMaxConcurrency();
+        if (meshWorkerServiceCustomConfig.isInstanceCallLimitEnabled()) {
+            minSize += meshWorkerServiceCustomConfig.getInstanceCallMaxConcurrency();
+        }
+        if (maxSize < minSize) {
+            log.warn("instanceChannelPoolMaxSize {} is lower than the instance calls in flight, raising it to {}",
+                    maxSize, minSize);
+            return minSize;
+        }
+        return maxSize;
+    }
+
+    private void onTenantInfoChanged(String tenant) {
+        // the tenant admin roles may have changed, drop the decisions based on them
+        if (authorizationDecisionCache != null) {
+            authorizationDecisionCache.invalidateTenant(tenant);
+        }
     }
 
     public void validateExternalServices() throws Exception {
@@ -187,15 +312,7 @@ public class MeshWorkerService implements WorkerService {
 
     private void initKubernetesClient() throws IOException {
         try {
-            if (StringUtils.isNotEmpty(System.getenv(KUBE_CONFIG_ENV))) {
-                String kubeConfigPath = System.getenv(KUBE_CONFIG_ENV);
-                log.info("Initialization kubernetes client from config file: {}", kubeConfigPath);
-                // loading the out-of-cluster config, a kubeconfig from file-system
-                apiClient =
-                        ClientBuilder.kubeconfig(KubeConfig.loadKubeConfig(new FileReader(kubeConfigPath))).build();
-            } else {
-                apiClient = Config.defaultClient();
-            }
+            apiClient = newApiClient();
             coreV1Api = new CoreV1Api(apiClient);
             appsV1Api = new AppsV1Api(apiClient);
             customObjectsApi = new CustomObjectsApi(apiClient);
@@ -211,6 +328,102 @@ public class MeshWorkerService implements WorkerService {
         }
     }
 
+    private void initApiServerRateLimiter() {
+        if (meshWorkerServiceCustomConfig == null || !meshWorkerServiceCustomConfig.isApiServerRateLimitEnabled()) {
+            return;
+        }
+        this.apiServerRateLimiter = new ApiServerRateLimiter(
+                meshWorkerServiceCustomConfig.getApiServerQps(),
+                meshWorkerServiceCustomConfig.getApiServerBurst(),
+                meshWorkerServiceCustomConfig.getApiServerMinConcurrency(),
+                meshWorkerServiceCustomConfig.getApiServerMaxConcurrency(),
+                TimeUnit.SECONDS.toMillis(meshWorkerServiceCustomConfig.getApiServerAcquireTimeoutSeconds()),
+                meshWorkerServiceCustomConfig.getApiServerMaxRetries());
+        // the APIs and the generic clients keep a reference to the client, so they all pick up the interceptor
+        apiClient.setHttpClient(apiClient.getHttpClient().newBuilder()
+                .addInterceptor(apiServerRateLimiter)
+                .build());
+    }
+
+    private void initComponentCache() throws IOException {
+        if (meshWorkerServiceCustomConfig == null || !meshWorkerServiceCustomConfig.isComponentCacheEnabled()) {
+            return;
+        }
+        long resyncIntervalSeconds = meshWorkerServiceCustomConfig.getComponentCacheResyncIntervalSeconds();
+        String jobNamespace = getJobNamespace();
+        initInformerFactory();
+        this.functionCache = MeshComponentCache.create(informerFactory,
+                new GenericKubernetesApi<>(V1alpha1Function.class, V1alpha1FunctionList.class,
+                        API_GROUP, API_VERSION, API_PLURAL, informerApiClient),
+                V1alpha1Function.class, resyncIntervalSeconds, jobNamespace);
+        this.sinkCache = MeshComponentCache.create(informerFactory,
+                new GenericKubernetesApi<>(V1alpha1Sink.class, V1alpha1SinkList.class,
+                        API_GROUP, API_VERSION, API_PLURAL_SINKS, informerApiClient),
+                V1alpha1Sink.class, resyncIntervalSeconds, jobNamespace);
+        this.sourceCache = MeshComponentCache.create(informerFactory,
+                new GenericKubernetesApi<>(V1alpha1Source.class, V1alpha1SourceList.class,
+                        API_GROUP, API_VERSION, API_PLURAL_SOURCES, informerApiClient),
+                V1alpha1Source.class, resyncIntervalSeconds, jobNamespace);
+        log.info("Initialized component cache for namespace {}", jobNamespace);
+    }
+
+    private void initOAuth2SecretIndex() throws IOException {
+        if (meshWorkerServiceCustomConfig == null || !meshWorkerServiceCustomConfig.isOauth2SecretIndexEnabled()
+                || StringUtils.isEmpty(meshWorkerServiceCustomConfig.getOauth2SecretAnnotationKey())) {
+            return;
+        }
+        initInformerFactory();
+        // only the metadata of the secrets is listed and watched, their data is never needed by the worker
+        ApiClient metadataApiClient = newApiClient();
+        metadataApiClient.setHttpClient(informerApiClient.getHttpClient().newBuilder()
+                .addInterceptor(new PartialObjectMetadataInterceptor())
+                .build());
+        this.oauth2SecretIndex = SecretAnnotationIndex.create(informerFactory,
+                new GenericKubernetesApi<>(PartialObjectMetadata.class, PartialObjectMetadataList.class, "", "v1",
+                        "secrets", metadataApiClient),
+                meshWorkerServiceCustomConfig.getComponentCacheResyncIntervalSeconds(), getJobNamespace(),
+                meshWorkerServiceCustomConfig.getOauth2SecretAnnotationKey());
+        log.info("Initialized oauth2 secret index for namespace {}", getJobNamespace());
+    }
+
+    private void initPackageFileCache() throws IOException {
+        if (meshWorkerServiceCustomConfig == null || !meshWorkerServiceCustomConfig.isPackageCacheEnabled()) {
+            return;
+        }
+        Path directory;
+        if (StringUtils.isNotEmpty(meshWorkerServiceCustomConfig.getPackageCacheDirectory())) {
+            directory = Paths.get(meshWorkerServiceCustomConfig.getPackageCacheDirectory());
+        } else if (workerConfig.getDownloadDirectory() != null) {
+            directory = Paths.get(workerConfig.getDownloadDirectory(), "package-cache");
+        } else {
+            directory = Paths.get(workerConfig.getNarExtractionDirectory(), "package-cache");
+        }
+        this.packageFileCache = new PackageFileCache(directory,
+                meshWorkerServiceCustomConfig.getPackageCacheMaxSizeMB() * 1024 * 1024);
+        log.info("Initialized package cache in {}", directory);
+    }
+
+    private void initInformerFactory() throws IOException {
+        if (informerFactory == null) {
+            // watch connections are long-lived, use a dedicated client without read timeout
+            this.informerApiClient = newApiClient();
+            informerApiClient.setHttpClient(informerApiClient.getHttpClient().newBuilder()
+                    .readTimeout(0, TimeUnit.SECONDS)
+                    .build());
+            this.informerFactory = new SharedInformerFactory(informerApiClient);
+        }
+    }
+
+    private ApiClient newApiClient() throws IOException {
+        if (StringUtils.isNotEmpty(System.getenv(KUBE_CONFIG_ENV))) {
+            String kubeConfigPath = System.getenv(KUBE_CONFIG_ENV);
+            log.info("Initialization kubernetes client from config file: {}", kubeConfigPath);
+            // loading the out-of-cluster config, a kubeconfig from file-system
+            return ClientBuilder.kubeconfig(KubeConfig.loadKubeConfig(new FileReader(kubeConfigPath))).build();
+        }
+        return Config.defaultClient();
+    }
+
     public void start(AuthenticationService authenticationService,
                       AuthorizationService authorizationService,
                       ErrorNotifier errorNotifier) throws Exception {
@@ -218,14 +431,63 @@ public class MeshWorkerService implements WorkerService {
         this.authorizationService = authorizationService;
         this.brokerAdmin = clientCreator.newPulsarAdmin(workerConfig.getPulsarWebServiceUrl(), workerConfig);
         this.brokerClient = clientCreator.newPulsarClient(workerConfig.getPulsarWebServiceUrl(), workerConfig);
+        if (meshWorkerServiceCustomConfig != null && meshWorkerServiceCustomConfig.isTenantCacheEnabled()) {
+            this.tenantInfoCache = new TenantInfoCache(brokerAdmin,
+                    meshWorkerServiceCustomConfig.getTenantCacheMaxSize(),
+                    meshWorkerServiceCustomConfig.getTenantCacheTtlSeconds(),
+                    meshWorkerServiceCustomConfig.getTenantCacheRefreshSeconds(),
+                    this::onTenantInfoChanged);
+        }
         this.connectorsManager = new MeshConnectorsManager(meshWorkerServiceCustomConfig);
         this.validateExternalServices();
         this.initStateStorageService();
+        if (null != informerFactory) {
+            informerFactory.startAllRegisteredInformers();
+        }
+        if (meshWorkerServiceCustomConfig != null && meshWorkerServiceCustomConfig.isInstanceStatusPollerEnabled()) {
+            this.instanceStatusPoller = new InstanceStatusPoller(coreV1Api, getJobNamespace(),
+                    instanceControlChannelPool, meshWorkerServiceCustomConfig.getInstanceStatusPollMaxConcurrency(),
+                    meshWorkerServiceCustomConfig.getInstanceStatusPollIntervalSeconds(),
+                    meshWorkerServiceCustomConfig.getInstanceStatusMaxStalenessSeconds());
+            this.instanceStatusPoller.start();
+        }
+        if (componentCleanupJournal != null) {
+            if (meshWorkerServiceCustomConfig.getCleanupReconcileGraceSeconds()
+                    < 2 * meshWorkerServiceCustomConfig.getCleanupReconcileIntervalSeconds()) {
+                throw new IllegalArgumentException("cleanupReconcileGraceSeconds must be at least twice "
+                        + "cleanupReconcileIntervalSeconds, or running cleanups are resumed by other workers");
+            }
+            // the subscriptions are deleted with the broker admin, so only resume cleanups once it is created
+            this.componentCleanupReconciler = new ComponentCleanupReconciler(componentCleanupJournal,
+                    componentCleanupQueue, this::resumeComponentCleanup,
+                    meshWorkerServiceCustomConfig.getCleanupReconcileIntervalSeconds(),
+                    meshWorkerServiceCustomConfig.getCleanupReconcileGraceSeconds(),
+                    meshWorkerServiceCustomConfig.getCleanupMaxResumeAttempts());
+            this.componentCleanupReconciler.start();
+        }
         this.isInitialized = true;
         log.info("/** Started mesh worker service **/");
     }
 
     public void stop() {
+        if (null != informerFactory) {
+            informerFactory.stopAllRegisteredInformers();
+        }
+        if (null != instanceStatusPoller) {
+            instanceStatusPoller.close();
+        }
+        if (null != tenantInfoCache) {
+            tenantInfoCache.close();
+        }
+        if (null != instanceControlChannelPool) {
+            instanceControlChannelPool.close();
+        }
+        if (null != componentCleanupReconciler) {
+            componentCleanupReconciler.close();
+        }
+        if (null != componentCleanupQueue) {
+            componentCleanupQueue.close();
+        }
         if (null != getBrokerAdmin()) {
             getBrokerAdmin().close();
         }
@@ -241,6 +503,22 @@ public class MeshWorkerService implements WorkerService {
         }
     }
 
+    private void resumeComponentCleanup(ComponentCleanup cleanup) throws Exception {
+        switch (cleanup.getComponentType()) {
+            case FUNCTION:
+                ((FunctionsImpl) functions).resumeCleanupComponent(cleanup);
+                break;
+            case SINK:
+                ((SinksImpl) sinks).resumeCleanupComponent(cleanup);
+                break;
+            case SOURCE:
+                ((SourcesImpl) sources).resumeCleanupComponent(cleanup);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown component type " + cleanup.getComponentType());
+        }
+    }
+
     public boolean isInitialized() {
         return isInitialized;
     }
@@ -252,7 +530,19 @@ public class MeshWorkerService implements WorkerService {
     }
 
     public void generateFunctionsStats(SimpleTextOutputStream out) {
-        // to do https://github.com/streamnative/function-mesh/issues/56
+        // the metrics are served from the polled snapshots, a scrape never calls the instances
+        if (instanceStatusPoller != null) {
+            FunctionsStatsGenerator.generate(instanceStatusPoller.getSnapshots().values(), out);
+        }
+        if (componentCleanupQueue != null) {
+            componentCleanupQueue.writeMetrics(out);
+        }
+        if (requestCoalescer != null) {
+            requestCoalescer.writeMetrics(out);
+        }
+        if (apiServerRateLimiter != null) {
+            apiServerRateLimiter.writeMetrics(out);
+        }
     }
 
     public String getJobNamespace() {
@@ -23,6 +23,7 @@ import io.functionmesh.compute.util.KubernetesUtils;
 import io.kubernetes.client.openapi.ApiException;
 import java.io.IOException;
 import okhttp3.Call;
+import okhttp3.Response;
 import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.pulsar.broker.authentication.AuthenticationParameters;
 
@@ -33,6 +34,10 @@ public interface AuthHandler {
     AuthResults handle(MeshWorkerService workerService, AuthenticationParameters authenticationParameters,
                        String component);
 
+    /**
+     * Cleans up the auth of a deleted component. The authentication parameters are null when a journaled cleanup is
+     * resumed after its deregister request is gone, so a handler must not depend on them.
+     */
     default void cleanUp(MeshWorkerService workerService, AuthenticationParameters authenticationParameters,
                          String component, String clusterName, String tenant, String namespace, String componentName) {
 
@@ -54,7 +59,13 @@ public interface AuthHandler {
                             null,
                             null
                     );
-            deleteAuthSecretCall.execute();
+            try (Response response = deleteAuthSecretCall.execute()) {
+                // do nothing if auth secret doesn't exist, it is already deleted if the cleanup runs again
+                if (!response.isSuccessful() && response.code() != 404) {
+                    throw new RuntimeException(String.format("failed to delete the auth secret: %s %s",
+                            response.code(), response.message()));
+                }
+            }
         } catch (ApiException e) {
             // do nothing if auth secret doesn't exist
             if (e.getCode() != 404) {
@@ -29,6 +29,8 @@ import io.functionmesh.compute.sinks.models.V1alpha1SinkSpecPulsarAuthConfigOaut
 import io.functionmesh.compute.sources.models.V1alpha1SourceSpecPulsarAuthConfig;
 import io.functionmesh.compute.sources.models.V1alpha1SourceSpecPulsarAuthConfigOauth2Config;
 import io.functionmesh.compute.util.CommonUtil;
+import io.functionmesh.compute.worker.SecretAnnotationIndex;
+import io.kubernetes.client.openapi.ApiException;
 import io.kubernetes.client.openapi.models.V1SecretList;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang.StringUtils;
@@ -48,16 +50,16 @@ public class AuthHandlerOauth implements AuthHandler {
                 String annotationKey = workerService.getMeshWorkerServiceCustomConfig().getOauth2SecretAnnotationKey();
                 log.info("get secret from namespace: {}, using annotation key to filter: {}, clientRole is: {}",
                         workerService.getJobNamespace(), annotationKey, authenticationParameters.getClientRole());
-                V1SecretList secrets =
-                        workerService.getCoreV1Api().listNamespacedSecret(workerService.getJobNamespace(), null, null,
-                                null, null, null, null, null, null, null, null);
-                secretName = secrets.getItems().stream().filter(secret -> {
-                    if (secret.getMetadata() != null && secret.getMetadata().getAnnotations() != null) {
-                        return authenticationParameters.getClientRole()
-                                .equals(secret.getMetadata().getAnnotations().get(annotationKey));
+                SecretAnnotationIndex secretIndex = workerService.getOauth2SecretIndex();
+                if (secretIndex != null && secretIndex.hasSynced()) {
+                    secretName = secretIndex.getSecretName(authenticationParameters.getClientRole());
+                    if (secretName == null) {
+                        throw new IllegalArgumentException("No secret is annotated with the client role");
                     }
-                    return false;
-                }).findFirst().get().getMetadata().getName();
+                } else {
+                    secretName = findSecretName(workerService, annotationKey,
+                            authenticationParameters.getClientRole());
+                }
             } catch (Exception e) {
                 throw new RuntimeException("Failed to get oauth2 private key secret", e);
             }
@@ -78,6 +80,19 @@ public class AuthHandlerOauth implements AuthHandler {
         throw new RuntimeException("Client role is empty");
     }
 
+    private static String findSecretName(MeshWorkerService workerService, String annotationKey, String clientRole)
+            throws ApiException {
+        V1SecretList secrets =
+                workerService.getCoreV1Api().listNamespacedSecret(workerService.getJobNamespace(), null, null,
+                        null, null, null, null, null, null, null, null);
+        return secrets.getItems().stream().filter(secret -> {
+            if (secret.getMetadata() != null && secret.getMetadata().getAnnotations() != null) {
+                return clientRole.equals(secret.getMetadata().getAnnotations().get(annotationKey));
+            }
+            return false;
+        }).findFirst().get().getMetadata().getName();
+    }
+
     @Override
     public void cleanUp(MeshWorkerService workerService, AuthenticationParameters authenticationParameters,
                         String component, String clusterName, String tenant, String namespace, String componentName) {
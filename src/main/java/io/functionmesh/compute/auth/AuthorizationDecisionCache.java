@@ -0,0 +1,95 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.functionmesh.compute.auth;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.concurrent.TimeUnit;
+import lombok.Value;
+import org.apache.pulsar.client.admin.PulsarAdminException;
+import org.apache.pulsar.functions.proto.Function;
+
+/**
+ * Caches the authorization decisions of client roles on a pulsar namespace for a component type. Allowed and denied
+ * decisions expire separately, so a newly granted permission is picked up sooner than a revoked one is dropped.
+ *
+ * <p>Permissions are changed on the broker, so the worker is not told about them: a revoked namespace permission is
+ * honoured once the allowed decision expires. The decisions on a tenant are dropped when the tenant cache sees its
+ * tenant info change, see {@link io.functionmesh.compute.worker.TenantInfoCache}.
+ */
+public class AuthorizationDecisionCache {
+    private final Cache<Key, Boolean> allowed;
+    private final Cache<Key, Boolean> denied;
+
+    @Value
+    private static class Key {
+        String role;
+        String tenant;
+        String namespace;
+        Function.FunctionDetails.ComponentType componentType;
+    }
+
+    @FunctionalInterface
+    public interface DecisionLoader {
+        boolean load() throws PulsarAdminException;
+    }
+
+    public AuthorizationDecisionCache(long maxSize, long allowedTtlSeconds, long deniedTtlSeconds) {
+        this.allowed = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(allowedTtlSeconds, TimeUnit.SECONDS)
+                .build();
+        this.denied = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(deniedTtlSeconds, TimeUnit.SECONDS)
+                .build();
+    }
+
+    /**
+     * Returns the cached decision, or loads and caches it. Failures of the loader are not cached.
+     */
+    public boolean isAuthorized(String role, String tenant, String namespace,
+                                Function.FunctionDetails.ComponentType componentType,
+                                DecisionLoader loader) throws PulsarAdminException {
+        Key key = new Key(role, tenant, namespace, componentType);
+        if (allowed.getIfPresent(key) != null) {
+            return true;
+        }
+        if (denied.getIfPresent(key) != null) {
+            return false;
+        }
+        boolean decision = loader.load();
+        if (decision) {
+            allowed.put(key, Boolean.TRUE);
+            denied.invalidate(key);
+        } else {
+            denied.put(key, Boolean.FALSE);
+            allowed.invalidate(key);
+        }
+        return decision;
+    }
+
+    /**
+     * Drops the decisions on the namespaces of the tenant, called when the tenant cache sees a changed tenant info.
+     */
+    public void invalidateTenant(String tenant) {
+        allowed.asMap().keySet().removeIf(key -> key.getTenant().equals(tenant));
+        denied.asMap().keySet().removeIf(key -> key.getTenant().equals(tenant));
+    }
+}
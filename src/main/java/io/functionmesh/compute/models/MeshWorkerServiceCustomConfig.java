@@ -36,9 +36,17 @@ import io.functionmesh.compute.sources.models.V1alpha1SourceSpecPodVolumes;
 import io.kubernetes.client.openapi.models.V1LocalObjectReference;
 import io.kubernetes.client.openapi.models.V1Volume;
 import io.kubernetes.client.openapi.models.V1VolumeMount;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 import lombok.experimental.Accessors;
 import org.apache.pulsar.common.configuration.FieldContext;
 import org.apache.pulsar.common.functions.Resources;
@@ -82,6 +90,12 @@ public class MeshWorkerServiceCustomConfig {
     )
     protected String oauth2SecretAnnotationKey = "cloud.streamnative.io/service-account.email";
 
+    @FieldContext(
+            doc = "Watch the secrets in the job namespace and index them by the OAuth2 secret annotation, instead of "
+                    + "listing all the secrets to find the private key secret of a role. By default it is false."
+    )
+    protected boolean oauth2SecretIndexEnabled = false;
+
     @FieldContext(
             doc = "the jvm options of function worker"
     )
@@ -254,109 +268,394 @@ public class MeshWorkerServiceCustomConfig {
     )
     protected List<String> disabledRuntimes;
 
+    @FieldContext(
+            doc = "Enable the informer backed local cache of Function/Sink/Source resources, by default it is false. "
+                    + "With the cache enabled, read requests are served from memory instead of the API server."
+    )
+    protected boolean componentCacheEnabled = false;
+
+    @FieldContext(
+            doc = "The interval in which the component cache does a full resync with the API server. "
+                    + "By default it is 300."
+    )
+    protected long componentCacheResyncIntervalSeconds = 300;
+
+    @FieldContext(
+            doc = "Reuse the gRPC channels to the function/connector instances across status and stats requests, "
+                    + "by default it is false."
+    )
+    protected boolean instanceChannelPoolEnabled = false;
+
+    @FieldContext(
+            doc = "The maximum number of pooled gRPC channels to the function/connector instances. By default it is "
+                    + "1000."
+    )
+    protected long instanceChannelPoolMaxSize = 1000;
+
+    @FieldContext(
+            doc = "The time after which an idle pooled gRPC channel is closed. By default it is 300."
+    )
+    protected long instanceChannelIdleTimeoutSeconds = 300;
+
+    @FieldContext(
+            doc = "Poll the status and metrics of all function/connector instances in background, and serve the "
+                    + "status and stats requests from the polled snapshots. It is also required to export the "
+                    + "instance metrics on the worker metrics endpoint. By default it is false."
+    )
+    protected boolean instanceStatusPollerEnabled = false;
+
+    @FieldContext(
+            doc = "The interval for polling the status and metrics of instances. By default it is 30."
+    )
+    protected long instanceStatusPollIntervalSeconds = 30;
+
+    @FieldContext(
+            doc = "The maximum number of instances whose status and metrics are polled at the same time. The "
+                    + "instance channel pool is kept at least this large. By default it is 16."
+    )
+    protected int instanceStatusPollMaxConcurrency = 16;
+
+    @FieldContext(
+            doc = "The maximum age of a polled snapshot to serve, older snapshots fall back to a live call to the "
+                    + "instance. By default it is 90."
+    )
+    protected long instanceStatusMaxStalenessSeconds = 90;
+
+    @FieldContext(
+            doc = "Cache the authorization decisions of client roles, by default it is false."
+    )
+    protected boolean authorizationCacheEnabled = false;
+
+    @FieldContext(
+            doc = "The maximum number of cached authorization decisions. By default it is 10000."
+    )
+    protected long authorizationCacheMaxSize = 10000;
+
+    @FieldContext(
+            doc = "The time an allowed authorization decision is cached, a permission revoked on the broker is "
+                    + "still allowed for up to this time. When the tenant cache is enabled, a removed tenant admin "
+                    + "role is honoured once the tenant info is refreshed. By default it is 10."
+    )
+    protected long authorizationCacheAllowedTtlSeconds = 10;
+
+    @FieldContext(
+            doc = "The time a denied authorization decision is cached, a newly granted permission is denied for "
+                    + "up to this time. By default it is 5."
+    )
+    protected long authorizationCacheDeniedTtlSeconds = 5;
+
+    @FieldContext(
+            doc = "Cache the tenant info fetched from the broker, by default it is false."
+    )
+    protected boolean tenantCacheEnabled = false;
+
+    @FieldContext(
+            doc = "The maximum number of cached tenants. By default it is 10000."
+    )
+    protected long tenantCacheMaxSize = 10000;
+
+    @FieldContext(
+            doc = "The time after which a cached tenant info expires. By default it is 300."
+    )
+    protected long tenantCacheTtlSeconds = 300;
+
+    @FieldContext(
+            doc = "The time after which a cached tenant info is refreshed in background. By default it is 60."
+    )
+    protected long tenantCacheRefreshSeconds = 60;
+
+    @FieldContext(
+            doc = "Keep the packages downloaded to inspect the function/connector classes in a local cache, keyed by "
+                    + "the package url and checksum. By default it is false."
+    )
+    protected boolean packageCacheEnabled = false;
+
+    @FieldContext(
+            doc = "The directory of the package cache, the packages are kept in its `mesh-package-cache` subdirectory "
+                    + "which is emptied on start. By default it is the `package-cache` directory under the download "
+                    + "directory of the worker."
+    )
+    protected String packageCacheDirectory;
+
+    @FieldContext(
+            doc = "The maximum total size of the cached packages, the least recently used packages are evicted first. "
+                    + "By default it is 1024."
+    )
+    protected long packageCacheMaxSizeMB = 1024;
+
+    @FieldContext(
+            doc = "Cache the function type arguments and connector classes inferred from packages, keyed by the "
+                    + "package url and checksum. By default it is false."
+    )
+    protected boolean packageInspectionCacheEnabled = false;
+
+    @FieldContext(
+            doc = "The maximum number of cached package inspection results. By default it is 1000."
+    )
+    protected long packageInspectionCacheMaxSize = 1000;
+
+    @FieldContext(
+            doc = "Cache the metadata of packages for a short time, so the lookups made while handling a request share "
+                    + "a single metadata request. By default it is false."
+    )
+    protected boolean packageMetadataCacheEnabled = false;
+
+    @FieldContext(
+            doc = "The maximum number of cached package metadata. By default it is 1000."
+    )
+    protected long packageMetadataCacheMaxSize = 1000;
+
+    @FieldContext(
+            doc = "The time after which a cached package metadata expires. By default it is 10."
+    )
+    protected long packageMetadataCacheTtlSeconds = 10;
+
+    @FieldContext(
+            doc = "Update function/connector resources with a JSON merge patch of the changed labels, annotations, "
+                    + "owner references and spec, instead of replacing the whole resource. By default it is false."
+    )
+    protected boolean patchUpdateEnabled = false;
+
+    @FieldContext(
+            doc = "The number of times a patch update is retried when the resource was changed concurrently, the "
+                    + "changes are re-applied to the latest version of the resource. By default it is 3."
+    )
+    protected int patchUpdateConflictRetries = 3;
+
+    @FieldContext(
+            doc = "Clean up the subscriptions, packages and secrets of a deregistered function/connector in "
+                    + "background, the deregister request returns once the resource is deleted. By default it is false."
+    )
+    protected boolean cleanupQueueEnabled = false;
+
+    @FieldContext(
+            doc = "The number of cleanups which run at the same time. By default it is 4."
+    )
+    protected int cleanupQueueConcurrency = 4;
+
+    @FieldContext(
+            doc = "The maximum number of queued cleanups, a deregister request cleans up synchronously once the "
+                    + "queue is full. By default it is 1000."
+    )
+    protected int cleanupQueueMaxPending = 1000;
+
+    @FieldContext(
+            doc = "The number of subscriptions which are deleted at the same time by the cleanup queue. "
+                    + "By default it is 8."
+    )
+    protected int cleanupTopicParallelism = 8;
+
+    @FieldContext(
+            doc = "Persist the queued cleanups in a ConfigMap of the job namespace and resume the stale ones, so the "
+                    + "cleanups are not lost when a worker stops. It requires cleanupQueueEnabled. By default it is "
+                    + "false."
+    )
+    protected boolean cleanupJournalEnabled = false;
+
+    @FieldContext(
+            doc = "The name of the ConfigMap the queued cleanups are persisted in. By default it is "
+                    + "function-mesh-worker-service-cleanups."
+    )
+    protected String cleanupJournalConfigMapName = "function-mesh-worker-service-cleanups";
+
+    @FieldContext(
+            doc = "The interval to look for journaled cleanups to resume. By default it is 60."
+    )
+    protected long cleanupReconcileIntervalSeconds = 60;
+
+    @FieldContext(
+            doc = "The time after which a journaled cleanup which is not queued on this worker is resumed. The "
+                    + "worker running a cleanup refreshes it every reconcile interval, so it must be at least twice "
+                    + "the interval. By default it is 300."
+    )
+    protected long cleanupReconcileGraceSeconds = 300;
+
+    @FieldContext(
+            doc = "The number of times a journaled cleanup is resumed after it failed or its worker stopped, before "
+                    + "it is dropped from the journal. By default it is 3."
+    )
+    protected int cleanupMaxResumeAttempts = 3;
+
+    @FieldContext(
+            doc = "Bound the number of status and metrics gRPC calls to function/connector instances which are in "
+                    + "flight across all requests. The status of all functions of a namespace is only served with "
+                    + "it. By default it is false."
+    )
+    protected boolean instanceCallLimitEnabled = false;
+
+    @FieldContext(
+            doc = "The maximum number of status and metrics gRPC calls in flight. By default it is 64."
+    )
+    protected int instanceCallMaxConcurrency = 64;
+
+    @FieldContext(
+            doc = "The maximum number of status and metrics gRPC calls waiting for the limit, further calls fail "
+                    + "right away. By default it is 1024."
+    )
+    protected int instanceCallMaxWaiting = 1024;
+
+    @FieldContext(
+            doc = "How long a status or metrics gRPC call waits for the limit before it fails. "
+                    + "By default it is 10 seconds."
+    )
+    protected long instanceCallMaxWaitSeconds = 10;
+
+    @FieldContext(
+            doc = "The threads that run the blocking Pulsar admin calls of the cleanup queue, \"platform\" or "
+                    + "\"virtual\". With \"virtual\" every call runs on its own virtual thread on JDK 21 or later, "
+                    + "which falls back to platform threads on older JDKs. Both are bounded by "
+                    + "cleanupTopicParallelism, a virtual thread waits for its turn without holding a platform "
+                    + "thread. The REST requests are not affected, their calls run on the threads of the web server. "
+                    + "By default it is platform."
+    )
+    protected String blockingExecutorMode = "platform";
+
+    @FieldContext(
+            doc = "Let concurrent identical status and stats requests of a function/connector share one in-flight "
+                    + "computation instead of each reading the resources and calling the instances. "
+                    + "By default it is false."
+    )
+    protected boolean requestCoalescingEnabled = false;
+
+    @FieldContext(
+            doc = "Limit the rate and the concurrency of the requests sent to the Kubernetes API server, the "
+                    + "concurrency limit is decreased when the API server throttles the worker. "
+                    + "By default it is false."
+    )
+    protected boolean apiServerRateLimitEnabled = false;
+
+    @FieldContext(
+            doc = "The number of requests per second sent to the Kubernetes API server, 0 to only limit the "
+                    + "concurrency. By default it is 50."
+    )
+    protected double apiServerQps = 50;
+
+    @FieldContext(
+            doc = "The number of requests which can be sent to the Kubernetes API server at once above the rate. "
+                    + "By default it is 100."
+    )
+    protected int apiServerBurst = 100;
+
+    @FieldContext(
+            doc = "The maximum number of requests in flight to the Kubernetes API server, the limit starts there "
+                    + "and is halved on every throttling. By default it is 64."
+    )
+    protected int apiServerMaxConcurrency = 64;
+
+    @FieldContext(
+            doc = "The lowest the concurrency limit of the requests to the Kubernetes API server is decreased to. "
+                    + "By default it is 4."
+    )
+    protected int apiServerMinConcurrency = 4;
+
+    @FieldContext(
+            doc = "How long a request waits for the rate and concurrency limits before it fails. "
+                    + "By default it is 30 seconds."
+    )
+    protected long apiServerAcquireTimeoutSeconds = 30;
+
+    @FieldContext(
+            doc = "The number of times a request throttled by the Kubernetes API server is sent again after its "
+                    + "Retry-After. By default it is 3."
+    )
+    protected int apiServerMaxRetries = 3;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final transient Map<String, CrdFragment> crdFragments = new ConcurrentHashMap<>();
+
     public List<V1alpha1SinkSpecPodVolumes> asV1alpha1SinkSpecPodVolumesList() throws JsonProcessingException {
-        ObjectMapper objectMapper = ObjectMapperFactory.getThreadLocal();
-        TypeReference<List<V1alpha1SinkSpecPodVolumes>> typeRef =
-                new TypeReference<List<V1alpha1SinkSpecPodVolumes>>() {};
-        String j = objectMapper.writeValueAsString(volumes);
-        return objectMapper.readValue(j, typeRef);
+        return asCrdFragment("asV1alpha1SinkSpecPodVolumesList", volumes,
+                new TypeReference<List<V1alpha1SinkSpecPodVolumes>>() {});
     }
 
     public List<V1alpha1SourceSpecPodVolumes> asV1alpha1SourceSpecPodVolumesList() throws JsonProcessingException {
-        ObjectMapper objectMapper = ObjectMapperFactory.getThreadLocal();
-        TypeReference<List<V1alpha1SourceSpecPodVolumes>> typeRef =
-                new TypeReference<List<V1alpha1SourceSpecPodVolumes>>() {};
-        String j = objectMapper.writeValueAsString(volumes);
-        return objectMapper.readValue(j, typeRef);
+        return asCrdFragment("asV1alpha1SourceSpecPodVolumesList", volumes,
+                new TypeReference<List<V1alpha1SourceSpecPodVolumes>>() {});
     }
 
     public List<V1alpha1FunctionSpecPodVolumes> asV1alpha1FunctionSpecPodVolumesList() throws JsonProcessingException {
-        ObjectMapper objectMapper = ObjectMapperFactory.getThreadLocal();
-        TypeReference<List<V1alpha1FunctionSpecPodVolumes>> typeRef =
-                new TypeReference<List<V1alpha1FunctionSpecPodVolumes>>() {};
-        String j = objectMapper.writeValueAsString(volumes);
-        return objectMapper.readValue(j, typeRef);
+        return asCrdFragment("asV1alpha1FunctionSpecPodVolumesList", volumes,
+                new TypeReference<List<V1alpha1FunctionSpecPodVolumes>>() {});
     }
 
     public List<V1alpha1SinkSpecPodVolumeMounts> asV1alpha1SinkSpecPodVolumeMountsList()
             throws JsonProcessingException {
-        ObjectMapper objectMapper = ObjectMapperFactory.getThreadLocal();
-        TypeReference<List<V1alpha1SinkSpecPodVolumeMounts>> typeRef =
-                new TypeReference<List<V1alpha1SinkSpecPodVolumeMounts>>() {};
-        String j = objectMapper.writeValueAsString(volumeMounts);
-        return objectMapper.readValue(j, typeRef);
+        return asCrdFragment("asV1alpha1SinkSpecPodVolumeMountsList", volumeMounts,
+                new TypeReference<List<V1alpha1SinkSpecPodVolumeMounts>>() {});
     }
 
     public List<V1alpha1SourceSpecPodVolumeMounts> asV1alpha1SourceSpecPodVolumeMountsList()
             throws JsonProcessingException {
-        ObjectMapper objectMapper = ObjectMapperFactory.getThreadLocal();
-        TypeReference<List<V1alpha1SourceSpecPodVolumeMounts>> typeRef =
-                new TypeReference<List<V1alpha1SourceSpecPodVolumeMounts>>() {};
-        String j = objectMapper.writeValueAsString(volumeMounts);
-        return objectMapper.readValue(j, typeRef);
+        return asCrdFragment("asV1alpha1SourceSpecPodVolumeMountsList", volumeMounts,
+                new TypeReference<List<V1alpha1SourceSpecPodVolumeMounts>>() {});
     }
 
     public List<V1alpha1FunctionSpecPodVolumeMounts> asV1alpha1FunctionSpecPodVolumeMounts()
             throws JsonProcessingException {
-        ObjectMapper objectMapper = ObjectMapperFactory.getThreadLocal();
-        TypeReference<List<V1alpha1FunctionSpecPodVolumeMounts>> typeRef =
-                new TypeReference<List<V1alpha1FunctionSpecPodVolumeMounts>>() {};
-        String j = objectMapper.writeValueAsString(volumeMounts);
-        return objectMapper.readValue(j, typeRef);
+        return asCrdFragment("asV1alpha1FunctionSpecPodVolumeMounts", volumeMounts,
+                new TypeReference<List<V1alpha1FunctionSpecPodVolumeMounts>>() {});
     }
 
     public List<V1alpha1FunctionSpecPodImagePullSecrets> asV1alpha1FunctionSpecPodImagePullSecrets()
             throws JsonProcessingException {
-        ObjectMapper objectMapper = ObjectMapperFactory.getThreadLocal();
-        TypeReference<List<V1alpha1FunctionSpecPodImagePullSecrets>> typeRef =
-                new TypeReference<List<V1alpha1FunctionSpecPodImagePullSecrets>>() {};
-        String j = objectMapper.writeValueAsString(imagePullSecrets);
-        return objectMapper.readValue(j, typeRef);
+        return asCrdFragment("asV1alpha1FunctionSpecPodImagePullSecrets", imagePullSecrets,
+                new TypeReference<List<V1alpha1FunctionSpecPodImagePullSecrets>>() {});
     }
 
     public List<V1alpha1SinkSpecPodImagePullSecrets> asV1alpha1SinkSpecPodImagePullSecrets()
             throws JsonProcessingException {
-        ObjectMapper objectMapper = ObjectMapperFactory.getThreadLocal();
-        TypeReference<List<V1alpha1SinkSpecPodImagePullSecrets>> typeRef =
-                new TypeReference<List<V1alpha1SinkSpecPodImagePullSecrets>>() {};
-        String j = objectMapper.writeValueAsString(imagePullSecrets);
-        return objectMapper.readValue(j, typeRef);
+        return asCrdFragment("asV1alpha1SinkSpecPodImagePullSecrets", imagePullSecrets,
+                new TypeReference<List<V1alpha1SinkSpecPodImagePullSecrets>>() {});
     }
 
     public List<V1alpha1SourceSpecPodImagePullSecrets> asV1alpha1SourceSpecPodImagePullSecrets()
             throws JsonProcessingException {
-        ObjectMapper objectMapper = ObjectMapperFactory.getThreadLocal();
-        TypeReference<List<V1alpha1SourceSpecPodImagePullSecrets>> typeRef =
-                new TypeReference<List<V1alpha1SourceSpecPodImagePullSecrets>>() {};
-        String j = objectMapper.writeValueAsString(imagePullSecrets);
-        return objectMapper.readValue(j, typeRef);
+        return asCrdFragment("asV1alpha1SourceSpecPodImagePullSecrets", imagePullSecrets,
+                new TypeReference<List<V1alpha1SourceSpecPodImagePullSecrets>>() {});
     }
 
     public List<V1alpha1FunctionSpecPodInitContainers> asV1alpha1FunctionSpecPodInitContainers()
             throws JsonProcessingException {
-        ObjectMapper objectMapper = ObjectMapperFactory.getThreadLocal();
-        TypeReference<List<V1alpha1FunctionSpecPodInitContainers>> typeRef =
-                new TypeReference<List<V1alpha1FunctionSpecPodInitContainers>>() {};
-        String j = objectMapper.writeValueAsString(functionInitContainers);
-        return objectMapper.readValue(j, typeRef);
+        return asCrdFragment("asV1alpha1FunctionSpecPodInitContainers", functionInitContainers,
+                new TypeReference<List<V1alpha1FunctionSpecPodInitContainers>>() {});
     }
 
     public List<V1alpha1SourceSpecPodInitContainers> asV1alpha1SourceSpecPodInitContainers()
             throws JsonProcessingException {
-        ObjectMapper objectMapper = ObjectMapperFactory.getThreadLocal();
-        TypeReference<List<V1alpha1SourceSpecPodInitContainers>> typeRef =
-                new TypeReference<List<V1alpha1SourceSpecPodInitContainers>>() {};
-        String j = objectMapper.writeValueAsString(sourceInitContainers);
-        return objectMapper.readValue(j, typeRef);
+        return asCrdFragment("asV1alpha1SourceSpecPodInitContainers", sourceInitContainers,
+                new TypeReference<List<V1alpha1SourceSpecPodInitContainers>>() {});
     }
 
     public List<V1alpha1SinkSpecPodInitContainers> asV1alpha1SinkSpecPodInitContainers()
             throws JsonProcessingException {
-        ObjectMapper objectMapper = ObjectMapperFactory.getThreadLocal();
-        TypeReference<List<V1alpha1SinkSpecPodInitContainers>> typeRef =
-                new TypeReference<List<V1alpha1SinkSpecPodInitContainers>>() {};
-        String j = objectMapper.writeValueAsString(functionInitContainers);
-        return objectMapper.readValue(j, typeRef);
+        return asCrdFragment("asV1alpha1SinkSpecPodInitContainers", functionInitContainers,
+                new TypeReference<List<V1alpha1SinkSpecPodInitContainers>>() {});
+    }
+
+    /**
+     * Converts a list from the config to the CRD model type. The conversion is cached as long as the config field
+     * refers to the same list, and every call returns a new list, so callers are free to add to it.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> List<T> asCrdFragment(String name, List<?> source, TypeReference<List<T>> typeRef)
+            throws JsonProcessingException {
+        CrdFragment fragment = crdFragments.get(name);
+        if (fragment == null || fragment.source != source) {
+            ObjectMapper objectMapper = ObjectMapperFactory.getThreadLocal();
+            String j = objectMapper.writeValueAsString(source);
+            fragment = new CrdFragment(source, objectMapper.readValue(j, typeRef));
+            crdFragments.put(name, fragment);
+        }
+        return fragment.value == null ? null : new ArrayList<>((List<T>) fragment.value);
+    }
+
+    @AllArgsConstructor
+    private static class CrdFragment {
+        private final List<?> source;
+        private final List<?> value;
     }
 
     public Resources getDefaultResources() {
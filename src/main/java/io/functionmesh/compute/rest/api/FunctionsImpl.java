@@ -39,8 +39,10 @@ import io.functionmesh.compute.util.CommonUtil;
 import io.functionmesh.compute.util.FunctionsUtil;
 import io.functionmesh.compute.util.KubernetesUtils;
 import io.functionmesh.compute.util.PackageManagementServiceUtil;
+import io.functionmesh.compute.worker.InstanceStatusPoller;
+import io.functionmesh.compute.worker.MeshComponentCache;
 import io.grpc.ManagedChannel;
-import io.grpc.ManagedChannelBuilder;
+import io.kubernetes.client.common.KubernetesObject;
 import io.kubernetes.client.custom.V1Patch;
 import io.kubernetes.client.openapi.models.V1ContainerState;
 import io.kubernetes.client.openapi.models.V1ContainerStatus;
@@ -48,22 +50,27 @@ import io.kubernetes.client.openapi.models.V1Pod;
 import io.kubernetes.client.openapi.models.V1PodList;
 import io.kubernetes.client.openapi.models.V1PodStatus;
 import io.kubernetes.client.openapi.models.V1StatefulSet;
+import io.kubernetes.client.util.PatchUtils;
 import io.kubernetes.client.util.generic.GenericKubernetesApi;
-import java.io.IOException;
 import io.kubernetes.client.util.generic.options.PatchOptions;
+import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import javax.ws.rs.core.Response;
 import lombok.extern.slf4j.Slf4j;
-import io.kubernetes.client.util.PatchUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.pulsar.broker.authentication.AuthenticationParameters;
 import org.apache.pulsar.common.functions.FunctionConfig;
@@ -168,12 +175,13 @@ public class FunctionsImpl extends MeshComponentImpl<V1alpha1Function, V1alpha1F
                 authenticationParameters,
                 ComponentTypeUtils.toString(componentType));
         this.validateTenantIsExist(tenant, namespace, functionName, authenticationParameters);
+        this.validateNoPendingCleanup(tenant, namespace, functionName);
         String packageURL = functionPkgUrl;
         if (uploadedInputStream != null && worker().getMeshWorkerServiceCustomConfig().isUploadEnabled()) {
             try {
                 String tempDirectory = System.getProperty("java.io.tmpdir");
                 packageURL = PackageManagementServiceUtil.uploadPackageToPackageService(
-                        worker().getBrokerAdmin(), PackageManagementServiceUtil.PACKAGE_TYPE_FUNCTION, tenant,
+                        worker(), PackageManagementServiceUtil.PACKAGE_TYPE_FUNCTION, tenant,
                         namespace, functionName, uploadedInputStream, fileDetail, tempDirectory);
             } catch (Exception e) {
                 log.error("register {}/{}/{} function failed, error message: {}", tenant, namespace, functionName, e);
@@ -237,7 +245,7 @@ public class FunctionsImpl extends MeshComponentImpl<V1alpha1Function, V1alpha1F
             try {
                 String tempDirectory = System.getProperty("java.io.tmpdir");
                 packageURL = PackageManagementServiceUtil.uploadPackageToPackageService(
-                        worker().getBrokerAdmin(), PackageManagementServiceUtil.PACKAGE_TYPE_FUNCTION, tenant,
+                        worker(), PackageManagementServiceUtil.PACKAGE_TYPE_FUNCTION, tenant,
                         namespace, functionName, uploadedInputStream, fileDetail, tempDirectory);
             } catch (Exception e) {
                 log.error("update {}/{}/{} function failed, error message: {}", tenant, namespace, functionName, e);
@@ -247,7 +255,7 @@ public class FunctionsImpl extends MeshComponentImpl<V1alpha1Function, V1alpha1F
 
         String nameSpaceName = worker().getJobNamespace();
         String hashName = CommonUtil.generateObjectName(worker(), tenant, namespace, functionName);
-        V1alpha1Function v1alpha1FunctionPre = extractResponse(getResourceApi().get(nameSpaceName, hashName));
+        V1alpha1Function v1alpha1FunctionPre = getComponentResource(nameSpaceName, hashName, true);
         if (v1alpha1FunctionPre.getMetadata() == null || v1alpha1FunctionPre.getMetadata().getLabels() == null) {
             log.error("update {}/{}/{} function failed, the function resource cannot be found", tenant, namespace,
                     functionName);
@@ -291,11 +299,10 @@ public class FunctionsImpl extends MeshComponentImpl<V1alpha1Function, V1alpha1F
 
 
             v1alpha1Function.getMetadata().setNamespace(worker().getJobNamespace());
-            v1alpha1Function.getMetadata().setResourceVersion(v1alpha1FunctionPre.getMetadata().getResourceVersion());
 
             this.upsertFunction(tenant, namespace, functionName, functionConfig, v1alpha1Function,
                     authenticationParameters);
-            extractResponse(getResourceApi().update(v1alpha1Function));
+            updateComponentResource(v1alpha1FunctionPre, v1alpha1Function);
         } catch (Exception e) {
             log.error("update {}/{}/{} function failed", tenant, namespace, functionName, e);
             throw new RestException(Response.Status.INTERNAL_SERVER_ERROR, e.getMessage());
@@ -320,7 +327,7 @@ public class FunctionsImpl extends MeshComponentImpl<V1alpha1Function, V1alpha1F
             String nameSpaceName = worker().getJobNamespace();
             String hashName = CommonUtil.generateObjectName(worker(), tenant, namespace, componentName);
 
-            V1alpha1Function v1alpha1Function = extractResponse(getResourceApi().get(nameSpaceName, hashName));
+            V1alpha1Function v1alpha1Function = getComponentResource(nameSpaceName, hashName, false);
 
             return FunctionsUtil.createFunctionConfigFromV1alpha1Function(tenant, namespace, componentName,
                     v1alpha1Function, worker());
@@ -338,7 +345,7 @@ public class FunctionsImpl extends MeshComponentImpl<V1alpha1Function, V1alpha1F
             String nameSpaceName = worker().getJobNamespace();
             String hashName = CommonUtil.generateObjectName(worker(), tenant, namespace, componentName);
 
-            V1alpha1Function v1alpha1Function = extractResponse(getResourceApi().get(nameSpaceName, hashName));
+            V1alpha1Function v1alpha1Function = getComponentResource(nameSpaceName, hashName, false);
             try {
                 validateResourceObject(v1alpha1Function);
             } catch (IllegalArgumentException e) {
@@ -387,6 +394,11 @@ public class FunctionsImpl extends MeshComponentImpl<V1alpha1Function, V1alpha1F
         return functionInstanceStatsList;
     }
 
+    @Override
+    MeshComponentCache<V1alpha1Function> getComponentCache() {
+        return worker().getFunctionCache();
+    }
+
     @Override
     void validateResourceObject(V1alpha1Function obj) {
         if (obj == null) {
@@ -433,15 +445,20 @@ public class FunctionsImpl extends MeshComponentImpl<V1alpha1Function, V1alpha1F
                                             final URI uri,
                                             final AuthenticationParameters authenticationParameters) {
         validateFunctionEnabled();
-        FunctionStatus functionStatus = new FunctionStatus();
         this.validatePermission(tenant,
                 namespace,
                 authenticationParameters,
                 ComponentTypeUtils.toString(componentType));
+        return coalesce(tenant, namespace, componentName, OPERATION_STATUS,
+                () -> collectFunctionStatus(tenant, namespace, componentName));
+    }
+
+    private FunctionStatus collectFunctionStatus(String tenant, String namespace, String componentName) {
+        FunctionStatus functionStatus = new FunctionStatus();
         try {
             String hashName = CommonUtil.generateObjectName(worker(), tenant, namespace, componentName);
             String nameSpaceName = worker().getJobNamespace();
-            V1alpha1Function v1alpha1Function = extractResponse(getResourceApi().get(nameSpaceName, hashName));
+            V1alpha1Function v1alpha1Function = getComponentResource(nameSpaceName, hashName, false);
             try {
                 validateResourceObject(v1alpha1Function);
             } catch (IllegalArgumentException e) {
@@ -451,92 +468,205 @@ public class FunctionsImpl extends MeshComponentImpl<V1alpha1Function, V1alpha1F
                                 e.getMessage()));
             }
             V1alpha1FunctionStatus v1alpha1FunctionStatus = v1alpha1Function.getStatus();
-            String functionLabelSelector = v1alpha1FunctionStatus.getSelector();
             V1StatefulSet v1StatefulSet = getFunctionStatefulSet(v1alpha1Function);
-            String statefulSetName = "";
-            String subdomain = "";
-            if (v1StatefulSet == null) {
-                log.error(
-                        "get status {}/{}/{} function failed, no StatefulSet exists",
-                        tenant,
-                        namespace,
-                        componentName);
-                throw new RestException(Response.Status.NOT_FOUND, "no StatefulSet exists");
-            }
-            if (v1StatefulSet.getMetadata() != null
-                    && StringUtils.isNotEmpty(v1StatefulSet.getMetadata().getName())) {
-                statefulSetName = v1StatefulSet.getMetadata().getName();
-            } else {
-                log.error(
-                        "get status {}/{}/{} function failed, no statefulSetName exists",
-                        tenant,
-                        namespace,
-                        componentName);
-                throw new RestException(Response.Status.NOT_FOUND, "no statefulSetName exists");
-            }
-            if (v1StatefulSet.getSpec() != null
-                    && StringUtils.isNotEmpty(v1StatefulSet.getSpec().getServiceName())) {
-                subdomain = v1StatefulSet.getSpec().getServiceName();
-            } else {
-                log.error(
-                        "get status {}/{}/{} function failed, no ServiceName exists",
-                        tenant,
-                        namespace,
-                        componentName);
-                throw new RestException(Response.Status.NOT_FOUND, "no ServiceName exists");
-            }
-            if (v1StatefulSet.getStatus() != null) {
-                Integer replicas = v1StatefulSet.getStatus().getReplicas();
-                if (replicas != null) {
-                    functionStatus.setNumInstances(replicas);
-                    for (int i = 0; i < replicas; i++) {
-                        FunctionStatus.FunctionInstanceStatus functionInstanceStatus =
-                                new FunctionStatus.FunctionInstanceStatus();
-                        FunctionStatus.FunctionInstanceStatus.FunctionInstanceStatusData functionInstanceStatusData =
-                                new FunctionStatus.FunctionInstanceStatus.FunctionInstanceStatusData();
-                        functionInstanceStatus.setInstanceId(i);
-                        functionInstanceStatus.setStatus(functionInstanceStatusData);
-                        functionStatus.addInstance(functionInstanceStatus);
-                    }
-                    if (v1StatefulSet.getStatus().getReadyReplicas() != null) {
-                        functionStatus.setNumRunning(v1StatefulSet.getStatus().getReadyReplicas());
-                    }
+            fillFunctionStatus(tenant, namespace, componentName, v1alpha1Function, v1StatefulSet,
+                    () -> getFunctionPods(tenant, namespace, componentName, v1alpha1FunctionStatus), functionStatus)
+                    .forEach(CompletableFuture::join);
+        } catch (Exception e) {
+            log.error("Get function {} status failed from namespace {}",
+                    componentName, namespace, e);
+        }
+
+        return functionStatus;
+    }
+
+    /**
+     * Fills the status of a function from its StatefulSet and pods, the returned futures complete once the status of
+     * the running instances was fetched from them.
+     */
+    private Set<CompletableFuture<InstanceCommunication.FunctionStatus>> fillFunctionStatus(
+            String tenant, String namespace, String componentName, V1alpha1Function v1alpha1Function,
+            V1StatefulSet v1StatefulSet, Supplier<V1PodList> podListSupplier, FunctionStatus functionStatus) {
+        String nameSpaceName = worker().getJobNamespace();
+        String statefulSetName = "";
+        String subdomain = "";
+        if (v1StatefulSet == null) {
+            log.error(
+                    "get status {}/{}/{} function failed, no StatefulSet exists",
+                    tenant,
+                    namespace,
+                    componentName);
+            throw new RestException(Response.Status.NOT_FOUND, "no StatefulSet exists");
+        }
+        if (v1StatefulSet.getMetadata() != null
+                && StringUtils.isNotEmpty(v1StatefulSet.getMetadata().getName())) {
+            statefulSetName = v1StatefulSet.getMetadata().getName();
+        } else {
+            log.error(
+                    "get status {}/{}/{} function failed, no statefulSetName exists",
+                    tenant,
+                    namespace,
+                    componentName);
+            throw new RestException(Response.Status.NOT_FOUND, "no statefulSetName exists");
+        }
+        if (v1StatefulSet.getSpec() != null
+                && StringUtils.isNotEmpty(v1StatefulSet.getSpec().getServiceName())) {
+            subdomain = v1StatefulSet.getSpec().getServiceName();
+        } else {
+            log.error(
+                    "get status {}/{}/{} function failed, no ServiceName exists",
+                    tenant,
+                    namespace,
+                    componentName);
+            throw new RestException(Response.Status.NOT_FOUND, "no ServiceName exists");
+        }
+        if (v1StatefulSet.getStatus() != null) {
+            Integer replicas = v1StatefulSet.getStatus().getReplicas();
+            if (replicas != null) {
+                functionStatus.setNumInstances(replicas);
+                for (int i = 0; i < replicas; i++) {
+                    FunctionStatus.FunctionInstanceStatus functionInstanceStatus =
+                            new FunctionStatus.FunctionInstanceStatus();
+                    FunctionStatus.FunctionInstanceStatus.FunctionInstanceStatusData functionInstanceStatusData =
+                            new FunctionStatus.FunctionInstanceStatus.FunctionInstanceStatusData();
+                    functionInstanceStatus.setInstanceId(i);
+                    functionInstanceStatus.setStatus(functionInstanceStatusData);
+                    functionStatus.addInstance(functionInstanceStatus);
                 }
-            } else {
-                log.error(
-                        "no StatefulSet status exists when get status of function {}/{}/{}",
-                        tenant,
-                        namespace,
-                        componentName);
-                throw new RestException(Response.Status.NOT_FOUND, "no StatefulSet status exists");
-            }
-            V1PodList podList = getFunctionPods(tenant, namespace, componentName, v1alpha1FunctionStatus);
-            if (podList != null) {
-                List<V1Pod> runningPods = podList.getItems().stream().
-                        filter(KubernetesUtils::isPodRunning).collect(Collectors.toList());
-                List<V1Pod> pendingPods = podList.getItems().stream().
-                        filter(pod -> !KubernetesUtils.isPodRunning(pod)).collect(Collectors.toList());
-                if (!runningPods.isEmpty()) {
-                    int podsCount = runningPods.size();
-                    ManagedChannel[] channel = new ManagedChannel[podsCount];
-                    InstanceControlGrpc.InstanceControlFutureStub[] stub =
-                            new InstanceControlGrpc.InstanceControlFutureStub[podsCount];
-                    Set<CompletableFuture<InstanceCommunication.FunctionStatus>> completableFutureSet =
-                            fetchFunctionStatusFromGRPC(runningPods, subdomain, statefulSetName, nameSpaceName,
-                                    functionStatus, v1alpha1Function, channel, stub);
-                    completableFutureSet.forEach(CompletableFuture::join);
+                if (v1StatefulSet.getStatus().getReadyReplicas() != null) {
+                    functionStatus.setNumRunning(v1StatefulSet.getStatus().getReadyReplicas());
                 }
-                if (!pendingPods.isEmpty()) {
-                    fillFunctionStatusByPendingPod(pendingPods, statefulSetName, nameSpaceName, functionStatus,
-                            v1alpha1Function);
+            }
+        } else {
+            log.error(
+                    "no StatefulSet status exists when get status of function {}/{}/{}",
+                    tenant,
+                    namespace,
+                    componentName);
+            throw new RestException(Response.Status.NOT_FOUND, "no StatefulSet status exists");
+        }
+        Set<CompletableFuture<InstanceCommunication.FunctionStatus>> completableFutureSet = new HashSet<>();
+        V1PodList podList = podListSupplier.get();
+        if (podList != null) {
+            List<V1Pod> runningPods = podList.getItems().stream().
+                    filter(KubernetesUtils::isPodRunning).collect(Collectors.toList());
+            List<V1Pod> pendingPods = podList.getItems().stream().
+                    filter(pod -> !KubernetesUtils.isPodRunning(pod)).collect(Collectors.toList());
+            if (!runningPods.isEmpty()) {
+                int podsCount = runningPods.size();
+                ManagedChannel[] channel = new ManagedChannel[podsCount];
+                InstanceControlGrpc.InstanceControlFutureStub[] stub =
+                        new InstanceControlGrpc.InstanceControlFutureStub[podsCount];
+                completableFutureSet.addAll(
+                        fetchFunctionStatusFromGRPC(runningPods, subdomain, statefulSetName, nameSpaceName,
+                                functionStatus, v1alpha1Function, channel, stub));
+            }
+            if (!pendingPods.isEmpty()) {
+                fillFunctionStatusByPendingPod(pendingPods, statefulSetName, nameSpaceName, functionStatus,
+                        v1alpha1Function);
+            }
+        }
+        return completableFutureSet;
+    }
+
+    /**
+     * Returns the status of every function of a namespace by name. The StatefulSets and pods of the pulsar namespace
+     * are listed once by its labels and joined with the functions by name and label selector, then the instances of
+     * all functions are called at the same time, bounded by the instance call limiter. It is rejected when the
+     * instance call limiter is disabled, the calls of a namespace would not be bounded.
+     *
+     * <p>Nothing calls it yet: the worker service plugin can't register JAX-RS resources, an endpoint for it has to
+     * be added to the REST resources of the broker.
+     */
+    public Map<String, FunctionStatus> getFunctionStatuses(final String tenant,
+                                                           final String namespace,
+                                                           final AuthenticationParameters authenticationParameters) {
+        validateFunctionEnabled();
+        if (worker().getInstanceCallLimiter() == null) {
+            throw new RestException(Response.Status.BAD_REQUEST,
+                    "The status of all functions of a namespace requires instanceCallLimitEnabled");
+        }
+        this.validatePermission(tenant,
+                namespace,
+                authenticationParameters,
+                ComponentTypeUtils.toString(componentType));
+        Map<String, FunctionStatus> functionStatuses = new TreeMap<>();
+        List<V1alpha1Function> v1alpha1Functions = new ArrayList<>();
+        Map<String, V1StatefulSet> statefulSets = new HashMap<>();
+        Map<String, V1Pod> podsByName = new HashMap<>();
+        String nameSpaceName = worker().getJobNamespace();
+        String cluster = worker().getWorkerConfig().getPulsarFunctionsCluster();
+        // the objects of the components carry the labels of the pulsar namespace, under the current and the
+        // deprecated names, the objects matching either of them are merged
+        List<String> namespaceSelectors = Arrays.asList(
+                CommonUtil.getCustomLabelClaimsSelector(cluster, tenant, namespace),
+                CommonUtil.getCustomLabelClaimsSelectorLegacy(cluster, tenant, namespace));
+        try {
+            for (KubernetesObject object : listComponentResources(tenant, namespace)) {
+                V1alpha1Function v1alpha1Function = (V1alpha1Function) object;
+                if (StringUtils.isNotEmpty(getComponentName(v1alpha1Function))) {
+                    v1alpha1Functions.add(v1alpha1Function);
                 }
             }
+            if (v1alpha1Functions.isEmpty()) {
+                return functionStatuses;
+            }
+            String podLabelSelector = KubernetesUtils.getCommonLabelSelector(v1alpha1Functions.stream()
+                    .map(v1alpha1Function -> v1alpha1Function.getStatus() != null
+                            ? v1alpha1Function.getStatus().getSelector() : null)
+                    .collect(Collectors.toList()));
+            for (String namespaceSelector : namespaceSelectors) {
+                worker().getAppsV1Api().listNamespacedStatefulSet(nameSpaceName, null, null, null, null,
+                        namespaceSelector, null, null, null, null, null).getItems()
+                        .forEach(v1StatefulSet -> statefulSets.put(v1StatefulSet.getMetadata().getName(),
+                                v1StatefulSet));
+                String selector = podLabelSelector == null ? namespaceSelector
+                        : namespaceSelector + "," + podLabelSelector;
+                worker().getCoreV1Api().listNamespacedPod(nameSpaceName, null, null, null, null,
+                        selector, null, null, null, null, null).getItems()
+                        .forEach(v1Pod -> podsByName.put(v1Pod.getMetadata().getName(), v1Pod));
+            }
         } catch (Exception e) {
-            log.error("Get function {} status failed from namespace {}",
-                    componentName, namespace, e);
+            log.error("Get function statuses failed from namespace {}/{}", tenant, namespace, e);
+            throw new RestException(Response.Status.INTERNAL_SERVER_ERROR, e.getMessage());
         }
 
-        return functionStatus;
+        Collection<V1Pod> pods = podsByName.values();
+        List<CompletableFuture<InstanceCommunication.FunctionStatus>> futures = new ArrayList<>();
+        for (V1alpha1Function v1alpha1Function : v1alpha1Functions) {
+            String componentName = getComponentName(v1alpha1Function);
+            FunctionStatus functionStatus = new FunctionStatus();
+            functionStatuses.put(componentName, functionStatus);
+            try {
+                validateResourceObject(v1alpha1Function);
+                String jobName =
+                        CommonUtil.makeJobName(v1alpha1Function.getMetadata().getName(), CommonUtil.COMPONENT_FUNCTION);
+                V1StatefulSet v1StatefulSet = statefulSets.get(jobName);
+                if (!validateResourceOwner(v1StatefulSet, v1alpha1Function)) {
+                    v1StatefulSet = null;
+                }
+                V1alpha1FunctionStatus v1alpha1FunctionStatus = v1alpha1Function.getStatus();
+                String selector = v1alpha1FunctionStatus.getSelector();
+                Supplier<V1PodList> podListSupplier = KubernetesUtils.isEqualityLabelSelector(selector)
+                        ? () -> new V1PodList().items(pods.stream()
+                                .filter(pod -> pod.getMetadata() != null && KubernetesUtils.matchesLabelSelector(
+                                        selector, pod.getMetadata().getLabels()))
+                                .collect(Collectors.toList()))
+                        : () -> getFunctionPods(tenant, namespace, componentName, v1alpha1FunctionStatus);
+                futures.addAll(fillFunctionStatus(tenant, namespace, componentName, v1alpha1Function, v1StatefulSet,
+                        podListSupplier, functionStatus));
+            } catch (Exception e) {
+                log.error("Get function {} status failed from namespace {}", componentName, namespace, e);
+            }
+        }
+        for (CompletableFuture<InstanceCommunication.FunctionStatus> future : futures) {
+            try {
+                future.join();
+            } catch (Exception e) {
+                // the error was recorded in the status of the instance
+            }
+        }
+        return functionStatuses;
     }
 
     @Override
@@ -748,20 +878,20 @@ public class FunctionsImpl extends MeshComponentImpl<V1alpha1Function, V1alpha1F
                         log.debug("existing containerStatus: {}", podStatus.getContainerStatuses());
                     }
                 }
-                // get status from grpc
-                if (channel[podIndex] == null && stub[podIndex] == null) {
-                    channel[podIndex] = ManagedChannelBuilder.forAddress(address, 9093)
-                            .usePlaintext()
-                            .build();
-                    stub[podIndex] = InstanceControlGrpc.newFutureStub(channel[podIndex]);
+                InstanceStatusPoller.Snapshot snapshot = getInstanceStatusSnapshot(pod);
+                if (snapshot != null) {
+                    FunctionsUtil.convertFunctionStatusToInstanceStatusData(snapshot.getFunctionStatus(),
+                            functionInstanceStatusData);
+                    return;
                 }
-                CompletableFuture<InstanceCommunication.FunctionStatus> future =
-                        CommonUtil.getFunctionStatusAsync(stub[podIndex]);
+                // get status from grpc, the channel is only taken once the call is let through
+                CompletableFuture<InstanceCommunication.FunctionStatus> future = callInstance(() -> {
+                    channel[podIndex] = getInstanceControlChannel(pod, address);
+                    stub[podIndex] = InstanceControlGrpc.newFutureStub(channel[podIndex]);
+                    return CommonUtil.getFunctionStatusAsync(stub[podIndex]);
+                });
                 future.whenComplete((fs, e) -> {
-                    if (channel[podIndex] != null) {
-                        log.debug("closing channel {}", podIndex);
-                        channel[podIndex].shutdown();
-                    }
+                    releaseInstanceControlChannel(address, channel[podIndex], podIndex, e);
                     if (e != null) {
                         log.error("Get function {}-{} status from grpc failed from namespace {}",
                                 statefulSetName,
@@ -876,7 +1006,7 @@ public class FunctionsImpl extends MeshComponentImpl<V1alpha1Function, V1alpha1F
         try {
             String hashName = CommonUtil.generateObjectName(worker(), tenant, namespace, functionName);
             String nameSpaceName = worker().getJobNamespace();
-            V1alpha1Function v1alpha1Function = extractResponse(getResourceApi().get(nameSpaceName, hashName));
+            V1alpha1Function v1alpha1Function = getComponentResource(nameSpaceName, hashName, true);
             try {
                 validateResourceObject(v1alpha1Function);
             } catch (IllegalArgumentException e) {
@@ -913,7 +1043,7 @@ public class FunctionsImpl extends MeshComponentImpl<V1alpha1Function, V1alpha1F
         try {
             String hashName = CommonUtil.generateObjectName(worker(), tenant, namespace, functionName);
             String nameSpaceName = worker().getJobNamespace();
-            V1alpha1Function v1alpha1Function = extractResponse(getResourceApi().get(nameSpaceName, hashName));
+            V1alpha1Function v1alpha1Function = getComponentResource(nameSpaceName, hashName, true);
             try {
                 validateResourceObject(v1alpha1Function);
             } catch (IllegalArgumentException e) {
@@ -960,7 +1090,7 @@ public class FunctionsImpl extends MeshComponentImpl<V1alpha1Function, V1alpha1F
             String hashName = CommonUtil.generateObjectName(worker(), tenant, namespace, functionName);
             String nameSpaceName = worker().getJobNamespace();
 
-            V1alpha1Function v1alpha1Function = extractResponse(getResourceApi().get(nameSpaceName, hashName));
+            V1alpha1Function v1alpha1Function = getComponentResource(nameSpaceName, hashName, true);
             try {
                 validateResourceObject(v1alpha1Function);
             } catch (IllegalArgumentException e) {
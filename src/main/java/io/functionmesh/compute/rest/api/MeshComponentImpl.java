@@ -40,33 +40,48 @@ import static org.apache.pulsar.functions.utils.FunctionCommon.getStateNamespace
 import static org.apache.pulsar.functions.worker.rest.RestUtils.throwUnavailableException;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
 import io.functionmesh.compute.MeshWorkerService;
 import io.functionmesh.compute.auth.AuthHandler;
+import io.functionmesh.compute.auth.AuthorizationDecisionCache;
 import io.functionmesh.compute.functions.models.V1alpha1Function;
 import io.functionmesh.compute.functions.models.V1alpha1FunctionList;
 import io.functionmesh.compute.functions.models.V1alpha1FunctionSpecInputSourceSpecs;
+import io.functionmesh.compute.models.MeshWorkerServiceCustomConfig;
 import io.functionmesh.compute.sinks.models.V1alpha1Sink;
 import io.functionmesh.compute.sinks.models.V1alpha1SinkSpecInputSourceSpecs;
 import io.functionmesh.compute.sources.models.V1alpha1Source;
 import io.functionmesh.compute.util.CommonUtil;
 import io.functionmesh.compute.util.KubernetesUtils;
 import io.functionmesh.compute.util.PackageManagementServiceUtil;
+import io.functionmesh.compute.worker.ComponentCleanup;
+import io.functionmesh.compute.worker.ComponentCleanupQueue;
+import io.functionmesh.compute.worker.InstanceCallLimiter;
+import io.functionmesh.compute.worker.InstanceControlChannelPool;
+import io.functionmesh.compute.worker.InstanceStatusPoller;
+import io.functionmesh.compute.worker.MeshComponentCache;
+import io.functionmesh.compute.worker.RequestCoalescer;
+import io.functionmesh.compute.worker.TenantInfoCache;
 import io.grpc.ManagedChannel;
-import io.grpc.ManagedChannelBuilder;
+import io.kubernetes.client.custom.V1Patch;
 import io.kubernetes.client.openapi.models.V1Pod;
 import io.kubernetes.client.util.generic.GenericKubernetesApi;
 import io.kubernetes.client.util.generic.KubernetesApiResponse;
+import io.kubernetes.client.util.generic.options.PatchOptions;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.Unpooled;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.HttpURLConnection;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -130,6 +145,8 @@ public abstract class MeshComponentImpl<T extends io.kubernetes.client.common.Ku
         K extends io.kubernetes.client.common.KubernetesListObject> implements Component<MeshWorkerService> {
 
     static final String API_GROUP = "compute.functionmesh.io";
+    static final String OPERATION_STATUS = "status";
+    static final String OPERATION_STATS = "stats";
     protected final Supplier<MeshWorkerService> meshWorkerServiceSupplier;
     protected final Function.FunctionDetails.ComponentType componentType;
     protected String apiVersion = "v1alpha1";
@@ -176,56 +193,13 @@ public abstract class MeshComponentImpl<T extends io.kubernetes.client.common.Ku
             KubernetesApiResponse response = getResourceApi().get(nameSpaceName, hashName);
             getResourceApi().delete(nameSpaceName, hashName);
 
-            // clean up component after delete
-            try {
-                cleanupComponent(response, tenant, namespace, hashName);
-            } catch (PulsarAdminException e) {
-                // ignore not found error
-                if (!e.getClass().isAssignableFrom(PulsarAdminException.NotFoundException.class)) {
-                    throw e;
-                }
-            }
-
-            if (worker().getMeshWorkerServiceCustomConfig().isUploadEnabled()) {
-                PackageManagementServiceUtil.deletePackageFromPackageService(
-                        worker().getBrokerAdmin(), getPackageTypeFromComponentType(componentType),
-                        tenant, namespace, componentName);
-            }
-
-            String authPluginName = worker().getWorkerConfig().getBrokerClientAuthenticationPlugin();
-            if (worker().getMeshWorkerServiceCustomConfig().isUsingInsecureAuth()) {
-                authPluginName = INSECURE_PLUGIN_NAME;
-            }
-            if (!StringUtils.isEmpty(authPluginName)) {
-                AuthHandler handler = CommonUtil.AUTH_HANDLERS.get(authPluginName);
-                if (handler != null) {
-                    try {
-                        handler.cleanUp(worker(), authenticationParameters, apiKind, clusterName, tenant,
-                                namespace, componentName);
-                    } catch (RuntimeException e) {
-                        log.error("clean up auth for {}/{}/{} failed", tenant, namespace, componentName, e);
-                    }
-                }
-            }
-            if (worker().getWorkerConfig().getTlsEnabled()) {
-                Call deleteTlsSecretCall = worker().getCoreV1Api()
-                        .deleteNamespacedSecretCall(
-                                KubernetesUtils.getUniqueSecretName(
-                                        apiKind.toLowerCase(),
-                                        "tls",
-                                        DigestUtils.sha256Hex(
-                                                KubernetesUtils.getSecretName(
-                                                        clusterName, tenant, namespace, componentName))),
-                                worker().getJobNamespace(),
-                                null,
-                                null,
-                                30,
-                                false,
-                                null,
-                                null,
-                                null
-                        );
-                executeCall(deleteTlsSecretCall, null);
+            // clean up component after delete, in background when the cleanup queue is enabled and not full
+            ComponentCleanup cleanup =
+                    buildComponentCleanup(response, clusterName, tenant, namespace, componentName, hashName);
+            ComponentCleanupQueue cleanupQueue = worker().getComponentCleanupQueue();
+            if (cleanupQueue == null
+                    || !cleanupQueue.submit(cleanup, c -> cleanupComponent(c, authenticationParameters))) {
+                cleanupComponent(cleanup, authenticationParameters);
             }
         } catch (Exception e) {
             log.error("deregister {}/{}/{} {} failed", tenant, namespace, componentName, apiPlural, e);
@@ -270,6 +244,94 @@ public abstract class MeshComponentImpl<T extends io.kubernetes.client.common.Ku
         }
     }
 
+    /**
+     * Write an updated component resource. When patch updates are enabled only the changed labels, annotations,
+     * owner references and spec are sent, as a JSON merge patch with the resourceVersion of the previous resource
+     * as precondition. On a conflict the resource is read again and the same changes are re-applied to it, so
+     * concurrent updates of other fields are kept. Otherwise the whole resource is replaced using the
+     * resourceVersion of the previous resource.
+     */
+    protected void updateComponentResource(T previous, T updated) throws RestException {
+        MeshWorkerServiceCustomConfig customConfig = worker().getMeshWorkerServiceCustomConfig();
+        if (customConfig == null || !customConfig.isPatchUpdateEnabled()) {
+            updated.getMetadata().setResourceVersion(previous.getMetadata().getResourceVersion());
+            extractResponse(getResourceApi().update(updated));
+            return;
+        }
+        Gson gson = worker().getApiClient().getJSON().getGson();
+        JsonElement changes = KubernetesUtils.createMergePatch(
+                getPatchableFields(gson.toJsonTree(previous)), getPatchableFields(gson.toJsonTree(updated)));
+        String name = previous.getMetadata().getName();
+        String namespace = previous.getMetadata().getNamespace();
+        if (changes == null) {
+            log.info("{} {}/{} is unchanged, skip patching it", apiKind, namespace, name);
+            return;
+        }
+        int retries = Math.max(0, customConfig.getPatchUpdateConflictRetries());
+        JsonElement patch = changes;
+        String resourceVersion = previous.getMetadata().getResourceVersion();
+        for (int attempt = 0; ; attempt++) {
+            JsonObject versionedPatch = patch.getAsJsonObject().deepCopy();
+            if (!versionedPatch.has("metadata")) {
+                versionedPatch.add("metadata", new JsonObject());
+            }
+            versionedPatch.getAsJsonObject("metadata").addProperty("resourceVersion", resourceVersion);
+            KubernetesApiResponse<T> response = getResourceApi().patch(namespace, name,
+                    V1Patch.PATCH_FORMAT_JSON_MERGE_PATCH, new V1Patch(versionedPatch.toString()), new PatchOptions());
+            if (response.getHttpStatusCode() != HttpURLConnection.HTTP_CONFLICT || attempt >= retries) {
+                extractResponse(response);
+                return;
+            }
+            log.warn("Conflict while patching {} {}/{}, retrying ({}/{})", apiKind, namespace, name, attempt + 1,
+                    retries);
+            // re-apply the changes to the latest version of the resource
+            T latest = extractResponse(getResourceApi().get(namespace, name));
+            JsonElement latestFields = getPatchableFields(gson.toJsonTree(latest));
+            patch = KubernetesUtils.createMergePatch(latestFields,
+                    KubernetesUtils.applyMergePatch(latestFields, changes));
+            if (patch == null) {
+                log.info("{} {}/{} already has the changes, skip patching it", apiKind, namespace, name);
+                return;
+            }
+            resourceVersion = latest.getMetadata().getResourceVersion();
+        }
+    }
+
+    private static JsonObject getPatchableFields(JsonElement resource) {
+        JsonObject fields = new JsonObject();
+        JsonObject resourceObject = resource.getAsJsonObject();
+        if (resourceObject.has("metadata")) {
+            JsonObject metadata = resourceObject.getAsJsonObject("metadata");
+            JsonObject patchableMetadata = new JsonObject();
+            for (String field : new String[]{"labels", "annotations", "ownerReferences"}) {
+                if (metadata.has(field)) {
+                    patchableMetadata.add(field, metadata.get(field));
+                }
+            }
+            fields.add("metadata", patchableMetadata);
+        }
+        if (resourceObject.has("spec")) {
+            fields.add("spec", resourceObject.get("spec"));
+        }
+        return fields;
+    }
+
+    /**
+     * Get the component resource, served from the local component cache when it is enabled.
+     *
+     * @param refresh force a fresh read from the API server, should be used before writing the resource back
+     */
+    public T getComponentResource(String nameSpaceName, String hashName, boolean refresh) throws RestException {
+        MeshComponentCache<T> cache = getComponentCache();
+        if (!refresh && cache != null) {
+            T resource = cache.get(nameSpaceName, hashName);
+            if (resource != null) {
+                return resource;
+            }
+        }
+        return extractResponse(getResourceApi().get(nameSpaceName, hashName));
+    }
+
     @Override
     public MeshWorkerService worker() {
         try {
@@ -354,6 +416,11 @@ public abstract class MeshComponentImpl<T extends io.kubernetes.client.common.Ku
         this.validateTenantIsExist(tenant, namespace, componentName, authenticationParameters);
         this.validateGetInfoRequestParams(tenant, namespace, componentName, ComponentTypeUtils.toString(componentType));
 
+        return coalesce(tenant, namespace, componentName, OPERATION_STATS,
+                () -> collectFunctionStats(tenant, namespace, componentName));
+    }
+
+    private FunctionStatsImpl collectFunctionStats(String tenant, String namespace, String componentName) {
         FunctionStatsImpl functionStats = new FunctionStatsImpl();
         try {
             List<FunctionInstanceStatsImpl> instanceStatsList =
@@ -413,8 +480,7 @@ public abstract class MeshComponentImpl<T extends io.kubernetes.client.common.Ku
         String nameSpaceName = worker().getJobNamespace();
         String hashName = CommonUtil.createObjectName(clusterName, tenant, namespace, functionName);
 
-        V1alpha1Function v1alpha1Function =
-                (V1alpha1Function) extractResponse(getResourceApi().get(nameSpaceName, hashName));
+        V1alpha1Function v1alpha1Function = (V1alpha1Function) getComponentResource(nameSpaceName, hashName, false);
 
         String inputTopicToWrite;
         if (topic != null) {
@@ -512,55 +578,7 @@ public abstract class MeshComponentImpl<T extends io.kubernetes.client.common.Ku
                                       final AuthenticationParameters authenticationParameters) {
         Set<String> result = new HashSet<>();
         try {
-            String labelSelector;
-            String cluster = worker().getWorkerConfig().getPulsarFunctionsCluster();
-            labelSelector = getCustomLabelClaimsSelector(cluster, tenant, namespace);
-            Call call = worker().getCustomObjectsApi().listNamespacedCustomObjectCall(
-                    API_GROUP,
-                    apiVersion,
-                    worker().getJobNamespace(), apiPlural,
-                    "false",
-                    null,
-                    null,
-                    labelSelector,
-                    null,
-                    null,
-                    null,
-                    false,
-                    null);
-
-            V1alpha1FunctionList list = executeCall(call, V1alpha1FunctionList.class);
-
-            labelSelector = getCustomLabelClaimsSelectorLegacy(cluster, tenant, namespace);
-            call = worker().getCustomObjectsApi().listNamespacedCustomObjectCall(
-                    API_GROUP,
-                    apiVersion,
-                    worker().getJobNamespace(), apiPlural,
-                    "false",
-                    null,
-                    null,
-                    labelSelector,
-                    null,
-                    null,
-                    null,
-                    false,
-                    null);
-            V1alpha1FunctionList listLegacy = executeCall(call, V1alpha1FunctionList.class);
-            List<V1alpha1Function> functions = list.getItems();
-            functions.addAll(listLegacy.getItems());
-            functions.forEach(n -> {
-                if (n.getMetadata() == null
-                        || n.getMetadata().getLabels() == null || n.getMetadata().getLabels().isEmpty()) {
-                    return;
-                }
-                String comp = n.getMetadata().getLabels().get(COMPONENT_LABEL_CLAIM);
-                if (StringUtils.isEmpty(comp)) {
-                    comp = n.getMetadata().getLabels().get(COMPONENT_LABEL_CLAIM_DEPRECATED);
-                }
-                if (StringUtils.isNotEmpty(comp)) {
-                    result.add(comp);
-                }
-            });
+            listComponentResources(tenant, namespace).forEach(n -> addComponentName(n, result));
         } catch (Exception e) {
             log.error("failed to fetch functions list from namespace {}", namespace, e);
         }
@@ -568,6 +586,74 @@ public abstract class MeshComponentImpl<T extends io.kubernetes.client.common.Ku
         return new ArrayList<>(result);
     }
 
+    /**
+     * Lists the resources of the components of a pulsar namespace, from the component cache once it has synced.
+     */
+    List<? extends io.kubernetes.client.common.KubernetesObject> listComponentResources(String tenant,
+                                                                                      String namespace)
+            throws Exception {
+        String labelSelector;
+        String cluster = worker().getWorkerConfig().getPulsarFunctionsCluster();
+        MeshComponentCache<T> cache = getComponentCache();
+        if (cache != null && cache.hasSynced()) {
+            return cache.listByPulsarNamespace(cluster, tenant, namespace);
+        }
+        labelSelector = getCustomLabelClaimsSelector(cluster, tenant, namespace);
+        Call call = worker().getCustomObjectsApi().listNamespacedCustomObjectCall(
+                API_GROUP,
+                apiVersion,
+                worker().getJobNamespace(), apiPlural,
+                "false",
+                null,
+                null,
+                labelSelector,
+                null,
+                null,
+                null,
+                false,
+                null);
+
+        V1alpha1FunctionList list = executeCall(call, V1alpha1FunctionList.class);
+
+        labelSelector = getCustomLabelClaimsSelectorLegacy(cluster, tenant, namespace);
+        call = worker().getCustomObjectsApi().listNamespacedCustomObjectCall(
+                API_GROUP,
+                apiVersion,
+                worker().getJobNamespace(), apiPlural,
+                "false",
+                null,
+                null,
+                labelSelector,
+                null,
+                null,
+                null,
+                false,
+                null);
+        V1alpha1FunctionList listLegacy = executeCall(call, V1alpha1FunctionList.class);
+        List<V1alpha1Function> functions = list.getItems();
+        functions.addAll(listLegacy.getItems());
+        return functions;
+    }
+
+    private void addComponentName(io.kubernetes.client.common.KubernetesObject obj, Set<String> result) {
+        String comp = getComponentName(obj);
+        if (StringUtils.isNotEmpty(comp)) {
+            result.add(comp);
+        }
+    }
+
+    String getComponentName(io.kubernetes.client.common.KubernetesObject obj) {
+        if (obj.getMetadata() == null
+                || obj.getMetadata().getLabels() == null || obj.getMetadata().getLabels().isEmpty()) {
+            return null;
+        }
+        String comp = obj.getMetadata().getLabels().get(COMPONENT_LABEL_CLAIM);
+        if (StringUtils.isEmpty(comp)) {
+            comp = obj.getMetadata().getLabels().get(COMPONENT_LABEL_CLAIM_DEPRECATED);
+        }
+        return comp;
+    }
+
     @Override
     public FunctionState getFunctionState(final String tenant,
                                           final String namespace,
@@ -783,7 +869,7 @@ public abstract class MeshComponentImpl<T extends io.kubernetes.client.common.Ku
 
             if (authenticationParameters != null && StringUtils.isNotEmpty(authenticationParameters.getClientRole())) {
                 try {
-                    TenantInfo tenantInfo = worker().getBrokerAdmin().tenants().getTenantInfo(tenant);
+                    TenantInfo tenantInfo = getTenantInfo(tenant);
                     if (tenantInfo != null && worker().getAuthorizationService()
                             .isTenantAdmin(tenant, authenticationParameters.getClientRole(), tenantInfo,
                                     authenticationParameters.getClientAuthenticationDataSource()).get()) {
@@ -840,8 +926,16 @@ public abstract class MeshComponentImpl<T extends io.kubernetes.client.common.Ku
                             AuthenticationParameters authenticationParameters,
                             String componentName) {
         String clientRole = authenticationParameters == null ? null : authenticationParameters.getClientRole();
+        AuthorizationDecisionCache decisionCache = worker().getAuthorizationDecisionCache();
         try {
-            if (!isAuthorizedRole(tenant, namespace, authenticationParameters)) {
+            boolean authorized;
+            if (decisionCache != null && StringUtils.isNotEmpty(clientRole)) {
+                authorized = decisionCache.isAuthorized(clientRole, tenant, namespace, componentType,
+                        () -> isAuthorizedRole(tenant, namespace, authenticationParameters));
+            } else {
+                authorized = isAuthorizedRole(tenant, namespace, authenticationParameters);
+            }
+            if (!authorized) {
                 log.warn("{}/{}/{} Client [{}] is not authorized to get {}", tenant, namespace,
                         componentName, clientRole, ComponentTypeUtils.toString(componentType));
                 throw new RestException(UNAUTHORIZED,
@@ -871,7 +965,7 @@ public abstract class MeshComponentImpl<T extends io.kubernetes.client.common.Ku
         String clientRole = authenticationParameters == null ? null : authenticationParameters.getClientRole();
         try {
             // Check tenant exists
-            worker().getBrokerAdmin().tenants().getTenantInfo(tenant);
+            getTenantInfo(tenant);
 
         } catch (PulsarAdminException.NotAuthorizedException e) {
             log.error("{}/{}/{} Client [{}] is not authorized to operate {} on tenant", tenant, namespace,
@@ -887,6 +981,38 @@ public abstract class MeshComponentImpl<T extends io.kubernetes.client.common.Ku
         }
     }
 
+    /**
+     * Rejects registering a component while the cleanup of a deleted one with the same name may still run on any
+     * worker, and drops a failed or abandoned cleanup of it, see {@link ComponentCleanupQueue#discardStaleCleanup}.
+     */
+    void validateNoPendingCleanup(String tenant, String namespace, String name) {
+        ComponentCleanupQueue cleanupQueue = worker().getComponentCleanupQueue();
+        if (cleanupQueue == null) {
+            return;
+        }
+        String hashName = CommonUtil.generateObjectName(worker(), tenant, namespace, name);
+        long graceMs = SECONDS.toMillis(worker().getMeshWorkerServiceCustomConfig().getCleanupReconcileGraceSeconds());
+        boolean discarded;
+        try {
+            discarded = cleanupQueue.discardStaleCleanup(componentType, tenant, namespace, name, hashName, graceMs);
+        } catch (Exception e) {
+            log.error("check the cleanup of {}/{}/{} {} failed", tenant, namespace, name, apiPlural, e);
+            throw new RestException(INTERNAL_SERVER_ERROR, e.getMessage());
+        }
+        if (!discarded) {
+            throw new RestException(CONFLICT, String.format("%s %s is still being cleaned up, please retry later",
+                    ComponentTypeUtils.toString(componentType), name));
+        }
+    }
+
+    TenantInfo getTenantInfo(String tenant) throws PulsarAdminException {
+        TenantInfoCache tenantInfoCache = worker().getTenantInfoCache();
+        if (tenantInfoCache != null) {
+            return tenantInfoCache.getTenantInfo(tenant);
+        }
+        return worker().getBrokerAdmin().tenants().getTenantInfo(tenant);
+    }
+
     void validateResources(Resources componentResources, Resources minResource, Resources maxResource) {
         if (componentResources != null) {
             if (minResource != null && (componentResources.getCpu() < minResource.getCpu()
@@ -915,6 +1041,8 @@ public abstract class MeshComponentImpl<T extends io.kubernetes.client.common.Ku
 
     abstract void validateResourceObject(T obj) throws IllegalArgumentException;
 
+    abstract MeshComponentCache<T> getComponentCache();
+
     public Set<CompletableFuture<MetricsData>> fetchStatsFromGRPC(List<V1Pod> pods,
                                                                   String subdomain,
                                                                   String statefulSetName,
@@ -936,20 +1064,20 @@ public abstract class MeshComponentImpl<T extends io.kubernetes.client.common.Ku
                     statsList.stream().filter(v -> v.getInstanceId() == shardId).findFirst()
                             .orElse(null);
             if (functionInstanceStats != null) {
-                // get status from grpc
-                if (channel[podIndex] == null && stub[podIndex] == null) {
-                    channel[podIndex] = ManagedChannelBuilder.forAddress(address, 9093)
-                            .usePlaintext()
-                            .build();
-                    stub[podIndex] = InstanceControlGrpc.newFutureStub(channel[podIndex]);
+                InstanceStatusPoller.Snapshot snapshot = getInstanceStatusSnapshot(pod);
+                if (snapshot != null) {
+                    CommonUtil.convertFunctionMetricsToFunctionInstanceStats(snapshot.getMetricsData(),
+                            functionInstanceStats);
+                    return;
                 }
-                CompletableFuture<MetricsData> future =
-                        CommonUtil.getFunctionMetricsAsync(stub[podIndex]);
+                // get status from grpc, the channel is only taken once the call is let through
+                CompletableFuture<MetricsData> future = callInstance(() -> {
+                    channel[podIndex] = getInstanceControlChannel(pod, address);
+                    stub[podIndex] = InstanceControlGrpc.newFutureStub(channel[podIndex]);
+                    return CommonUtil.getFunctionMetricsAsync(stub[podIndex]);
+                });
                 future.whenComplete((fs, e) -> {
-                    if (channel[podIndex] != null) {
-                        log.debug("closing channel {}", podIndex);
-                        channel[podIndex].shutdown();
-                    }
+                    releaseInstanceControlChannel(address, channel[podIndex], podIndex, e);
                     if (e != null) {
                         log.warn("Get {}-{} stats from grpc failed from namespace {}",
                                 statefulSetName,
@@ -972,6 +1100,52 @@ public abstract class MeshComponentImpl<T extends io.kubernetes.client.common.Ku
         return completableFutureSet;
     }
 
+    InstanceStatusPoller.Snapshot getInstanceStatusSnapshot(V1Pod pod) {
+        InstanceStatusPoller poller = worker().getInstanceStatusPoller();
+        return poller != null ? poller.getSnapshot(pod) : null;
+    }
+
+    ManagedChannel getInstanceControlChannel(V1Pod pod, String address) {
+        InstanceControlChannelPool pool = worker().getInstanceControlChannelPool();
+        if (pool != null) {
+            return pool.getChannel(pod, address);
+        }
+        return InstanceControlChannelPool.newChannel(address);
+    }
+
+    <R> CompletableFuture<R> callInstance(Supplier<CompletableFuture<R>> call) {
+        InstanceCallLimiter limiter = worker().getInstanceCallLimiter();
+        return limiter != null ? limiter.execute(call) : call.get();
+    }
+
+    /**
+     * Computes a read of the component, shared with the identical requests in flight when request coalescing is
+     * enabled. Only the computation is shared, every request must be validated by its caller before.
+     */
+    <R> R coalesce(String tenant, String namespace, String componentName, String operation, Supplier<R> supplier) {
+        RequestCoalescer coalescer = worker().getRequestCoalescer();
+        return coalescer != null
+                ? coalescer.execute(getCoalescingKey(tenant, namespace, componentName, operation), supplier)
+                : supplier.get();
+    }
+
+    private String getCoalescingKey(String tenant, String namespace, String componentName, String operation) {
+        return componentType + "/" + tenant + "/" + namespace + "/" + componentName + "#" + operation;
+    }
+
+    void releaseInstanceControlChannel(String address, ManagedChannel channel, int podIndex, Throwable e) {
+        InstanceControlChannelPool pool = worker().getInstanceControlChannelPool();
+        if (pool != null) {
+            // keep the channel warm for the next request unless the instance could not be reached
+            if (channel != null) {
+                pool.release(address, channel, e);
+            }
+        } else if (channel != null) {
+            log.debug("closing channel {}", podIndex);
+            channel.shutdown();
+        }
+    }
+
     private void throwStateStoreUnvailableResponse() {
         throw new RestException(SERVICE_UNAVAILABLE,
                 "State storage client is not done initializing. " + "Please try again in a little while.");
@@ -1016,8 +1190,8 @@ public abstract class MeshComponentImpl<T extends io.kubernetes.client.common.Ku
         }
     }
 
-    private void cleanupComponent(KubernetesApiResponse response, String tenant, String namespace, String componentName)
-            throws PulsarAdminException, InterruptedException {
+    private ComponentCleanup buildComponentCleanup(KubernetesApiResponse response, String clusterName, String tenant,
+                                                   String namespace, String componentName, String hashName) {
         Boolean cleanup = false;
         String subscriptionName = null;
         List<String> inputTopics = new ArrayList<>();
@@ -1029,7 +1203,9 @@ public abstract class MeshComponentImpl<T extends io.kubernetes.client.common.Ku
                     cleanup = v1alpha1Function.getSpec().getCleanupSubscription();
                     subscriptionName = v1alpha1Function.getSpec().getSubscriptionName();
                     topicPattern = v1alpha1Function.getSpec().getInput().getTopicPattern();
-                    inputTopics = v1alpha1Function.getSpec().getInput().getTopics();
+                    if (v1alpha1Function.getSpec().getInput().getTopics() != null) {
+                        inputTopics.addAll(v1alpha1Function.getSpec().getInput().getTopics());
+                    }
                     if (v1alpha1Function.getSpec().getInput().getSourceSpecs() != null) {
                         for (Map.Entry<String, V1alpha1FunctionSpecInputSourceSpecs> entry :
                                 v1alpha1Function.getSpec().getInput().getSourceSpecs().entrySet()) {
@@ -1048,7 +1224,9 @@ public abstract class MeshComponentImpl<T extends io.kubernetes.client.common.Ku
                     cleanup = v1alpha1Sink.getSpec().getCleanupSubscription();
                     subscriptionName = v1alpha1Sink.getSpec().getSubscriptionName();
                     topicPattern = v1alpha1Sink.getSpec().getInput().getTopicPattern();
-                    inputTopics = v1alpha1Sink.getSpec().getInput().getTopics();
+                    if (v1alpha1Sink.getSpec().getInput().getTopics() != null) {
+                        inputTopics.addAll(v1alpha1Sink.getSpec().getInput().getTopics());
+                    }
                     if (v1alpha1Sink.getSpec().getInput().getSourceSpecs() != null) {
                         for (Map.Entry<String, V1alpha1SinkSpecInputSourceSpecs> entry :
                                 v1alpha1Sink.getSpec().getInput().getSourceSpecs().entrySet()) {
@@ -1068,60 +1246,182 @@ public abstract class MeshComponentImpl<T extends io.kubernetes.client.common.Ku
                             v1alpha1Source.getSpec().getBatchSourceConfig().getDiscoveryTriggererClassName());
                     subscriptionName =
                             SourceConfigUtils.computeBatchSourceInstanceSubscriptionName(tenant,
-                                    namespace, componentName);
-                    inputTopics = List.of(SourceConfigUtils.computeBatchSourceIntermediateTopicName(tenant, namespace,
-                            componentName).toString());
+                                    namespace, hashName);
+                    inputTopics.add(SourceConfigUtils.computeBatchSourceIntermediateTopicName(tenant, namespace,
+                            hashName).toString());
                 }
                 break;
             default:
                 break;
         }
-        if (Boolean.TRUE.equals(cleanup)) {
-            if (StringUtils.isEmpty(subscriptionName)) {
-                subscriptionName = InstanceUtils.getDefaultSubscriptionName(tenant, namespace, componentName);
+        if (StringUtils.isEmpty(subscriptionName)) {
+            subscriptionName = InstanceUtils.getDefaultSubscriptionName(tenant, namespace, hashName);
+        }
+        io.kubernetes.client.common.KubernetesObject resource = extractResponse(response);
+        String uid = resource != null && resource.getMetadata() != null ? resource.getMetadata().getUid() : null;
+        return ComponentCleanup.builder()
+                .componentType(componentType)
+                .uid(uid)
+                .clusterName(clusterName)
+                .tenant(tenant)
+                .namespace(namespace)
+                .name(componentName)
+                .hashName(hashName)
+                .cleanupSubscription(Boolean.TRUE.equals(cleanup))
+                .subscriptionName(subscriptionName)
+                .topics(inputTopics)
+                .topicPattern(topicPattern)
+                .build();
+    }
+
+    /**
+     * Cleans up the subscriptions, package and auth/TLS secrets of a deleted component, it is safe to run it again.
+     */
+    public void cleanupComponent(ComponentCleanup cleanup, AuthenticationParameters authenticationParameters)
+            throws Exception {
+        String tenant = cleanup.getTenant();
+        String namespace = cleanup.getNamespace();
+        String componentName = cleanup.getName();
+        try {
+            cleanupSubscriptions(cleanup);
+        } catch (PulsarAdminException e) {
+            // ignore not found error
+            if (!e.getClass().isAssignableFrom(PulsarAdminException.NotFoundException.class)) {
+                throw e;
             }
-            if (StringUtils.isNotEmpty(topicPattern)) {
-                log.info("Cleanup subscription {} for topic pattern {}", subscriptionName, topicPattern);
-                deleteSubscription(topicPattern, true, subscriptionName, String.format("Cleaning up subscriptions for function %s", componentName));
-            } else {
-                log.info("Cleanup subscription {} for topics {}", subscriptionName,
-                        StringUtils.join(inputTopics, ","));
-                Map<String, Boolean> processed = new HashMap<>();
-                for (String topic : inputTopics) {
-                    if (!processed.containsKey(topic)) {
-                        deleteSubscription(topic, false, subscriptionName, String.format("Cleaning up subscriptions for function %s", componentName));
-                        processed.put(topic, true);
-                    }
+        }
+
+        if (worker().getMeshWorkerServiceCustomConfig().isUploadEnabled()) {
+            PackageManagementServiceUtil.deletePackageFromPackageService(
+                    worker(), getPackageTypeFromComponentType(componentType),
+                    tenant, namespace, componentName);
+        }
+
+        String authPluginName = worker().getWorkerConfig().getBrokerClientAuthenticationPlugin();
+        if (worker().getMeshWorkerServiceCustomConfig().isUsingInsecureAuth()) {
+            authPluginName = INSECURE_PLUGIN_NAME;
+        }
+        if (!StringUtils.isEmpty(authPluginName)) {
+            AuthHandler handler = CommonUtil.AUTH_HANDLERS.get(authPluginName);
+            if (handler != null) {
+                try {
+                    handler.cleanUp(worker(), authenticationParameters, apiKind, cleanup.getClusterName(), tenant,
+                            namespace, componentName);
+                } catch (RuntimeException e) {
+                    log.error("clean up auth for {}/{}/{} failed", tenant, namespace, componentName, e);
                 }
             }
-            if (componentType == Function.FunctionDetails.ComponentType.SOURCE) {
-                Actions.newBuilder()
-                        .addAction(
-                                // Unsubscribe and allow time for consumers to close
-                                Actions.Action.builder()
-                                        .actionName(String.format(
-                                                "Removing intermediate topic subscription %s for Batch Source %s",
-                                                subscriptionName, componentName))
-                                        .numRetries(10)
-                                        .sleepBetweenInvocationsMs(1000)
-                                        .supplier(
-                                                getDeleteSubscriptionSupplier(inputTopics.get(0),
-                                                        false,
-                                                        subscriptionName)
-                                        )
-                                        .build())
-                        .addAction(
-                                // Delete topic forcibly regardless whether unsubscribe succeeded or not
-                                Actions.Action.builder()
-                                        .actionName(String.format("Deleting intermediate topic %s for Batch Source %s",
-                                                subscriptionName, componentName))
-                                        .numRetries(10)
-                                        .sleepBetweenInvocationsMs(1000)
-                                        .supplier(getDeleteTopicSupplier(inputTopics.get(0)))
-                                        .build())
-                        .run();
+        }
+        if (worker().getWorkerConfig().getTlsEnabled()) {
+            Call deleteTlsSecretCall = worker().getCoreV1Api()
+                    .deleteNamespacedSecretCall(
+                            KubernetesUtils.getUniqueSecretName(
+                                    apiKind.toLowerCase(),
+                                    "tls",
+                                    DigestUtils.sha256Hex(
+                                            KubernetesUtils.getSecretName(
+                                                    cleanup.getClusterName(), tenant, namespace, componentName))),
+                            worker().getJobNamespace(),
+                            null,
+                            null,
+                            30,
+                            false,
+                            null,
+                            null,
+                            null
+                    );
+            try (Response response = deleteTlsSecretCall.execute()) {
+                // do nothing if the tls secret doesn't exist, it is already deleted if the cleanup runs again
+                if (!response.isSuccessful() && response.code() != HttpURLConnection.HTTP_NOT_FOUND) {
+                    throw new RestException(BAD_REQUEST, String.format(
+                            "failed to delete the tls secret: responseCode: %s, responseMessage: %s",
+                            response.code(), response.message()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Resumes a journaled cleanup. It is skipped when a resource was registered again under the same name, and fails
+     * to be retried later while the deleted resource still exists. The deregister request is gone, so the auth
+     * handlers clean up without its authentication parameters.
+     */
+    public void resumeCleanupComponent(ComponentCleanup cleanup) throws Exception {
+        KubernetesApiResponse<T> response = getResourceApi().get(worker().getJobNamespace(), cleanup.getHashName());
+        if (response.isSuccess()) {
+            String uid = response.getObject().getMetadata().getUid();
+            if (cleanup.getUid() == null || !cleanup.getUid().equals(uid)) {
+                log.info("Skip the cleanup of {}, it was registered again", cleanup.getKey());
+                return;
+            }
+            throw new IllegalStateException("The resource of " + cleanup.getKey() + " is still being deleted");
+        } else if (response.getHttpStatusCode() != HttpURLConnection.HTTP_NOT_FOUND) {
+            throw new IllegalStateException(String.format("Failed to check the resource of %s, responseCode: %s",
+                    cleanup.getKey(), response.getHttpStatusCode()));
+        }
+        cleanupComponent(cleanup, null);
+    }
+
+    private void cleanupSubscriptions(ComponentCleanup cleanup) throws PulsarAdminException, InterruptedException {
+        if (!cleanup.isCleanupSubscription()) {
+            return;
+        }
+        String subscriptionName = cleanup.getSubscriptionName();
+        String hashName = cleanup.getHashName();
+        List<String> inputTopics = cleanup.getTopics() == null ? Collections.emptyList() : cleanup.getTopics();
+        String msg = String.format("Cleaning up subscriptions for function %s", hashName);
+        if (StringUtils.isNotEmpty(cleanup.getTopicPattern())) {
+            log.info("Cleanup subscription {} for topic pattern {}", subscriptionName, cleanup.getTopicPattern());
+            deleteSubscription(cleanup.getTopicPattern(), true, subscriptionName, msg);
+        } else {
+            log.info("Cleanup subscription {} for topics {}", subscriptionName,
+                    StringUtils.join(inputTopics, ","));
+            deleteSubscriptions(new LinkedHashSet<>(inputTopics), subscriptionName, msg);
+        }
+        if (componentType == Function.FunctionDetails.ComponentType.SOURCE && !inputTopics.isEmpty()) {
+            Actions.newBuilder()
+                    .addAction(
+                            // Unsubscribe and allow time for consumers to close
+                            Actions.Action.builder()
+                                    .actionName(String.format(
+                                            "Removing intermediate topic subscription %s for Batch Source %s",
+                                            subscriptionName, hashName))
+                                    .numRetries(10)
+                                    .sleepBetweenInvocationsMs(1000)
+                                    .supplier(
+                                            getDeleteSubscriptionSupplier(inputTopics.get(0),
+                                                    false,
+                                                    subscriptionName)
+                                    )
+                                    .build())
+                    .addAction(
+                            // Delete topic forcibly regardless whether unsubscribe succeeded or not
+                            Actions.Action.builder()
+                                    .actionName(String.format("Deleting intermediate topic %s for Batch Source %s",
+                                            subscriptionName, hashName))
+                                    .numRetries(10)
+                                    .sleepBetweenInvocationsMs(1000)
+                                    .supplier(getDeleteTopicSupplier(inputTopics.get(0)))
+                                    .build())
+                    .run();
+        }
+    }
+
+    private void deleteSubscriptions(Set<String> topics, String subscriptionName, String msg) {
+        ComponentCleanupQueue cleanupQueue = worker().getComponentCleanupQueue();
+        if (cleanupQueue == null || topics.size() <= 1) {
+            for (String topic : topics) {
+                deleteSubscription(topic, false, subscriptionName, msg);
             }
+            return;
         }
+        // each topic retries on its own, so delete them in parallel rather than one retry loop after another
+        CompletableFuture<?>[] futures = topics.stream()
+                .map(topic -> CompletableFuture.runAsync(
+                        () -> deleteSubscription(topic, false, subscriptionName, msg),
+                        cleanupQueue.getTopicExecutor()))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(futures).join();
     }
 
     private void deleteSubscription(String topic, boolean isRegexPattern,
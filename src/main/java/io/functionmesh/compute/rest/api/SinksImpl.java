@@ -39,8 +39,9 @@ import io.functionmesh.compute.util.CommonUtil;
 import io.functionmesh.compute.util.KubernetesUtils;
 import io.functionmesh.compute.util.PackageManagementServiceUtil;
 import io.functionmesh.compute.util.SinksUtil;
+import io.functionmesh.compute.worker.InstanceStatusPoller;
+import io.functionmesh.compute.worker.MeshComponentCache;
 import io.grpc.ManagedChannel;
-import io.grpc.ManagedChannelBuilder;
 import io.kubernetes.client.custom.V1Patch;
 import io.kubernetes.client.openapi.models.V1ContainerState;
 import io.kubernetes.client.openapi.models.V1ContainerStatus;
@@ -149,12 +150,13 @@ public class SinksImpl extends MeshComponentImpl<V1alpha1Sink, V1alpha1SinkList>
                 authenticationParameters,
                 ComponentTypeUtils.toString(componentType));
         this.validateTenantIsExist(tenant, namespace, sinkName, authenticationParameters);
+        this.validateNoPendingCleanup(tenant, namespace, sinkName);
         String packageURL = sinkPkgUrl;
         if (uploadedInputStream != null && worker().getMeshWorkerServiceCustomConfig().isUploadEnabled()) {
             try {
                 String tempDirectory = System.getProperty("java.io.tmpdir");
                 packageURL = PackageManagementServiceUtil.uploadPackageToPackageService(
-                        worker().getBrokerAdmin(), PackageManagementServiceUtil.PACKAGE_TYPE_SINK, tenant,
+                        worker(), PackageManagementServiceUtil.PACKAGE_TYPE_SINK, tenant,
                         namespace, sinkName, uploadedInputStream, fileDetail, tempDirectory);
             } catch (Exception e) {
                 log.error("register {}/{}/{} sink failed", tenant, namespace, sinkName, e);
@@ -220,7 +222,7 @@ public class SinksImpl extends MeshComponentImpl<V1alpha1Sink, V1alpha1SinkList>
             try {
                 String tempDirectory = System.getProperty("java.io.tmpdir");
                 packageURL = PackageManagementServiceUtil.uploadPackageToPackageService(
-                        worker().getBrokerAdmin(), PackageManagementServiceUtil.PACKAGE_TYPE_FUNCTION, tenant,
+                        worker(), PackageManagementServiceUtil.PACKAGE_TYPE_FUNCTION, tenant,
                         namespace, sinkName, uploadedInputStream, fileDetail, tempDirectory);
             } catch (Exception e) {
                 log.error("update {}/{}/{} sink failed", tenant, namespace, sinkName, e);
@@ -229,7 +231,7 @@ public class SinksImpl extends MeshComponentImpl<V1alpha1Sink, V1alpha1SinkList>
         }
         String nameSpaceName = worker().getJobNamespace();
         String hashName = CommonUtil.generateObjectName(worker(), tenant, namespace, sinkName);
-        V1alpha1Sink v1alpha1SinkPre = extractResponse(getResourceApi().get(nameSpaceName, hashName));
+        V1alpha1Sink v1alpha1SinkPre = getComponentResource(nameSpaceName, hashName, true);
         if (v1alpha1SinkPre.getMetadata() == null || v1alpha1SinkPre.getMetadata().getLabels() == null) {
             log.error("update {}/{}/{} sink failed, the sink resource cannot be found", tenant, namespace,
                     sinkName);
@@ -266,10 +268,9 @@ public class SinksImpl extends MeshComponentImpl<V1alpha1Sink, V1alpha1SinkList>
                             cluster, worker());
 
             v1alpha1Sink.getMetadata().setNamespace(worker().getJobNamespace());
-            v1alpha1Sink.getMetadata().setResourceVersion(v1alpha1SinkPre.getMetadata().getResourceVersion());
 
             this.upsertSink(tenant, namespace, sinkName, sinkConfig, v1alpha1Sink, authenticationParameters);
-            extractResponse(getResourceApi().update(v1alpha1Sink));
+            updateComponentResource(v1alpha1SinkPre, v1alpha1Sink);
         } catch (Exception e) {
             log.error(
                     "update {}/{}/{} sink failed",
@@ -303,15 +304,20 @@ public class SinksImpl extends MeshComponentImpl<V1alpha1Sink, V1alpha1SinkList>
             final URI uri,
             final AuthenticationParameters authenticationParameters) {
         validateSinkEnabled();
-        SinkStatus sinkStatus = new SinkStatus();
         this.validatePermission(tenant,
                 namespace,
                 authenticationParameters,
                 ComponentTypeUtils.toString(componentType));
+        return coalesce(tenant, namespace, componentName, OPERATION_STATUS,
+                () -> collectSinkStatus(tenant, namespace, componentName));
+    }
+
+    private SinkStatus collectSinkStatus(String tenant, String namespace, String componentName) {
+        SinkStatus sinkStatus = new SinkStatus();
         try {
             String hashName = CommonUtil.generateObjectName(worker(), tenant, namespace, componentName);
             String nameSpaceName = worker().getJobNamespace();
-            V1alpha1Sink v1alpha1Sink = extractResponse(getResourceApi().get(nameSpaceName, hashName));
+            V1alpha1Sink v1alpha1Sink = getComponentResource(nameSpaceName, hashName, false);
             V1alpha1SinkStatus v1alpha1SinkStatus = v1alpha1Sink.getStatus();
             if (v1alpha1SinkStatus == null) {
                 log.error(
@@ -441,7 +447,7 @@ public class SinksImpl extends MeshComponentImpl<V1alpha1Sink, V1alpha1SinkList>
         try {
             String nameSpaceName = worker().getJobNamespace();
             String hashName = CommonUtil.generateObjectName(worker(), tenant, namespace, componentName);
-            V1alpha1Sink v1alpha1Sink = extractResponse(getResourceApi().get(nameSpaceName, hashName));
+            V1alpha1Sink v1alpha1Sink = getComponentResource(nameSpaceName, hashName, false);
             return SinksUtil.createSinkConfigFromV1alpha1Sink(
                     tenant, namespace, componentName, v1alpha1Sink, worker());
         } catch (Exception e) {
@@ -470,7 +476,7 @@ public class SinksImpl extends MeshComponentImpl<V1alpha1Sink, V1alpha1SinkList>
         try {
             String nameSpaceName = worker().getJobNamespace();
             String hashName = CommonUtil.generateObjectName(worker(), tenant, namespace, componentName);
-            V1alpha1Sink v1alpha1Sink = extractResponse(getResourceApi().get(nameSpaceName, hashName));
+            V1alpha1Sink v1alpha1Sink = getComponentResource(nameSpaceName, hashName, false);
             try {
                 validateResourceObject(v1alpha1Sink);
             } catch (IllegalArgumentException e) {
@@ -519,6 +525,11 @@ public class SinksImpl extends MeshComponentImpl<V1alpha1Sink, V1alpha1SinkList>
         return functionInstanceStatsList;
     }
 
+    @Override
+    MeshComponentCache<V1alpha1Sink> getComponentCache() {
+        return worker().getSinkCache();
+    }
+
     @Override
     void validateResourceObject(V1alpha1Sink obj) throws IllegalArgumentException {
         if (obj == null) {
@@ -751,20 +762,20 @@ public class SinksImpl extends MeshComponentImpl<V1alpha1Sink, V1alpha1SinkList>
                         log.debug("existing containerStatus: {}", podStatus.getContainerStatuses());
                     }
                 }
-                // get status from grpc
-                if (channel[podIndex] == null && stub[podIndex] == null) {
-                    channel[podIndex] = ManagedChannelBuilder.forAddress(address, 9093)
-                            .usePlaintext()
-                            .build();
-                    stub[podIndex] = InstanceControlGrpc.newFutureStub(channel[podIndex]);
+                InstanceStatusPoller.Snapshot snapshot = getInstanceStatusSnapshot(pod);
+                if (snapshot != null) {
+                    SinksUtil.convertFunctionStatusToInstanceStatusData(snapshot.getFunctionStatus(),
+                            sinkInstanceStatusData);
+                    return;
                 }
-                CompletableFuture<InstanceCommunication.FunctionStatus> future =
-                        CommonUtil.getFunctionStatusAsync(stub[podIndex]);
+                // get status from grpc, the channel is only taken once the call is let through
+                CompletableFuture<InstanceCommunication.FunctionStatus> future = callInstance(() -> {
+                    channel[podIndex] = getInstanceControlChannel(pod, address);
+                    stub[podIndex] = InstanceControlGrpc.newFutureStub(channel[podIndex]);
+                    return CommonUtil.getFunctionStatusAsync(stub[podIndex]);
+                });
                 future.whenComplete((fs, e) -> {
-                    if (channel[podIndex] != null) {
-                        log.debug("closing channel {}", podIndex);
-                        channel[podIndex].shutdown();
-                    }
+                    releaseInstanceControlChannel(address, channel[podIndex], podIndex, e);
                     if (e != null) {
                         log.error("Get sink {}-{} status from grpc failed from namespace {}",
                                 statefulSetName,
@@ -866,7 +877,7 @@ public class SinksImpl extends MeshComponentImpl<V1alpha1Sink, V1alpha1SinkList>
         try {
             String hashName = CommonUtil.generateObjectName(worker(), tenant, namespace, sinkName);
             String nameSpaceName = worker().getJobNamespace();
-            V1alpha1Sink v1alpha1Sink = extractResponse(getResourceApi().get(nameSpaceName, hashName));
+            V1alpha1Sink v1alpha1Sink = getComponentResource(nameSpaceName, hashName, true);
             try {
                 validateResourceObject(v1alpha1Sink);
             } catch (IllegalArgumentException e) {
@@ -902,7 +913,7 @@ public class SinksImpl extends MeshComponentImpl<V1alpha1Sink, V1alpha1SinkList>
         try {
             String hashName = CommonUtil.generateObjectName(worker(), tenant, namespace, sinkName);
             String nameSpaceName = worker().getJobNamespace();
-            V1alpha1Sink v1alpha1Sink = extractResponse(getResourceApi().get(nameSpaceName, hashName));
+            V1alpha1Sink v1alpha1Sink = getComponentResource(nameSpaceName, hashName, true);
             try {
                 validateResourceObject(v1alpha1Sink);
             } catch (IllegalArgumentException e) {
@@ -946,7 +957,7 @@ public class SinksImpl extends MeshComponentImpl<V1alpha1Sink, V1alpha1SinkList>
             String hashName = CommonUtil.generateObjectName(worker(), tenant, namespace, sinkName);
             String nameSpaceName = worker().getJobNamespace();
 
-            V1alpha1Sink v1alpha1Sink = extractResponse(getResourceApi().get(nameSpaceName, hashName));
+            V1alpha1Sink v1alpha1Sink = getComponentResource(nameSpaceName, hashName, true);
             try {
                 validateResourceObject(v1alpha1Sink);
             } catch (IllegalArgumentException e) {
@@ -39,8 +39,9 @@ import io.functionmesh.compute.util.CommonUtil;
 import io.functionmesh.compute.util.KubernetesUtils;
 import io.functionmesh.compute.util.PackageManagementServiceUtil;
 import io.functionmesh.compute.util.SourcesUtil;
+import io.functionmesh.compute.worker.InstanceStatusPoller;
+import io.functionmesh.compute.worker.MeshComponentCache;
 import io.grpc.ManagedChannel;
-import io.grpc.ManagedChannelBuilder;
 import io.kubernetes.client.custom.V1Patch;
 import io.kubernetes.client.openapi.models.V1ContainerState;
 import io.kubernetes.client.openapi.models.V1ContainerStatus;
@@ -159,12 +160,13 @@ public class SourcesImpl extends MeshComponentImpl<V1alpha1Source, V1alpha1Sourc
                 authenticationParameters,
                 ComponentTypeUtils.toString(componentType));
         this.validateTenantIsExist(tenant, namespace, sourceName, authenticationParameters);
+        this.validateNoPendingCleanup(tenant, namespace, sourceName);
         String packageURL = sourcePkgUrl;
         if (uploadedInputStream != null && worker().getMeshWorkerServiceCustomConfig().isUploadEnabled()) {
             try {
                 String tempDirectory = System.getProperty("java.io.tmpdir");
                 packageURL = PackageManagementServiceUtil.uploadPackageToPackageService(
-                        worker().getBrokerAdmin(), PackageManagementServiceUtil.PACKAGE_TYPE_SOURCE, tenant,
+                        worker(), PackageManagementServiceUtil.PACKAGE_TYPE_SOURCE, tenant,
                         namespace, sourceName, uploadedInputStream, fileDetail, tempDirectory);
             } catch (Exception e) {
                 log.error("register {}/{}/{} source failed", tenant, namespace, sourceName, e);
@@ -224,7 +226,7 @@ public class SourcesImpl extends MeshComponentImpl<V1alpha1Source, V1alpha1Sourc
             try {
                 String tempDirectory = System.getProperty("java.io.tmpdir");
                 packageURL = PackageManagementServiceUtil.uploadPackageToPackageService(
-                        worker().getBrokerAdmin(), PackageManagementServiceUtil.PACKAGE_TYPE_SOURCE, tenant,
+                        worker(), PackageManagementServiceUtil.PACKAGE_TYPE_SOURCE, tenant,
                         namespace, sourceName, uploadedInputStream, fileDetail, tempDirectory);
             } catch (Exception e) {
                 log.error("update {}/{}/{} source failed", tenant, namespace, sourceName, e);
@@ -234,7 +236,7 @@ public class SourcesImpl extends MeshComponentImpl<V1alpha1Source, V1alpha1Sourc
 
         String nameSpaceName = worker().getJobNamespace();
         String hashName = CommonUtil.generateObjectName(worker(), tenant, namespace, sourceName);
-        V1alpha1Source v1alpha1SourcePre = extractResponse(getResourceApi().get(nameSpaceName, hashName));
+        V1alpha1Source v1alpha1SourcePre = getComponentResource(nameSpaceName, hashName, true);
         if (v1alpha1SourcePre.getMetadata() == null || v1alpha1SourcePre.getMetadata().getLabels() == null) {
             log.error("update {}/{}/{} source failed, the source resource cannot be found", tenant, namespace,
                     sourceName);
@@ -274,10 +276,9 @@ public class SourcesImpl extends MeshComponentImpl<V1alpha1Source, V1alpha1Sourc
 
 
             v1alpha1Source.getMetadata().setNamespace(worker().getJobNamespace());
-            v1alpha1Source.getMetadata().setResourceVersion(v1alpha1SourcePre.getMetadata().getResourceVersion());
             this.upsertSource(tenant, namespace, sourceName, sourceConfig, v1alpha1Source,
                     authenticationParameters);
-            extractResponse(getResourceApi().update(v1alpha1Source));
+            updateComponentResource(v1alpha1SourcePre, v1alpha1Source);
         } catch (Exception e) {
             log.error("update {}/{}/{} source failed", tenant, namespace, sourceConfig, e);
             throw new RestException(Response.Status.INTERNAL_SERVER_ERROR, e.getMessage());
@@ -290,16 +291,20 @@ public class SourcesImpl extends MeshComponentImpl<V1alpha1Source, V1alpha1Sourc
                                         final URI uri,
                                         final AuthenticationParameters authenticationParameters) {
         validateSourceEnabled();
-        SourceStatus sourceStatus = new SourceStatus();
         this.validatePermission(tenant,
                 namespace,
                 authenticationParameters,
                 ComponentTypeUtils.toString(componentType));
+        return coalesce(tenant, namespace, componentName, OPERATION_STATUS,
+                () -> collectSourceStatus(tenant, namespace, componentName));
+    }
 
+    private SourceStatus collectSourceStatus(String tenant, String namespace, String componentName) {
+        SourceStatus sourceStatus = new SourceStatus();
         try {
             String hashName = CommonUtil.generateObjectName(worker(), tenant, namespace, componentName);
             String nameSpaceName = worker().getJobNamespace();
-            V1alpha1Source v1alpha1Source = extractResponse(getResourceApi().get(nameSpaceName, hashName));
+            V1alpha1Source v1alpha1Source = getComponentResource(nameSpaceName, hashName, false);
             V1alpha1SourceStatus v1alpha1SourceStatus = v1alpha1Source.getStatus();
             if (v1alpha1SourceStatus == null) {
                 log.error(
@@ -441,7 +446,7 @@ public class SourcesImpl extends MeshComponentImpl<V1alpha1Source, V1alpha1Sourc
         try {
             String nameSpaceName = worker().getJobNamespace();
             String hashName = CommonUtil.generateObjectName(worker(), tenant, namespace, componentName);
-            V1alpha1Source v1alpha1Source = extractResponse(getResourceApi().get(nameSpaceName, hashName));
+            V1alpha1Source v1alpha1Source = getComponentResource(nameSpaceName, hashName, false);
 
             return SourcesUtil.createSourceConfigFromV1alpha1Source(tenant, namespace, componentName, v1alpha1Source,
                     worker());
@@ -593,7 +598,7 @@ public class SourcesImpl extends MeshComponentImpl<V1alpha1Source, V1alpha1Sourc
         try {
             String nameSpaceName = worker().getJobNamespace();
             String hashName = CommonUtil.generateObjectName(worker(), tenant, namespace, componentName);
-            V1alpha1Source v1alpha1Source = extractResponse(getResourceApi().get(nameSpaceName, hashName));
+            V1alpha1Source v1alpha1Source = getComponentResource(nameSpaceName, hashName, false);
             try {
                 validateResourceObject(v1alpha1Source);
             } catch (IllegalArgumentException e) {
@@ -642,6 +647,11 @@ public class SourcesImpl extends MeshComponentImpl<V1alpha1Source, V1alpha1Sourc
         return functionInstanceStatsList;
     }
 
+    @Override
+    MeshComponentCache<V1alpha1Source> getComponentCache() {
+        return worker().getSourceCache();
+    }
+
     @Override
     void validateResourceObject(V1alpha1Source obj) throws IllegalArgumentException {
         if (obj == null) {
@@ -738,20 +748,20 @@ public class SourcesImpl extends MeshComponentImpl<V1alpha1Source, V1alpha1Sourc
                         log.debug("existing containerStatus: {}", podStatus.getContainerStatuses());
                     }
                 }
-                // get status from grpc
-                if (channel[podIndex] == null && stub[podIndex] == null) {
-                    channel[podIndex] = ManagedChannelBuilder.forAddress(address, 9093)
-                            .usePlaintext()
-                            .build();
-                    stub[podIndex] = InstanceControlGrpc.newFutureStub(channel[podIndex]);
+                InstanceStatusPoller.Snapshot snapshot = getInstanceStatusSnapshot(pod);
+                if (snapshot != null) {
+                    SourcesUtil.convertFunctionStatusToInstanceStatusData(snapshot.getFunctionStatus(),
+                            sourceInstanceStatusData);
+                    return;
                 }
-                CompletableFuture<InstanceCommunication.FunctionStatus> future =
-                        CommonUtil.getFunctionStatusAsync(stub[podIndex]);
+                // get status from grpc, the channel is only taken once the call is let through
+                CompletableFuture<InstanceCommunication.FunctionStatus> future = callInstance(() -> {
+                    channel[podIndex] = getInstanceControlChannel(pod, address);
+                    stub[podIndex] = InstanceControlGrpc.newFutureStub(channel[podIndex]);
+                    return CommonUtil.getFunctionStatusAsync(stub[podIndex]);
+                });
                 future.whenComplete((fs, e) -> {
-                    if (channel[podIndex] != null) {
-                        log.debug("closing channel {}", podIndex);
-                        channel[podIndex].shutdown();
-                    }
+                    releaseInstanceControlChannel(address, channel[podIndex], podIndex, e);
                     if (e != null) {
                         log.error("Get source {}-{} status from grpc failed from namespace {}: ",
                                 statefulSetName,
@@ -863,7 +873,7 @@ public class SourcesImpl extends MeshComponentImpl<V1alpha1Source, V1alpha1Sourc
         try {
             String hashName = CommonUtil.generateObjectName(worker(), tenant, namespace, sourceName);
             String nameSpaceName = worker().getJobNamespace();
-            V1alpha1Source v1alpha1Source = extractResponse(getResourceApi().get(nameSpaceName, hashName));
+            V1alpha1Source v1alpha1Source = getComponentResource(nameSpaceName, hashName, true);
             try {
                 validateResourceObject(v1alpha1Source);
             } catch (IllegalArgumentException e) {
@@ -900,7 +910,7 @@ public class SourcesImpl extends MeshComponentImpl<V1alpha1Source, V1alpha1Sourc
         try {
             String hashName = CommonUtil.generateObjectName(worker(), tenant, namespace, sourceName);
             String nameSpaceName = worker().getJobNamespace();
-            V1alpha1Source v1alpha1Source = extractResponse(getResourceApi().get(nameSpaceName, hashName));
+            V1alpha1Source v1alpha1Source = getComponentResource(nameSpaceName, hashName, true);
             try {
                 validateResourceObject(v1alpha1Source);
             } catch (IllegalArgumentException e) {
@@ -947,7 +957,7 @@ public class SourcesImpl extends MeshComponentImpl<V1alpha1Source, V1alpha1Sourc
             String hashName = CommonUtil.generateObjectName(worker(), tenant, namespace, sourceName);
             String nameSpaceName = worker().getJobNamespace();
 
-            V1alpha1Source v1alpha1Source = extractResponse(getResourceApi().get(nameSpaceName, hashName));
+            V1alpha1Source v1alpha1Source = getComponentResource(nameSpaceName, hashName, true);
             try {
                 validateResourceObject(v1alpha1Source);
             } catch (IllegalArgumentException e) {
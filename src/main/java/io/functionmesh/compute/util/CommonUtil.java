@@ -18,6 +18,7 @@
  */
 package io.functionmesh.compute.util;
 
+import static io.functionmesh.compute.models.PackageMetadataProperties.PROPERTY_CHECKSUM;
 import static io.functionmesh.compute.models.PackageMetadataProperties.PROPERTY_FILE_NAME;
 import static io.functionmesh.compute.util.KubernetesUtils.GRPC_TIMEOUT_SECS;
 import com.google.common.collect.Maps;
@@ -39,6 +40,9 @@ import io.functionmesh.compute.models.HPASpec;
 import io.functionmesh.compute.models.MeshWorkerServiceCustomConfig;
 import io.functionmesh.compute.sinks.models.V1alpha1SinkSpec;
 import io.functionmesh.compute.sources.models.V1alpha1SourceSpec;
+import io.functionmesh.compute.worker.PackageFileCache;
+import io.functionmesh.compute.worker.PackageInspectionCache;
+import io.functionmesh.compute.worker.PackageMetadataCache;
 import io.kubernetes.client.openapi.models.V1ObjectMeta;
 import io.kubernetes.client.openapi.models.V1OwnerReference;
 import java.io.File;
@@ -61,7 +65,6 @@ import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.util.Strings;
 import org.apache.pulsar.broker.authentication.AuthenticationParameters;
-import org.apache.pulsar.client.admin.PulsarAdmin;
 import org.apache.pulsar.client.admin.PulsarAdminException;
 import org.apache.pulsar.common.functions.FunctionConfig;
 import org.apache.pulsar.common.functions.Resources;
@@ -108,6 +111,8 @@ public class CommonUtil {
     public static final String ANNOTATION_MANAGED = "compute.functionmesh.io/managed";
     public static final String ANNOTATION_NEED_CLEANUP = "compute.functionmesh.io/need-cleanup";
     public static final String ANNOTATION_CONNECTOR_TYPE = "compute.functionmesh.io/connector-type";
+    // Gson is thread safe, sharing one instance keeps its type adapters cached across requests
+    public static final Gson GSON = new Gson();
     private static final String CLUSTER_NAME_ENV = "clusterName";
 
     public static String getClusterNameEnv() {
@@ -243,13 +248,21 @@ public class CommonUtil {
         return null;
     }
 
+    /**
+     * Converts a model to another model with the same JSON layout, such as the kubernetes autoscaling models and
+     * the generated CRD models, through a JSON tree instead of a serialized JSON string.
+     */
+    public static <T> T convertJsonModel(Object source, Class<T> type) {
+        return GSON.fromJson(GSON.toJsonTree(source), type);
+    }
+
     // Return a CustomRuntimeOption if a json string is provided, otherwise an empty object is returned
     public static CustomRuntimeOptions getCustomRuntimeOptions(String customRuntimeOptionsJSON) {
         CustomRuntimeOptions customRuntimeOptions;
         if (Strings.isNotEmpty(customRuntimeOptionsJSON)) {
             try {
                 customRuntimeOptions =
-                        new Gson().fromJson(customRuntimeOptionsJSON, CustomRuntimeOptions.class);
+                        GSON.fromJson(customRuntimeOptionsJSON, CustomRuntimeOptions.class);
             } catch (Exception ignored) {
                 throw new RestException(
                         Response.Status.BAD_REQUEST, "customRuntimeOptions cannot be deserialized.");
@@ -344,20 +357,63 @@ public class CommonUtil {
         return retval;
     }
 
-    public static String getFilenameFromPackageMetadata(String functionPkgUrl, PulsarAdmin admin) {
+    public static String getFilenameFromPackageMetadata(String functionPkgUrl, MeshWorkerService worker) {
+        return getFileNameFromMetadata(getPackageMetadata(worker, functionPkgUrl));
+    }
+
+    private static String getFileNameFromMetadata(PackageMetadata packageMetadata) {
+        if (packageMetadata != null && packageMetadata.getProperties() != null
+                && StringUtils.isNotEmpty(packageMetadata.getProperties().get(PROPERTY_FILE_NAME))) {
+            return packageMetadata.getProperties().get(PROPERTY_FILE_NAME);
+        }
+        return DEFAULT_FUNCTION_EXECUTABLE;
+    }
+
+    /**
+     * Get the metadata of a package, served from the package metadata cache when it is enabled.
+     *
+     * @return the metadata, or null if the package is not found or the lookup failed
+     */
+    public static PackageMetadata getPackageMetadata(MeshWorkerService worker, String packageUrl) {
         try {
-            PackageMetadata packageMetadata = admin.packages().getMetadata(functionPkgUrl);
-            if (packageMetadata != null && packageMetadata.getProperties() != null && packageMetadata.getProperties()
-                    .containsKey(PROPERTY_FILE_NAME)
-                    && StringUtils.isNotEmpty(packageMetadata.getProperties().get(PROPERTY_FILE_NAME))) {
-                return packageMetadata.getProperties().get(PROPERTY_FILE_NAME);
+            PackageMetadataCache packageMetadataCache = worker.getPackageMetadataCache();
+            if (packageMetadataCache != null) {
+                return packageMetadataCache.getMetadata(packageUrl,
+                        url -> worker.getBrokerAdmin().packages().getMetadata(url));
             }
+            return worker.getBrokerAdmin().packages().getMetadata(packageUrl);
         } catch (PulsarAdminException.NotFoundException ex) {
-            log.warn("Not found package '{}' metadata", functionPkgUrl);
+            log.warn("Not found package '{}' metadata", packageUrl);
         } catch (Exception ex) {
-            log.warn("[{}] Failed to get package metadata", functionPkgUrl, ex);
+            log.warn("[{}] Failed to get package metadata", packageUrl, ex);
         }
-        return DEFAULT_FUNCTION_EXECUTABLE;
+        return null;
+    }
+
+    /**
+     * Returns the key of the package in the package inspection cache, or null if the cache is disabled or the
+     * package has no checksum.
+     */
+    public static String getPackageInspectionKey(MeshWorkerService worker, String packageUrl) {
+        if (worker.getPackageInspectionCache() == null || !Utils.hasPackageTypePrefix(packageUrl)) {
+            return null;
+        }
+        String checksum = getChecksumFromPackageMetadata(packageUrl, worker);
+        if (StringUtils.isEmpty(checksum)) {
+            return null;
+        }
+        return PackageInspectionCache.getPackageKey(packageUrl, checksum);
+    }
+
+    public static String getChecksumFromPackageMetadata(String packageUrl, MeshWorkerService worker) {
+        return getChecksumFromMetadata(getPackageMetadata(worker, packageUrl));
+    }
+
+    private static String getChecksumFromMetadata(PackageMetadata packageMetadata) {
+        if (packageMetadata != null && packageMetadata.getProperties() != null) {
+            return packageMetadata.getProperties().get(PROPERTY_CHECKSUM);
+        }
+        return null;
     }
 
     public static boolean isMapEmpty(Map<String, String> map) {
@@ -523,8 +579,17 @@ public class CommonUtil {
             Files.createDirectories(tempDirectory);
         }
         String fileName = String.format("function-%s.tmp", RandomStringUtils.random(5, true, true).toLowerCase());
-        if (CommonUtil.getFilenameFromPackageMetadata(packageName, worker.getBrokerAdmin()) != null) {
-            fileName = CommonUtil.getFilenameFromPackageMetadata(packageName, worker.getBrokerAdmin());
+        PackageMetadata packageMetadata = getPackageMetadata(worker, packageName);
+        if (getFileNameFromMetadata(packageMetadata) != null) {
+            fileName = getFileNameFromMetadata(packageMetadata);
+        }
+        PackageFileCache packageFileCache = worker.getPackageFileCache();
+        if (packageFileCache != null) {
+            String checksum = getChecksumFromMetadata(packageMetadata);
+            if (StringUtils.isNotEmpty(checksum)) {
+                return packageFileCache.acquire(packageName, checksum, fileName,
+                        path -> worker.getBrokerAdmin().packages().download(packageName, path));
+            }
         }
         Path filePath = Paths.get(tempDirectory.toString(), fileName);
         Files.deleteIfExists(filePath);
@@ -532,9 +597,29 @@ public class CommonUtil {
         return filePath.toFile();
     }
 
+    /**
+     * Cleans up a file returned by {@link #downloadPackageFile}, a file served from the package cache is handed back
+     * to the cache instead of being deleted.
+     */
+    public static void releasePackageFile(MeshWorkerService worker, File packageFile) {
+        PackageFileCache packageFileCache = worker.getPackageFileCache();
+        if (packageFileCache == null || !packageFileCache.release(packageFile)) {
+            packageFile.delete();
+        }
+    }
+
     public static String getClassNameFromFile(MeshWorkerService worker, String packageUrl,
                                               Function.FunctionDetails.ComponentType componentType) throws Exception {
         boolean isPkgUrlProvided = StringUtils.isNotEmpty(packageUrl);
+        // the connector classes are cached when inferred on register or update
+        String packageKey = isPkgUrlProvided ? getPackageInspectionKey(worker, packageUrl) : null;
+        if (packageKey != null) {
+            PackageInspectionCache.ConnectorClasses connectorClasses =
+                    worker.getPackageInspectionCache().getConnectorClasses(packageKey, componentType);
+            if (connectorClasses != null) {
+                return connectorClasses.getClassName();
+            }
+        }
         File componentPackageFile = null;
         if (isPkgUrlProvided) {
             if (Utils.hasPackageTypePrefix(packageUrl)) {
@@ -562,7 +647,7 @@ public class CommonUtil {
             } catch (Exception e) {
                 throw new RestException(Response.Status.BAD_REQUEST, e.getMessage());
             } finally {
-                componentPackageFile.delete();
+                releasePackageFile(worker, componentPackageFile);
             }
         }
 
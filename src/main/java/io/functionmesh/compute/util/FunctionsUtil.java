@@ -33,7 +33,6 @@ import static io.functionmesh.compute.util.CommonUtil.fetchBuiltinAutoscaler;
 import static io.functionmesh.compute.util.CommonUtil.getCustomLabelClaims;
 import static io.functionmesh.compute.util.CommonUtil.getExceptionInformation;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.google.gson.Gson;
 import com.google.gson.JsonSyntaxException;
 import io.functionmesh.compute.MeshWorkerService;
 import io.functionmesh.compute.functions.models.V1alpha1Function;
@@ -69,6 +68,7 @@ import io.functionmesh.compute.models.MeshWorkerServiceCustomConfig;
 import io.functionmesh.compute.models.VPAContainerPolicy;
 import io.functionmesh.compute.models.VPASpec;
 import io.functionmesh.compute.models.VPAUpdatePolicy;
+import io.functionmesh.compute.worker.PackageInspectionCache;
 import io.kubernetes.client.custom.Quantity;
 import io.kubernetes.client.openapi.models.V1LocalObjectReference;
 import io.kubernetes.client.openapi.models.V2beta2HorizontalPodAutoscalerBehavior;
@@ -321,31 +321,60 @@ public class FunctionsUtil {
         String fileName = DEFAULT_FUNCTION_EXECUTABLE;
         boolean isPkgUrlProvided = StringUtils.isNotEmpty(functionPkgUrl);
         File componentPackageFile = null;
+        PackageInspectionCache inspectionCache = worker.getPackageInspectionCache();
+        String packageKey = null;
+        String[] typeArgNames = null;
         try {
-            if (isPkgUrlProvided) {
-                if (Utils.hasPackageTypePrefix(functionPkgUrl)) {
-                    componentPackageFile = downloadPackageFile(worker, functionPkgUrl);
-                    if (CommonUtil.getFilenameFromPackageMetadata(functionPkgUrl, worker.getBrokerAdmin()) != null) {
-                        fileName = CommonUtil.getFilenameFromPackageMetadata(functionPkgUrl, worker.getBrokerAdmin());
+            try {
+                if (isPkgUrlProvided) {
+                    if (Utils.hasPackageTypePrefix(functionPkgUrl)) {
+                        packageKey = CommonUtil.getPackageInspectionKey(worker, functionPkgUrl);
+                        if (packageKey != null) {
+                            // inferring the missing arguments changes neither the class name nor the window config
+                            typeArgNames = inspectionCache.getFunctionTypeNames(packageKey,
+                                    functionConfig.getClassName(), functionConfig.getWindowConfig() != null);
+                        }
+                        if (typeArgNames == null) {
+                            componentPackageFile = downloadPackageFile(worker, functionPkgUrl);
+                        }
+                        String packageFileName = CommonUtil.getFilenameFromPackageMetadata(functionPkgUrl, worker);
+                        if (packageFileName != null) {
+                            fileName = packageFileName;
+                        }
+                    } else {
+                        log.warn("get unsupported function package url {}", functionPkgUrl);
+                        throw new IllegalArgumentException(
+                                "Function Package url is not valid. supported url (function/sink/source)");
                     }
                 } else {
-                    log.warn("get unsupported function package url {}", functionPkgUrl);
+                    // TODO: support upload JAR to bk
                     throw new IllegalArgumentException(
-                            "Function Package url is not valid. supported url (function/sink/source)");
+                            "uploading package to mesh worker service is not supported yet.");
                 }
-            } else {
-                // TODO: support upload JAR to bk
-                throw new IllegalArgumentException("uploading package to mesh worker service is not supported yet.");
+            } catch (Exception e) {
+                log.error("Invalid register function request {}", functionName, e);
+                throw new RestException(Response.Status.BAD_REQUEST, e.getMessage());
+            }
+            if (componentPackageFile != null) {
+                Class<?>[] typeArgs = extractTypeArgs(functionConfig, componentPackageFile,
+                        worker.getWorkerConfig().isForwardSourceMessageProperty());
+                typeArgNames = typeArgs == null ? new String[0]
+                        : Arrays.stream(typeArgs).map(typeArg -> typeArg == null ? null : typeArg.getName())
+                        .toArray(String[]::new);
+                if (packageKey != null) {
+                    inspectionCache.putFunctionTypeNames(packageKey, functionConfig.getClassName(),
+                            functionConfig.getWindowConfig() != null, typeArgNames);
+                }
+            } else if (typeArgNames != null) {
+                // served from the cache, infer the missing arguments like extractTypeArgs does for a loaded package
+                FunctionConfigUtils.inferMissingArguments(functionConfig,
+                        worker.getWorkerConfig().isForwardSourceMessageProperty());
+            }
+        } finally {
+            // the package is leased from the package cache, which can't evict it until it is released
+            if (componentPackageFile != null) {
+                CommonUtil.releasePackageFile(worker, componentPackageFile);
             }
-        } catch (Exception e) {
-            log.error("Invalid register function request {}", functionName, e);
-            throw new RestException(Response.Status.BAD_REQUEST, e.getMessage());
-        }
-        Class<?>[] typeArgs = null;
-        if (componentPackageFile != null) {
-            typeArgs = extractTypeArgs(functionConfig, componentPackageFile,
-                    worker.getWorkerConfig().isForwardSourceMessageProperty());
-            componentPackageFile.delete();
         }
         if (StringUtils.isNotEmpty(functionConfig.getJar())) {
             V1alpha1FunctionSpecJava v1alpha1FunctionSpecJava = new V1alpha1FunctionSpecJava();
@@ -374,12 +403,12 @@ public class FunctionsUtil {
             }
             v1alpha1FunctionSpecJava.setExtraDependenciesDir(extraDependenciesDir);
             v1alpha1FunctionSpec.setJava(v1alpha1FunctionSpecJava);
-            if (typeArgs != null) {
-                if (typeArgs.length == 2 && typeArgs[0] != null) {
-                    v1alpha1FunctionSpecInput.setTypeClassName(typeArgs[0].getName());
+            if (typeArgNames != null) {
+                if (typeArgNames.length == 2 && typeArgNames[0] != null) {
+                    v1alpha1FunctionSpecInput.setTypeClassName(typeArgNames[0]);
                 }
-                if (typeArgs.length == 2 && typeArgs[1] != null) {
-                    v1alpha1FunctionSpecOutput.setTypeClassName(typeArgs[1].getName());
+                if (typeArgNames.length == 2 && typeArgNames[1] != null) {
+                    v1alpha1FunctionSpecOutput.setTypeClassName(typeArgNames[1]);
                 }
             }
             if (CommonUtil.getRunnerImageFromConfig("JAVA", worker) != null) {
@@ -470,11 +499,15 @@ public class FunctionsUtil {
             if (fetchBuiltinAutoscaler(hpaSpec) != null) {
                 specPod.setBuiltinAutoscaler(fetchBuiltinAutoscaler(hpaSpec));
             } else {
-                if (fetchAutoScalingMetricsFromHPA(hpaSpec) != null) {
-                    specPod.setAutoScalingMetrics(fetchAutoScalingMetricsFromHPA(hpaSpec));
+                List<V1alpha1FunctionSpecPodAutoScalingMetrics> autoScalingMetrics =
+                        fetchAutoScalingMetricsFromHPA(hpaSpec);
+                if (autoScalingMetrics != null) {
+                    specPod.setAutoScalingMetrics(autoScalingMetrics);
                 }
-                if (fetchAutoScalingBehaviorFromHPA(hpaSpec) != null) {
-                    specPod.setAutoScalingBehavior(fetchAutoScalingBehaviorFromHPA(hpaSpec));
+                V1alpha1FunctionSpecPodAutoScalingBehavior autoScalingBehavior =
+                        fetchAutoScalingBehaviorFromHPA(hpaSpec);
+                if (autoScalingBehavior != null) {
+                    specPod.setAutoScalingBehavior(autoScalingBehavior);
                 }
             }
         }
@@ -855,7 +888,7 @@ public class FunctionsUtil {
         resources.setRam(memoryQuantity.getNumber().longValue());
         functionConfig.setResources(resources);
 
-        String customRuntimeOptionsJSON = new Gson().toJson(customRuntimeOptions, CustomRuntimeOptions.class);
+        String customRuntimeOptionsJSON = CommonUtil.GSON.toJson(customRuntimeOptions, CustomRuntimeOptions.class);
         functionConfig.setCustomRuntimeOptions(customRuntimeOptionsJSON);
 
         if (Strings.isNotEmpty(v1alpha1FunctionSpec.getRuntimeFlags())) {
@@ -1017,10 +1050,9 @@ public class FunctionsUtil {
 
     private static List<V1alpha1FunctionSpecPodAutoScalingMetrics> fetchAutoScalingMetricsFromHPA(HPASpec hpaSpec) {
         if (hpaSpec.getAutoScalingMetrics() != null) {
-            String autoScalingMetricsJSON = new Gson().toJson(hpaSpec.getAutoScalingMetrics());
             try {
                 return Arrays.asList(
-                        new Gson().fromJson(autoScalingMetricsJSON,
+                        CommonUtil.convertJsonModel(hpaSpec.getAutoScalingMetrics(),
                                 V1alpha1FunctionSpecPodAutoScalingMetrics[].class));
             } catch (JsonSyntaxException e) {
                 throw new IllegalArgumentException(
@@ -1033,11 +1065,9 @@ public class FunctionsUtil {
     private static List<V2beta2MetricSpec> fetchAutoScalingMetricsFromFunction(
             List<V1alpha1FunctionSpecPodAutoScalingMetrics> autoScalingMetrics) {
         if (autoScalingMetrics != null) {
-            String autoScalingMetricsJSON = new Gson().toJson(autoScalingMetrics);
             try {
                 return Arrays.asList(
-                        new Gson().fromJson(autoScalingMetricsJSON,
-                                V2beta2MetricSpec[].class));
+                        CommonUtil.convertJsonModel(autoScalingMetrics, V2beta2MetricSpec[].class));
             } catch (JsonSyntaxException e) {
                 throw new IllegalArgumentException(
                         "Error while converting autoScalingMetrics from function", e);
@@ -1048,10 +1078,9 @@ public class FunctionsUtil {
 
     private static V1alpha1FunctionSpecPodAutoScalingBehavior fetchAutoScalingBehaviorFromHPA(HPASpec hpaSpec) {
         if (hpaSpec.getAutoScalingBehavior() != null) {
-            String autoScalingBehaviorJSON = new Gson().toJson(hpaSpec.getAutoScalingBehavior());
             try {
-                return new Gson().fromJson(
-                        autoScalingBehaviorJSON, V1alpha1FunctionSpecPodAutoScalingBehavior.class);
+                return CommonUtil.convertJsonModel(hpaSpec.getAutoScalingBehavior(),
+                        V1alpha1FunctionSpecPodAutoScalingBehavior.class);
             } catch (JsonSyntaxException e) {
                 throw new IllegalArgumentException(
                         "Error while converting autoScalingBehavior from hpa config", e);
@@ -1063,10 +1092,8 @@ public class FunctionsUtil {
     private static V2beta2HorizontalPodAutoscalerBehavior fetchAutoScalingBehaviorFromFunction(
             V1alpha1FunctionSpecPodAutoScalingBehavior autoScalingBehavior) {
         if (autoScalingBehavior != null) {
-            String autoScalingBehaviorJSON = new Gson().toJson(autoScalingBehavior);
             try {
-                return new Gson().fromJson(
-                        autoScalingBehaviorJSON, V2beta2HorizontalPodAutoscalerBehavior.class);
+                return CommonUtil.convertJsonModel(autoScalingBehavior, V2beta2HorizontalPodAutoscalerBehavior.class);
             } catch (JsonSyntaxException e) {
                 throw new IllegalArgumentException(
                         "Error while converting autoScalingBehavior from function", e);
@@ -19,6 +19,10 @@
 package io.functionmesh.compute.util;
 
 import static java.net.HttpURLConnection.HTTP_CONFLICT;
+import static java.net.HttpURLConnection.HTTP_NOT_FOUND;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
 import io.functionmesh.compute.MeshWorkerService;
 import io.functionmesh.compute.models.MeshWorkerServiceCustomConfig;
 import io.kubernetes.client.common.KubernetesObject;
@@ -33,9 +37,16 @@ import io.kubernetes.client.openapi.models.V1Secret;
 import io.kubernetes.client.openapi.models.V1StatefulSet;
 import java.io.File;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.codec.digest.DigestUtils;
@@ -49,6 +60,7 @@ import org.apache.pulsar.functions.worker.WorkerConfig;
 public class KubernetesUtils {
 
     public static final long GRPC_TIMEOUT_SECS = 5;
+    public static final String ANNOTATION_SECRET_DIGEST = "compute.functionmesh.io/secret-digest";
     private static final String KUBERNETES_NAMESPACE_PATH = "/var/run/secrets/kubernetes.io/serviceaccount/namespace";
     private static final int NUM_RETRIES = 5;
     private static final long SLEEP_BETWEEN_RETRIES_MS = 500;
@@ -134,14 +146,19 @@ public class KubernetesUtils {
         String combinationName = getSecretName(cluster, tenant, namespace, name);
         String hashcode = DigestUtils.sha256Hex(combinationName);
         String secretName = getUniqueSecretName(component, type, hashcode);
+        String secretDigest = getSecretDataDigest(secretData);
         Actions.Action createAuthSecret = Actions.Action.builder()
                 .actionName(String.format("Creating secret for %s %s-%s/%s/%s",
                         type, cluster, tenant, namespace, name))
                 .numRetries(NUM_RETRIES)
                 .sleepBetweenInvocationsMs(SLEEP_BETWEEN_RETRIES_MS)
                 .supplier(() -> {
+                    if (isSecretUpToDate(coreV1Api, workerService.getJobNamespace(), secretName, secretDigest)) {
+                        return Actions.ActionResult.builder().success(true).build();
+                    }
                     V1Secret v1Secret = new V1Secret()
-                            .metadata(new V1ObjectMeta().name(secretName))
+                            .metadata(new V1ObjectMeta().name(secretName)
+                                    .putAnnotationsItem(ANNOTATION_SECRET_DIGEST, secretDigest))
                             .data(secretData);
                     try {
                         coreV1Api.createNamespacedSecret(
@@ -192,6 +209,151 @@ public class KubernetesUtils {
         return secretName;
     }
 
+    /**
+     * Returns a digest of the secret data, which is stored in the {@link #ANNOTATION_SECRET_DIGEST} annotation of the
+     * secrets written by {@link #upsertSecret} so that unchanged secrets are not written again.
+     */
+    public static String getSecretDataDigest(Map<String, byte[]> secretData) {
+        StringBuilder content = new StringBuilder();
+        if (secretData != null) {
+            new TreeMap<>(secretData).forEach((key, value) -> content.append(key).append('=')
+                    .append(DigestUtils.sha256Hex(value == null ? new byte[0] : value)).append('\n'));
+        }
+        return DigestUtils.sha256Hex(content.toString());
+    }
+
+    private static boolean isSecretUpToDate(CoreV1Api coreV1Api, String namespace, String secretName,
+                                            String secretDigest) {
+        try {
+            V1Secret existingSecret = coreV1Api.readNamespacedSecret(secretName, namespace, null, null, null);
+            return existingSecret != null && existingSecret.getMetadata() != null
+                    && existingSecret.getMetadata().getAnnotations() != null
+                    && secretDigest.equals(existingSecret.getMetadata().getAnnotations().get(ANNOTATION_SECRET_DIGEST));
+        } catch (ApiException e) {
+            if (e.getCode() != HTTP_NOT_FOUND) {
+                log.warn("Failed to read secret {}/{}, it will be written again", namespace, secretName, e);
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Create a JSON merge patch (RFC 7386) that turns the source document into the target document. Objects are
+     * compared field by field, fields missing from the target are removed with null and any other changed value,
+     * including arrays, is replaced as a whole.
+     *
+     * @return the patch, or null if the documents are equal
+     */
+    public static JsonElement createMergePatch(JsonElement source, JsonElement target) {
+        if (Objects.equals(source, target)) {
+            return null;
+        }
+        if (target == null) {
+            return JsonNull.INSTANCE;
+        }
+        if (source == null || !source.isJsonObject() || !target.isJsonObject()) {
+            return target;
+        }
+        JsonObject sourceObject = source.getAsJsonObject();
+        JsonObject targetObject = target.getAsJsonObject();
+        JsonObject patch = new JsonObject();
+        for (Map.Entry<String, JsonElement> entry : sourceObject.entrySet()) {
+            if (!targetObject.has(entry.getKey())) {
+                patch.add(entry.getKey(), JsonNull.INSTANCE);
+            }
+        }
+        for (Map.Entry<String, JsonElement> entry : targetObject.entrySet()) {
+            JsonElement fieldPatch = createMergePatch(sourceObject.get(entry.getKey()), entry.getValue());
+            if (fieldPatch != null) {
+                patch.add(entry.getKey(), fieldPatch);
+            }
+        }
+        return patch;
+    }
+
+    /**
+     * Apply a JSON merge patch (RFC 7386) to a document, see {@link #createMergePatch}. The document is not modified.
+     *
+     * @return the patched document
+     */
+    public static JsonElement applyMergePatch(JsonElement target, JsonElement patch) {
+        if (patch == null || !patch.isJsonObject()) {
+            return patch;
+        }
+        JsonObject result = target != null && target.isJsonObject()
+                ? target.getAsJsonObject().deepCopy() : new JsonObject();
+        for (Map.Entry<String, JsonElement> entry : patch.getAsJsonObject().entrySet()) {
+            if (entry.getValue().isJsonNull()) {
+                result.remove(entry.getKey());
+            } else {
+                result.add(entry.getKey(), applyMergePatch(result.get(entry.getKey()), entry.getValue()));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns whether a label selector only has equality-based requirements ("a=b", "a==b", "a!=b" and "a"),
+     * which {@link #matchesLabelSelector} can evaluate.
+     */
+    public static boolean isEqualityLabelSelector(String selector) {
+        return StringUtils.isNotBlank(selector) && !selector.contains("(");
+    }
+
+    /**
+     * Returns whether the labels match an equality-based label selector, see {@link #isEqualityLabelSelector}.
+     */
+    public static boolean matchesLabelSelector(String selector, Map<String, String> labels) {
+        Map<String, String> podLabels = labels != null ? labels : Collections.emptyMap();
+        for (String requirement : getLabelSelectorRequirements(selector)) {
+            int index = requirement.indexOf('=');
+            if (index < 0) {
+                if (requirement.startsWith("!")) {
+                    if (podLabels.containsKey(requirement.substring(1).trim())) {
+                        return false;
+                    }
+                } else if (!podLabels.containsKey(requirement)) {
+                    return false;
+                }
+                continue;
+            }
+            boolean negated = index > 0 && requirement.charAt(index - 1) == '!';
+            String key = requirement.substring(0, negated ? index - 1 : index).trim();
+            String value = requirement.substring(requirement.startsWith("==", index) ? index + 2 : index + 1).trim();
+            if (negated == value.equals(podLabels.get(key))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the requirements all the selectors share, to list the objects matching any of them with one request,
+     * or null if they share none.
+     */
+    public static String getCommonLabelSelector(Collection<String> selectors) {
+        Set<String> common = null;
+        for (String selector : selectors) {
+            Set<String> requirements = new LinkedHashSet<>(getLabelSelectorRequirements(selector));
+            if (common == null) {
+                common = requirements;
+            } else {
+                common.retainAll(requirements);
+            }
+        }
+        return common == null || common.isEmpty() ? null : String.join(",", common);
+    }
+
+    private static List<String> getLabelSelectorRequirements(String selector) {
+        List<String> requirements = new ArrayList<>();
+        for (String requirement : StringUtils.split(StringUtils.defaultString(selector), ',')) {
+            if (StringUtils.isNotBlank(requirement)) {
+                requirements.add(requirement.trim());
+            }
+        }
+        return requirements;
+    }
+
     public static String getServiceUrl(String podName, String subdomain, String jobNamespace) {
         return String.format("%s.%s.%s.svc.cluster.local", podName, subdomain, jobNamespace);
     }
@@ -25,14 +25,19 @@ import static io.functionmesh.compute.models.PackageMetadataProperties.PROPERTY_
 import static io.functionmesh.compute.models.PackageMetadataProperties.PROPERTY_MANAGED_BY_MESH_WORKER_SERVICE;
 import static io.functionmesh.compute.models.PackageMetadataProperties.PROPERTY_NAMESPACE;
 import static io.functionmesh.compute.models.PackageMetadataProperties.PROPERTY_TENANT;
+import io.functionmesh.compute.MeshWorkerService;
+import io.functionmesh.compute.worker.PackageMetadataCache;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.pulsar.client.admin.PulsarAdmin;
@@ -48,6 +53,7 @@ public class PackageManagementServiceUtil {
     public static final String PACKAGE_TYPE_FUNCTION = "function";
     public static final String PACKAGE_TYPE_SINK = "sink";
     public static final String PACKAGE_TYPE_SOURCE = "source";
+    private static final int UPLOAD_BUFFER_SIZE = 64 * 1024;
 
     private static String generatePackageURL(final String type,
                                              final String tenant,
@@ -56,7 +62,7 @@ public class PackageManagementServiceUtil {
         return String.format("%s://%s/%s/%s", type, tenant, namespace, functionName);
     }
 
-    public static String uploadPackageToPackageService(PulsarAdmin admin,
+    public static String uploadPackageToPackageService(MeshWorkerService worker,
                                                        final String type,
                                                        final String tenant,
                                                        final String namespace,
@@ -64,53 +70,72 @@ public class PackageManagementServiceUtil {
                                                        final InputStream uploadedInputStream,
                                                        final FormDataContentDisposition fileDetail,
                                                        String tempDirectory) throws Exception {
+        PulsarAdmin admin = worker.getBrokerAdmin();
         Path tempDirectoryPath = Paths.get(tempDirectory);
         if (Files.notExists(tempDirectoryPath)) {
             Files.createDirectories(tempDirectoryPath);
         }
         Path filePath = Files.createTempFile(tempDirectoryPath,
                 RandomStringUtils.random(5, true, true).toLowerCase(), fileDetail.getFileName());
-        FileUtils.copyInputStreamToFile(uploadedInputStream, filePath.toFile());
-        uploadedInputStream.close();
-
-        String packageName = generatePackageURL(type, tenant, namespace, functionName);
         try {
-            log.info("Try to overwrite the function file if it is already exists at '{}'.", packageName);
-            deletePackageFromPackageService(admin, type, tenant, namespace, functionName);
-        } catch (Exception ex) {
-            log.warn("Overwriting function package '{}' failed", packageName, ex);
+            // compute the checksum and size while the uploaded bytes are written to disk, instead of reading the
+            // file again
+            CRC32 crc32 = new CRC32();
+            long fileSize;
+            try (InputStream checkedInputStream = new CheckedInputStream(uploadedInputStream, crc32);
+                 OutputStream fileOutputStream = Files.newOutputStream(filePath)) {
+                fileSize = IOUtils.copyLarge(checkedInputStream, fileOutputStream, new byte[UPLOAD_BUFFER_SIZE]);
+            }
+
+            String packageName = generatePackageURL(type, tenant, namespace, functionName);
+            String checksum = Long.toString(crc32.getValue());
+            PackageMetadata existingPackageMetadata = getPackageMetadata(admin, packageName);
+            if (isSamePackage(existingPackageMetadata, fileDetail.getFileName(), fileSize, checksum)) {
+                log.info("Package '{}' is unchanged, skip uploading it again", packageName);
+                updatePackageMetadataCache(worker, packageName, existingPackageMetadata);
+                return packageName;
+            }
+            if (isManagedPackage(existingPackageMetadata)) {
+                try {
+                    log.info("Try to overwrite the function file if it is already exists at '{}'.", packageName);
+                    updatePackageMetadataCache(worker, packageName, null);
+                    admin.packages().delete(packageName);
+                } catch (Exception ex) {
+                    log.warn("Overwriting function package '{}' failed", packageName, ex);
+                }
+            }
+            PackageMetadata packageMetadata = new PackageMetadata();
+            packageMetadata.setContact(MESH_WORKER_SERVICE_PACKAGE_CONTACT);
+            packageMetadata.setDescription("mesh-worker-service created for " + packageName);
+            Map<String, String> properties = new HashMap<>();
+            properties.put(PROPERTY_TENANT, tenant);
+            properties.put(PROPERTY_NAMESPACE, namespace);
+            properties.put(PROPERTY_FUNCTION_NAME, functionName);
+            properties.put(PROPERTY_FILE_NAME, fileDetail.getFileName());
+            properties.put(PROPERTY_FILE_SIZE, Long.toString(fileSize));
+            properties.put(PROPERTY_CHECKSUM, checksum);
+            properties.put(PROPERTY_MANAGED_BY_MESH_WORKER_SERVICE, String.valueOf(true));
+            packageMetadata.setProperties(properties);
+            admin.packages().upload(packageMetadata, packageName, filePath.toString());
+            log.info("upload file {} to package service {} successfully", filePath, packageName);
+            updatePackageMetadataCache(worker, packageName, packageMetadata);
+            return packageName;
+        } finally {
+            Files.deleteIfExists(filePath);
         }
-        PackageMetadata packageMetadata = new PackageMetadata();
-        packageMetadata.setContact(MESH_WORKER_SERVICE_PACKAGE_CONTACT);
-        packageMetadata.setDescription("mesh-worker-service created for " + packageName);
-        Map<String, String> properties = new HashMap<>();
-        properties.put(PROPERTY_TENANT, tenant);
-        properties.put(PROPERTY_NAMESPACE, namespace);
-        properties.put(PROPERTY_FUNCTION_NAME, functionName);
-        properties.put(PROPERTY_FILE_NAME, fileDetail.getFileName());
-        properties.put(PROPERTY_FILE_SIZE, Long.toString(filePath.toFile().length()));
-        long checksum = FileUtils.checksumCRC32(filePath.toFile());
-        properties.put(PROPERTY_CHECKSUM, Long.toString(checksum));
-        properties.put(PROPERTY_MANAGED_BY_MESH_WORKER_SERVICE, String.valueOf(true));
-        packageMetadata.setProperties(properties);
-        admin.packages().upload(packageMetadata, packageName, filePath.toString());
-        log.info("upload file {} to package service {} successfully", filePath, packageName);
-        Files.deleteIfExists(filePath);
-        return packageName;
     }
 
-    public static void deletePackageFromPackageService(PulsarAdmin admin,
+    public static void deletePackageFromPackageService(MeshWorkerService worker,
                                                        final String type,
                                                        final String tenant,
                                                        final String namespace,
                                                        final String functionName) {
         String packageName = generatePackageURL(type, tenant, namespace, functionName);
+        PulsarAdmin admin = worker.getBrokerAdmin();
         try {
             PackageMetadata packageMetadata = admin.packages().getMetadata(packageName);
-            if (packageMetadata != null && packageMetadata.getProperties().containsKey(PROPERTY_FILE_NAME) &&
-                    StringUtils.isNotEmpty(packageMetadata.getProperties().get(PROPERTY_FILE_NAME)) &&
-                    StringUtils.isNotEmpty(packageMetadata.getContact()) &&
-                    packageMetadata.getContact().equals(MESH_WORKER_SERVICE_PACKAGE_CONTACT)) {
+            if (isManagedPackage(packageMetadata)) {
+                updatePackageMetadataCache(worker, packageName, null);
                 admin.packages().delete(packageName);
             }
         } catch (PulsarAdminException.NotFoundException ex) {
@@ -120,6 +145,47 @@ public class PackageManagementServiceUtil {
         }
     }
 
+    private static void updatePackageMetadataCache(MeshWorkerService worker, String packageName,
+                                                   PackageMetadata packageMetadata) {
+        PackageMetadataCache packageMetadataCache = worker.getPackageMetadataCache();
+        if (packageMetadataCache == null) {
+            return;
+        }
+        if (packageMetadata != null) {
+            packageMetadataCache.put(packageName, packageMetadata);
+        } else {
+            packageMetadataCache.invalidate(packageName);
+        }
+    }
+
+    private static PackageMetadata getPackageMetadata(PulsarAdmin admin, String packageName) {
+        try {
+            return admin.packages().getMetadata(packageName);
+        } catch (PulsarAdminException.NotFoundException ex) {
+            return null;
+        } catch (Exception ex) {
+            log.warn("Get function package '{}' metadata failed", packageName, ex);
+            return null;
+        }
+    }
+
+    private static boolean isManagedPackage(PackageMetadata packageMetadata) {
+        return packageMetadata != null && packageMetadata.getProperties() != null
+                && StringUtils.isNotEmpty(packageMetadata.getProperties().get(PROPERTY_FILE_NAME))
+                && MESH_WORKER_SERVICE_PACKAGE_CONTACT.equals(packageMetadata.getContact());
+    }
+
+    private static boolean isSamePackage(PackageMetadata packageMetadata, String fileName, long fileSize,
+                                         String checksum) {
+        if (!isManagedPackage(packageMetadata)) {
+            return false;
+        }
+        Map<String, String> properties = packageMetadata.getProperties();
+        return checksum.equals(properties.get(PROPERTY_CHECKSUM))
+                && Long.toString(fileSize).equals(properties.get(PROPERTY_FILE_SIZE))
+                && StringUtils.equals(fileName, properties.get(PROPERTY_FILE_NAME));
+    }
+
     public static String getPackageTypeFromComponentType(Function.FunctionDetails.ComponentType componentType) {
         switch (componentType) {
             case FUNCTION:
@@ -34,7 +34,6 @@ import static io.functionmesh.compute.util.CommonUtil.getCustomLabelClaims;
 import static io.functionmesh.compute.util.CommonUtil.getExceptionInformation;
 import static org.apache.pulsar.common.functions.Utils.BUILTIN;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.google.gson.Gson;
 import com.google.gson.JsonSyntaxException;
 import io.functionmesh.compute.MeshWorkerService;
 import io.functionmesh.compute.models.CustomRuntimeOptions;
@@ -63,6 +62,7 @@ import io.functionmesh.compute.sinks.models.V1alpha1SinkSpecPodVpaUpdatePolicy;
 import io.functionmesh.compute.sinks.models.V1alpha1SinkSpecPulsar;
 import io.functionmesh.compute.sinks.models.V1alpha1SinkSpecSecretsMap;
 import io.functionmesh.compute.worker.MeshConnectorsManager;
+import io.functionmesh.compute.worker.PackageInspectionCache;
 import io.kubernetes.client.custom.Quantity;
 import io.kubernetes.client.openapi.models.V1LocalObjectReference;
 import io.kubernetes.client.openapi.models.V2beta2HorizontalPodAutoscalerBehavior;
@@ -427,11 +427,14 @@ public class SinksUtil {
             if (fetchBuiltinAutoscaler(hpaSpec) != null) {
                 specPod.setBuiltinAutoscaler(fetchBuiltinAutoscaler(hpaSpec));
             } else {
-                if (fetchAutoScalingMetricsFromHPA(hpaSpec) != null) {
-                    specPod.setAutoScalingMetrics(fetchAutoScalingMetricsFromHPA(hpaSpec));
+                List<V1alpha1SinkSpecPodAutoScalingMetrics> autoScalingMetrics =
+                        fetchAutoScalingMetricsFromHPA(hpaSpec);
+                if (autoScalingMetrics != null) {
+                    specPod.setAutoScalingMetrics(autoScalingMetrics);
                 }
-                if (fetchAutoScalingBehaviorFromHPA(hpaSpec) != null) {
-                    specPod.setAutoScalingBehavior(fetchAutoScalingBehaviorFromHPA(hpaSpec));
+                V1alpha1SinkSpecPodAutoScalingBehavior autoScalingBehavior = fetchAutoScalingBehaviorFromHPA(hpaSpec);
+                if (autoScalingBehavior != null) {
+                    specPod.setAutoScalingBehavior(autoScalingBehavior);
                 }
             }
         }
@@ -485,7 +488,16 @@ public class SinksUtil {
                 v1alpha1SinkSpecInput.getTypeClassName() == "[B") {
             boolean isPkgUrlProvided = StringUtils.isNotEmpty(sinkPkgUrl);
             File componentPackageFile;
-            if (isPkgUrlProvided) {
+            PackageInspectionCache inspectionCache = worker.getPackageInspectionCache();
+            String packageKey = isPkgUrlProvided ? CommonUtil.getPackageInspectionKey(worker, sinkPkgUrl) : null;
+            PackageInspectionCache.ConnectorClasses connectorClasses = packageKey != null
+                    ? inspectionCache.getConnectorClasses(packageKey, Function.FunctionDetails.ComponentType.SINK)
+                    : null;
+            if (connectorClasses != null) {
+                inferredClassName = connectorClasses.getClassName();
+                v1alpha1SinkSpec.setClassName(inferredClassName);
+                v1alpha1SinkSpecInput.setTypeClassName(connectorClasses.getTypeClassName());
+            } else if (isPkgUrlProvided) {
                 try {
                     if (Utils.hasPackageTypePrefix(sinkPkgUrl)) {
                         componentPackageFile = downloadPackageFile(worker, sinkPkgUrl);
@@ -510,11 +522,17 @@ public class SinksUtil {
                             Class sinkClass = clsLoader.loadClass(inferredClassName);
                             Class<?> typeArg = TypeResolver.resolveRawArgument(Sink.class, sinkClass);
                             v1alpha1SinkSpecInput.setTypeClassName(typeArg.getName());
+                            if (packageKey != null) {
+                                inspectionCache.putConnectorClasses(packageKey,
+                                        Function.FunctionDetails.ComponentType.SINK,
+                                        new PackageInspectionCache.ConnectorClasses(inferredClassName,
+                                                typeArg.getName()));
+                            }
                         }
                     } catch (Exception e) {
                         log.warn("Failed to infer sink class name or type class name: {}", sinkName);
                     } finally {
-                        componentPackageFile.delete();
+                        CommonUtil.releasePackageFile(worker, componentPackageFile);
                     }
                 }
             }
@@ -725,7 +743,7 @@ public class SinksUtil {
         resources.setRam(memoryQuantity.getNumber().longValue());
         sinkConfig.setResources(resources);
 
-        String customRuntimeOptionsJSON = new Gson().toJson(customRuntimeOptions, CustomRuntimeOptions.class);
+        String customRuntimeOptionsJSON = CommonUtil.GSON.toJson(customRuntimeOptions, CustomRuntimeOptions.class);
         sinkConfig.setCustomRuntimeOptions(customRuntimeOptionsJSON);
 
         if (Strings.isNotEmpty(v1alpha1SinkSpec.getRuntimeFlags())) {
@@ -853,10 +871,9 @@ public class SinksUtil {
 
     private static List<V1alpha1SinkSpecPodAutoScalingMetrics> fetchAutoScalingMetricsFromHPA(HPASpec hpaSpec) {
         if (hpaSpec.getAutoScalingMetrics() != null) {
-            String autoScalingMetricsJSON = new Gson().toJson(hpaSpec.getAutoScalingMetrics());
             try {
                 return Arrays.asList(
-                        new Gson().fromJson(autoScalingMetricsJSON,
+                        CommonUtil.convertJsonModel(hpaSpec.getAutoScalingMetrics(),
                                 V1alpha1SinkSpecPodAutoScalingMetrics[].class));
             } catch (JsonSyntaxException e) {
                 throw new IllegalArgumentException(
@@ -869,11 +886,9 @@ public class SinksUtil {
     private static List<V2beta2MetricSpec> fetchAutoScalingMetricsFromSink(
             List<V1alpha1SinkSpecPodAutoScalingMetrics> autoScalingMetrics) {
         if (autoScalingMetrics != null) {
-            String autoScalingMetricsJSON = new Gson().toJson(autoScalingMetrics);
             try {
                 return Arrays.asList(
-                        new Gson().fromJson(autoScalingMetricsJSON,
-                                V2beta2MetricSpec[].class));
+                        CommonUtil.convertJsonModel(autoScalingMetrics, V2beta2MetricSpec[].class));
             } catch (JsonSyntaxException e) {
                 throw new IllegalArgumentException(
                         "Error while converting autoScalingMetrics from sink", e);
@@ -884,10 +899,9 @@ public class SinksUtil {
 
     private static V1alpha1SinkSpecPodAutoScalingBehavior fetchAutoScalingBehaviorFromHPA(HPASpec hpaSpec) {
         if (hpaSpec.getAutoScalingBehavior() != null) {
-            String autoScalingBehaviorJSON = new Gson().toJson(hpaSpec.getAutoScalingBehavior());
             try {
-                return new Gson().fromJson(
-                        autoScalingBehaviorJSON, V1alpha1SinkSpecPodAutoScalingBehavior.class);
+                return CommonUtil.convertJsonModel(hpaSpec.getAutoScalingBehavior(),
+                        V1alpha1SinkSpecPodAutoScalingBehavior.class);
             } catch (JsonSyntaxException e) {
                 throw new IllegalArgumentException(
                         "Error while converting autoScalingBehavior from hpa config", e);
@@ -899,10 +913,8 @@ public class SinksUtil {
     private static V2beta2HorizontalPodAutoscalerBehavior fetchAutoScalingBehaviorFromSink(
             V1alpha1SinkSpecPodAutoScalingBehavior autoScalingBehavior) {
         if (autoScalingBehavior != null) {
-            String autoScalingBehaviorJSON = new Gson().toJson(autoScalingBehavior);
             try {
-                return new Gson().fromJson(
-                        autoScalingBehaviorJSON, V2beta2HorizontalPodAutoscalerBehavior.class);
+                return CommonUtil.convertJsonModel(autoScalingBehavior, V2beta2HorizontalPodAutoscalerBehavior.class);
             } catch (JsonSyntaxException e) {
                 throw new IllegalArgumentException(
                         "Error while converting autoScalingBehavior from sink", e);
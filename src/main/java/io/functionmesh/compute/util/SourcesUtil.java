@@ -33,7 +33,6 @@ import static io.functionmesh.compute.util.CommonUtil.fetchBuiltinAutoscaler;
 import static io.functionmesh.compute.util.CommonUtil.getCustomLabelClaims;
 import static org.apache.pulsar.common.functions.Utils.BUILTIN;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.google.gson.Gson;
 import com.google.gson.JsonSyntaxException;
 import io.functionmesh.compute.MeshWorkerService;
 import io.functionmesh.compute.models.CustomRuntimeOptions;
@@ -63,6 +62,7 @@ import io.functionmesh.compute.sources.models.V1alpha1SourceSpecPodVpaUpdatePoli
 import io.functionmesh.compute.sources.models.V1alpha1SourceSpecPulsar;
 import io.functionmesh.compute.sources.models.V1alpha1SourceSpecSecretsMap;
 import io.functionmesh.compute.worker.MeshConnectorsManager;
+import io.functionmesh.compute.worker.PackageInspectionCache;
 import io.kubernetes.client.custom.Quantity;
 import io.kubernetes.client.openapi.models.V1LocalObjectReference;
 import io.kubernetes.client.openapi.models.V2beta2HorizontalPodAutoscalerBehavior;
@@ -385,11 +385,14 @@ public class SourcesUtil {
             if (fetchBuiltinAutoscaler(hpaSpec) != null) {
                 specPod.setBuiltinAutoscaler(fetchBuiltinAutoscaler(hpaSpec));
             } else {
-                if (fetchAutoScalingMetricsFromHPA(hpaSpec) != null) {
-                    specPod.setAutoScalingMetrics(fetchAutoScalingMetricsFromHPA(hpaSpec));
+                List<V1alpha1SourceSpecPodAutoScalingMetrics> autoScalingMetrics =
+                        fetchAutoScalingMetricsFromHPA(hpaSpec);
+                if (autoScalingMetrics != null) {
+                    specPod.setAutoScalingMetrics(autoScalingMetrics);
                 }
-                if (fetchAutoScalingBehaviorFromHPA(hpaSpec) != null) {
-                    specPod.setAutoScalingBehavior(fetchAutoScalingBehaviorFromHPA(hpaSpec));
+                V1alpha1SourceSpecPodAutoScalingBehavior autoScalingBehavior = fetchAutoScalingBehaviorFromHPA(hpaSpec);
+                if (autoScalingBehavior != null) {
+                    specPod.setAutoScalingBehavior(autoScalingBehavior);
                 }
             }
         }
@@ -453,7 +456,16 @@ public class SourcesUtil {
                 v1alpha1SourceSpecOutput.getTypeClassName() == "[B") {
             boolean isPkgUrlProvided = StringUtils.isNotEmpty(sourcePkgUrl);
             File componentPackageFile;
-            if (isPkgUrlProvided) {
+            PackageInspectionCache inspectionCache = worker.getPackageInspectionCache();
+            String packageKey = isPkgUrlProvided ? CommonUtil.getPackageInspectionKey(worker, sourcePkgUrl) : null;
+            PackageInspectionCache.ConnectorClasses connectorClasses = packageKey != null
+                    ? inspectionCache.getConnectorClasses(packageKey, Function.FunctionDetails.ComponentType.SOURCE)
+                    : null;
+            if (connectorClasses != null) {
+                inferredClassName = connectorClasses.getClassName();
+                v1alpha1SourceSpec.setClassName(inferredClassName);
+                v1alpha1SourceSpecOutput.setTypeClassName(connectorClasses.getTypeClassName());
+            } else if (isPkgUrlProvided) {
                 try {
                     if (Utils.hasPackageTypePrefix(sourcePkgUrl)) {
                         componentPackageFile = downloadPackageFile(worker, sourcePkgUrl);
@@ -478,11 +490,17 @@ public class SourcesUtil {
                             Class sourceClass = clsLoader.loadClass(inferredClassName);
                             Class<?> typeArg = TypeResolver.resolveRawArgument(Source.class, sourceClass);
                             v1alpha1SourceSpecOutput.setTypeClassName(typeArg.getName());
+                            if (packageKey != null) {
+                                inspectionCache.putConnectorClasses(packageKey,
+                                        Function.FunctionDetails.ComponentType.SOURCE,
+                                        new PackageInspectionCache.ConnectorClasses(inferredClassName,
+                                                typeArg.getName()));
+                            }
                         }
                     } catch (Exception e) {
                         log.warn("Failed to infer source class name or type class name: {}", sourceName);
                     } finally {
-                        componentPackageFile.delete();
+                        CommonUtil.releasePackageFile(worker, componentPackageFile);
                     }
                 }
             }
@@ -642,7 +660,7 @@ public class SourcesUtil {
         resources.setRam(memoryQuantity.getNumber().longValue());
         sourceConfig.setResources(resources);
 
-        String customRuntimeOptionsJSON = new Gson().toJson(customRuntimeOptions, CustomRuntimeOptions.class);
+        String customRuntimeOptionsJSON = CommonUtil.GSON.toJson(customRuntimeOptions, CustomRuntimeOptions.class);
         sourceConfig.setCustomRuntimeOptions(customRuntimeOptionsJSON);
 
         if (Strings.isNotEmpty(v1alpha1SourceSpec.getRuntimeFlags())) {
@@ -784,10 +802,9 @@ public class SourcesUtil {
 
     private static List<V1alpha1SourceSpecPodAutoScalingMetrics> fetchAutoScalingMetricsFromHPA(HPASpec hpaSpec) {
         if (hpaSpec.getAutoScalingMetrics() != null) {
-            String autoScalingMetricsJSON = new Gson().toJson(hpaSpec.getAutoScalingMetrics());
             try {
                 return Arrays.asList(
-                        new Gson().fromJson(autoScalingMetricsJSON,
+                        CommonUtil.convertJsonModel(hpaSpec.getAutoScalingMetrics(),
                                 V1alpha1SourceSpecPodAutoScalingMetrics[].class));
             } catch (JsonSyntaxException e) {
                 throw new IllegalArgumentException(
@@ -800,11 +817,9 @@ public class SourcesUtil {
     private static List<V2beta2MetricSpec> fetchAutoScalingMetricsFromSource(
             List<V1alpha1SourceSpecPodAutoScalingMetrics> autoScalingMetrics) {
         if (autoScalingMetrics != null) {
-            String autoScalingMetricsJSON = new Gson().toJson(autoScalingMetrics);
             try {
                 return Arrays.asList(
-                        new Gson().fromJson(autoScalingMetricsJSON,
-                                V2beta2MetricSpec[].class));
+                        CommonUtil.convertJsonModel(autoScalingMetrics, V2beta2MetricSpec[].class));
             } catch (JsonSyntaxException e) {
                 throw new IllegalArgumentException(
                         "Error while converting autoScalingMetrics from source", e);
@@ -815,10 +830,9 @@ public class SourcesUtil {
 
     private static V1alpha1SourceSpecPodAutoScalingBehavior fetchAutoScalingBehaviorFromHPA(HPASpec hpaSpec) {
         if (hpaSpec.getAutoScalingBehavior() != null) {
-            String autoScalingBehaviorJSON = new Gson().toJson(hpaSpec.getAutoScalingBehavior());
             try {
-                return new Gson().fromJson(
-                        autoScalingBehaviorJSON, V1alpha1SourceSpecPodAutoScalingBehavior.class);
+                return CommonUtil.convertJsonModel(hpaSpec.getAutoScalingBehavior(),
+                        V1alpha1SourceSpecPodAutoScalingBehavior.class);
             } catch (JsonSyntaxException e) {
                 throw new IllegalArgumentException(
                         "Error while converting autoScalingBehavior from hpa config", e);
@@ -830,10 +844,8 @@ public class SourcesUtil {
     private static V2beta2HorizontalPodAutoscalerBehavior fetchAutoScalingBehaviorFromSource(
             V1alpha1SourceSpecPodAutoScalingBehavior autoScalingBehavior) {
         if (autoScalingBehavior != null) {
-            String autoScalingBehaviorJSON = new Gson().toJson(autoScalingBehavior);
             try {
-                return new Gson().fromJson(
-                        autoScalingBehaviorJSON, V2beta2HorizontalPodAutoscalerBehavior.class);
+                return CommonUtil.convertJsonModel(autoScalingBehavior, V2beta2HorizontalPodAutoscalerBehavior.class);
             } catch (JsonSyntaxException e) {
                 throw new IllegalArgumentException(
                         "Error while converting autoScalingBehavior from source", e);
@@ -0,0 +1,204 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.functionmesh.compute.worker;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.apache.pulsar.common.util.SimpleTextOutputStream;
+
+/**
+ * Limits the requests the worker sends to the Kubernetes API server, installed as an interceptor of the shared
+ * {@link io.kubernetes.client.openapi.ApiClient}. A request first takes a token from a bucket refilled at a fixed
+ * rate, then waits until fewer requests than the concurrency limit are in flight.
+ *
+ * <p>The concurrency limit is adapted to the API server: it grows by one per limit of successful responses and is
+ * halved when the API server throttles the worker with a 429. A 429 also pauses all requests for its Retry-After and
+ * the throttled request is sent again, up to a number of retries. A request waiting longer than the acquire timeout
+ * fails, so the worker sheds load instead of queueing without bound. Watches are not limited.
+ */
+@Slf4j
+public class ApiServerRateLimiter implements Interceptor {
+    static final int HTTP_TOO_MANY_REQUESTS = 429;
+    static final long DEFAULT_RETRY_AFTER_MS = 1000;
+
+    private final double qps;
+    private final double burst;
+    private final int minConcurrency;
+    private final int maxConcurrency;
+    private final long acquireTimeoutMs;
+    private final int maxRetries;
+
+    // the token bucket, the pause and the concurrency limit are guarded by this
+    private double tokens;
+    private long lastRefillNanos;
+    private long pausedUntilNanos;
+    private double concurrencyLimit;
+    private int inFlight;
+    private int waiting;
+
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public ApiServerRateLimiter(double qps, int burst, int minConcurrency, int maxConcurrency, long acquireTimeoutMs,
+                                int maxRetries) {
+        this.qps = qps;
+        this.burst = Math.max(burst, 1);
+        this.minConcurrency = Math.max(minConcurrency, 1);
+        this.maxConcurrency = Math.max(maxConcurrency, this.minConcurrency);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.maxRetries = maxRetries;
+        this.tokens = this.burst;
+        this.lastRefillNanos = System.nanoTime();
+        this.pausedUntilNanos = lastRefillNanos;
+        this.concurrencyLimit = this.maxConcurrency;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if ("true".equals(request.url().queryParameter("watch"))) {
+            return chain.proceed(request);
+        }
+        for (int attempt = 0; ; attempt++) {
+            acquire();
+            Response response;
+            try {
+                response = chain.proceed(request);
+            } catch (IOException | RuntimeException e) {
+                release(false, 0);
+                throw e;
+            }
+            if (response.code() != HTTP_TOO_MANY_REQUESTS) {
+                release(false, 0);
+                return response;
+            }
+            long retryAfterMs = getRetryAfterMs(response);
+            release(true, retryAfterMs);
+            throttled.increment();
+            if (attempt >= maxRetries) {
+                return response;
+            }
+            log.warn("Throttled by the Kubernetes API server, retrying {} {} in {} ms",
+                    request.method(), request.url().encodedPath(), retryAfterMs);
+            response.close();
+        }
+    }
+
+    static long getRetryAfterMs(Response response) {
+        // the API server sends the delay in seconds, the HTTP date form is not used by it
+        long seconds = NumberUtils.toLong(response.header("Retry-After"), -1);
+        return seconds >= 0 ? TimeUnit.SECONDS.toMillis(seconds) : DEFAULT_RETRY_AFTER_MS;
+    }
+
+    synchronized void acquire() throws IOException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(acquireTimeoutMs);
+        waiting++;
+        try {
+            while (true) {
+                long now = System.nanoTime();
+                long waitNanos;
+                if (now - pausedUntilNanos < 0) {
+                    waitNanos = pausedUntilNanos - now;
+                } else if (inFlight >= (int) concurrencyLimit) {
+                    // woken up by a release
+                    waitNanos = Long.MAX_VALUE;
+                } else {
+                    refill(now);
+                    if (tokens >= 1) {
+                        tokens -= 1;
+                        inFlight++;
+                        return;
+                    }
+                    waitNanos = (long) Math.ceil((1 - tokens) / qps * TimeUnit.SECONDS.toNanos(1));
+                }
+                long remaining = deadline - now;
+                if (remaining <= 0) {
+                    rejected.increment();
+                    throw new IOException("Timed out waiting to send a request to the Kubernetes API server, "
+                            + inFlight + " requests in flight and " + waiting + " waiting");
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, Math.min(waitNanos, remaining));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting to send a request to the Kubernetes API server");
+        } finally {
+            waiting--;
+        }
+    }
+
+    synchronized void release(boolean throttled, long retryAfterMs) {
+        inFlight--;
+        long now = System.nanoTime();
+        if (throttled) {
+            // the requests in flight when the API server started throttling decrease the limit only once
+            if (now - pausedUntilNanos >= 0) {
+                concurrencyLimit = Math.max(minConcurrency, concurrencyLimit / 2);
+                log.warn("Throttled by the Kubernetes API server, decreasing the concurrency limit to {}",
+                        (int) concurrencyLimit);
+            }
+            pausedUntilNanos = Math.max(pausedUntilNanos - now, TimeUnit.MILLISECONDS.toNanos(retryAfterMs)) + now;
+        } else if (concurrencyLimit < maxConcurrency) {
+            concurrencyLimit = Math.min(maxConcurrency, concurrencyLimit + 1 / concurrencyLimit);
+        }
+        notifyAll();
+    }
+
+    private void refill(long now) {
+        if (qps <= 0) {
+            // no rate limit, only the concurrency limit
+            tokens = burst;
+            return;
+        }
+        tokens = Math.min(burst, tokens + (now - lastRefillNanos) * qps / TimeUnit.SECONDS.toNanos(1));
+        lastRefillNanos = now;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized int getWaiting() {
+        return waiting;
+    }
+
+    public synchronized int getConcurrencyLimit() {
+        return (int) concurrencyLimit;
+    }
+
+    public void writeMetrics(SimpleTextOutputStream out) {
+        out.write("# TYPE pulsar_function_worker_api_server_requests_in_flight gauge\n");
+        out.write("pulsar_function_worker_api_server_requests_in_flight ").write(getInFlight()).write('\n');
+        out.write("# TYPE pulsar_function_worker_api_server_requests_waiting gauge\n");
+        out.write("pulsar_function_worker_api_server_requests_waiting ").write(getWaiting()).write('\n');
+        out.write("# TYPE pulsar_function_worker_api_server_concurrency_limit gauge\n");
+        out.write("pulsar_function_worker_api_server_concurrency_limit ").write(getConcurrencyLimit()).write('\n');
+        out.write("# TYPE pulsar_function_worker_api_server_throttled_total counter\n");
+        out.write("pulsar_function_worker_api_server_throttled_total ").write(throttled.sum()).write('\n');
+        out.write("# TYPE pulsar_function_worker_api_server_rejected_total counter\n");
+        out.write("pulsar_function_worker_api_server_rejected_total ").write(rejected.sum()).write('\n');
+    }
+}
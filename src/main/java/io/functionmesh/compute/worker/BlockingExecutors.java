@@ -0,0 +1,161 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.functionmesh.compute.worker;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Creates the executors which run blocking Kubernetes and Pulsar admin calls, on a fixed pool of platform threads or
+ * on a virtual thread per task. The virtual thread API is looked up reflectively, so the worker still builds for and
+ * runs on JDKs without it and falls back to platform threads there.
+ *
+ * <p>Both kinds run at most maxConcurrency tasks at the same time, the calls also reach the broker, which no other
+ * limit protects. A virtual thread waits for its turn instead of a queued task, so the worker holds no platform
+ * thread for a waiting or sleeping call. The calls of the REST requests still run on the threads of the web server,
+ * the REST resources are served by the broker and the worker service can't make them asynchronous.
+ */
+@Slf4j
+public final class BlockingExecutors {
+
+    public enum Mode {
+        PLATFORM,
+        VIRTUAL;
+
+        public static Mode fromString(String mode) {
+            try {
+                return Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException | NullPointerException e) {
+                throw new IllegalArgumentException("Invalid blocking executor mode: " + mode, e);
+            }
+        }
+    }
+
+    private BlockingExecutors() {
+    }
+
+    /**
+     * Create an executor running at most maxConcurrency tasks at the same time.
+     *
+     * @param nameFormat the thread name format, like "function-mesh-worker-service-cleanup-topic-%d"
+     */
+    public static ExecutorService newExecutor(Mode mode, String nameFormat, int maxConcurrency) {
+        if (mode == Mode.VIRTUAL) {
+            ThreadFactory factory = newVirtualThreadFactory(nameFormat.replace("%d", ""));
+            if (factory != null) {
+                return new BoundedThreadPerTaskExecutor(newThreadPerTaskExecutor(factory), maxConcurrency);
+            }
+            log.warn("Virtual threads are not supported by this JVM, falling back to platform threads for {}",
+                    nameFormat);
+        }
+        return Executors.newFixedThreadPool(maxConcurrency,
+                new ThreadFactoryBuilder().setNameFormat(nameFormat).build());
+    }
+
+    // Thread.ofVirtual().name(prefix, 0).factory(), only available on JDK 21 or later
+    private static ThreadFactory newVirtualThreadFactory(String prefix) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder$OfVirtual");
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static ExecutorService newThreadPerTaskExecutor(ThreadFactory factory) {
+        try {
+            Method method = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return (ExecutorService) method.invoke(null, factory);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to create a thread per task executor", e);
+        }
+    }
+
+    /**
+     * Starts a thread per task and bounds how many of them run the task at the same time. The waiting is done by the
+     * started thread, which is cheap for a virtual thread, so the caller never blocks and nothing is queued.
+     */
+    static class BoundedThreadPerTaskExecutor extends AbstractExecutorService {
+        private final ExecutorService delegate;
+        private final Semaphore permits;
+
+        BoundedThreadPerTaskExecutor(ExecutorService delegate, int maxConcurrency) {
+            this.delegate = delegate;
+            this.permits = new Semaphore(maxConcurrency);
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            delegate.execute(() -> {
+                boolean acquired = false;
+                try {
+                    permits.acquire();
+                    acquired = true;
+                } catch (InterruptedException e) {
+                    // shutting down, still run the task with the interrupt flag set so the caller of a future
+                    // submitted to this executor is completed rather than left waiting
+                    Thread.currentThread().interrupt();
+                }
+                try {
+                    command.run();
+                } finally {
+                    if (acquired) {
+                        permits.release();
+                    }
+                }
+            });
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return delegate.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return delegate.awaitTermination(timeout, unit);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.functionmesh.compute.worker;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.apache.pulsar.functions.proto.Function;
+
+/**
+ * Describes the cleanup left to do after a function/connector resource was deleted: its input subscriptions, uploaded
+ * package and auth/TLS secrets. It only holds plain values, so it can be queued and run later.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ComponentCleanup {
+    private Function.FunctionDetails.ComponentType componentType;
+    private String clusterName;
+    private String tenant;
+    private String namespace;
+    private String name;
+    private String hashName;
+    // the uid of the deleted resource, a resource registered again under the same name has another one
+    private String uid;
+    private boolean cleanupSubscription;
+    private String subscriptionName;
+    private List<String> topics;
+    private String topicPattern;
+    // when the cleanup was last handed to a queue, a journaled cleanup is only resumed once it is stale
+    private long scheduledAtMs;
+    // how many times the cleanup was resumed from the journal after it failed or its worker stopped
+    private int resumeAttempts;
+
+    public String getKey() {
+        return getKey(componentType, tenant, namespace, name);
+    }
+
+    public static String getKey(Function.FunctionDetails.ComponentType componentType, String tenant,
+                                String namespace, String name) {
+        return componentType + "/" + tenant + "/" + namespace + "/" + name;
+    }
+}
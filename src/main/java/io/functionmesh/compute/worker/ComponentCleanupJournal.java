@@ -0,0 +1,164 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.functionmesh.compute.worker;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import io.functionmesh.compute.util.CommonUtil;
+import io.kubernetes.client.custom.V1Patch;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.openapi.models.V1ConfigMap;
+import io.kubernetes.client.openapi.models.V1ConfigMapList;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import io.kubernetes.client.util.generic.GenericKubernetesApi;
+import io.kubernetes.client.util.generic.KubernetesApiResponse;
+import io.kubernetes.client.util.generic.options.PatchOptions;
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pulsar.functions.proto.Function;
+
+/**
+ * Persists the queued cleanups in a ConfigMap of the job namespace, so the cleanups which were not done when a worker
+ * stopped can be resumed by the {@link ComponentCleanupReconciler} of any worker.
+ *
+ * <p>Every cleanup is stored as JSON under its own key, and entries are added and removed with a JSON merge patch of
+ * that key only, so workers never overwrite each other's entries.
+ */
+@Slf4j
+public class ComponentCleanupJournal {
+    private final GenericKubernetesApi<V1ConfigMap, V1ConfigMapList> configMapApi;
+    private final String namespace;
+    private final String configMapName;
+
+    public ComponentCleanupJournal(ApiClient apiClient, String namespace, String configMapName) {
+        this(new GenericKubernetesApi<>(V1ConfigMap.class, V1ConfigMapList.class, "", "v1", "configmaps", apiClient),
+                namespace, configMapName);
+    }
+
+    @VisibleForTesting
+    ComponentCleanupJournal(GenericKubernetesApi<V1ConfigMap, V1ConfigMapList> configMapApi, String namespace,
+                            String configMapName) {
+        this.configMapApi = configMapApi;
+        this.namespace = namespace;
+        this.configMapName = configMapName;
+    }
+
+    /**
+     * The ConfigMap key of a cleanup, the hash name is already a valid key and unique per component type.
+     */
+    public static String getEntryKey(ComponentCleanup cleanup) {
+        return getEntryKey(cleanup.getComponentType(), cleanup.getHashName());
+    }
+
+    public static String getEntryKey(Function.FunctionDetails.ComponentType componentType, String hashName) {
+        return componentType.name().toLowerCase() + "." + hashName;
+    }
+
+    public void record(ComponentCleanup cleanup) throws ApiException {
+        String entryKey = getEntryKey(cleanup);
+        String entry = CommonUtil.GSON.toJson(cleanup);
+        JsonObject data = new JsonObject();
+        data.addProperty(entryKey, entry);
+        KubernetesApiResponse<V1ConfigMap> response = patchData(data);
+        if (response.getHttpStatusCode() == HttpURLConnection.HTTP_NOT_FOUND) {
+            V1ConfigMap configMap = new V1ConfigMap()
+                    .metadata(new V1ObjectMeta().name(configMapName).namespace(namespace))
+                    .data(Collections.singletonMap(entryKey, entry));
+            response = configMapApi.create(configMap);
+            if (response.getHttpStatusCode() == HttpURLConnection.HTTP_CONFLICT) {
+                // created by another worker in the meantime
+                response = patchData(data);
+            }
+        }
+        checkResponse(response, "record cleanup " + entryKey);
+    }
+
+    public void remove(ComponentCleanup cleanup) throws ApiException {
+        String entryKey = getEntryKey(cleanup);
+        JsonObject data = new JsonObject();
+        data.add(entryKey, JsonNull.INSTANCE);
+        KubernetesApiResponse<V1ConfigMap> response = patchData(data);
+        if (response.getHttpStatusCode() != HttpURLConnection.HTTP_NOT_FOUND) {
+            checkResponse(response, "remove cleanup " + entryKey);
+        }
+    }
+
+    public List<ComponentCleanup> list() throws ApiException {
+        Map<String, String> data = readData();
+        List<ComponentCleanup> cleanups = new ArrayList<>(data.size());
+        for (Map.Entry<String, String> entry : data.entrySet()) {
+            ComponentCleanup cleanup = parseEntry(entry.getKey(), entry.getValue());
+            if (cleanup != null) {
+                cleanups.add(cleanup);
+            }
+        }
+        return cleanups;
+    }
+
+    /**
+     * Returns the journaled cleanup of a component, or null if there is none.
+     */
+    public ComponentCleanup get(Function.FunctionDetails.ComponentType componentType, String hashName)
+            throws ApiException {
+        String entryKey = getEntryKey(componentType, hashName);
+        String entry = readData().get(entryKey);
+        return entry == null ? null : parseEntry(entryKey, entry);
+    }
+
+    private Map<String, String> readData() throws ApiException {
+        KubernetesApiResponse<V1ConfigMap> response = configMapApi.get(namespace, configMapName);
+        if (response.getHttpStatusCode() == HttpURLConnection.HTTP_NOT_FOUND) {
+            return Collections.emptyMap();
+        }
+        checkResponse(response, "read cleanups");
+        Map<String, String> data = response.getObject().getData();
+        return data == null ? Collections.emptyMap() : data;
+    }
+
+    private ComponentCleanup parseEntry(String entryKey, String entry) {
+        try {
+            return CommonUtil.GSON.fromJson(entry, ComponentCleanup.class);
+        } catch (JsonParseException e) {
+            log.warn("Skip invalid cleanup {} in {}/{}", entryKey, namespace, configMapName, e);
+            return null;
+        }
+    }
+
+    private KubernetesApiResponse<V1ConfigMap> patchData(JsonObject data) {
+        JsonObject patch = new JsonObject();
+        patch.add("data", data);
+        return configMapApi.patch(namespace, configMapName, V1Patch.PATCH_FORMAT_JSON_MERGE_PATCH,
+                new V1Patch(patch.toString()), new PatchOptions());
+    }
+
+    private void checkResponse(KubernetesApiResponse<V1ConfigMap> response, String operation) throws ApiException {
+        if (!response.isSuccess()) {
+            String message = response.getStatus() != null ? response.getStatus().getMessage() : null;
+            throw new ApiException(response.getHttpStatusCode(),
+                    String.format("Failed to %s in %s/%s: %s", operation, namespace, configMapName, message));
+        }
+    }
+}
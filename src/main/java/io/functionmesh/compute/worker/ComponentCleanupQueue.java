@@ -0,0 +1,251 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.functionmesh.compute.worker;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.kubernetes.client.openapi.ApiException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pulsar.common.util.SimpleTextOutputStream;
+import org.apache.pulsar.functions.proto.Function;
+
+/**
+ * Runs the cleanup of deregistered functions/connectors in background, so a deregister request returns as soon as the
+ * resource is deleted. The number of running and queued cleanups is bounded, and the subscriptions of a component
+ * are deleted in parallel on a separate pool, see {@link #getTopicExecutor()}.
+ *
+ * <p>The state of every queued cleanup is tracked by its {@link ComponentCleanup#getKey() key} until it succeeds,
+ * failed cleanups are kept for {@link #FAILED_RETENTION_MS} so they can be reported. With a
+ * {@link ComponentCleanupJournal} the queued cleanups are also persisted until they succeed.
+ */
+@Slf4j
+public class ComponentCleanupQueue {
+    static final long FAILED_RETENTION_MS = TimeUnit.HOURS.toMillis(1);
+
+    private final ThreadPoolExecutor executor;
+    private final ExecutorService topicExecutor;
+    private final ComponentCleanupJournal journal;
+    private final Map<String, CleanupStatus> statuses = new ConcurrentHashMap<>();
+
+    public enum State {
+        PENDING,
+        RUNNING,
+        FAILED
+    }
+
+    @Value
+    public static class CleanupStatus {
+        ComponentCleanup cleanup;
+        State state;
+        String error;
+        long updatedAtMs;
+    }
+
+    public interface CleanupHandler {
+        void cleanup(ComponentCleanup cleanup) throws Exception;
+    }
+
+    public ComponentCleanupQueue(int concurrency, int maxPending, int topicParallelism) {
+        this(concurrency, maxPending, topicParallelism, null);
+    }
+
+    public ComponentCleanupQueue(int concurrency, int maxPending, int topicParallelism,
+                                 ComponentCleanupJournal journal) {
+        this(concurrency, maxPending, topicParallelism, journal, BlockingExecutors.Mode.PLATFORM);
+    }
+
+    /**
+     * @param topicExecutorMode the threads of the topic pool, the subscriptions are deleted with blocking admin
+     *                          calls which are retried with a sleep in between
+     */
+    public ComponentCleanupQueue(int concurrency, int maxPending, int topicParallelism,
+                                 ComponentCleanupJournal journal, BlockingExecutors.Mode topicExecutorMode) {
+        this.journal = journal;
+        this.executor = new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxPending),
+                new ThreadFactoryBuilder().setNameFormat("function-mesh-worker-service-cleanup-%d").build());
+        this.topicExecutor = BlockingExecutors.newExecutor(topicExecutorMode,
+                "function-mesh-worker-service-cleanup-topic-%d", topicParallelism);
+    }
+
+    /**
+     * Queue a cleanup.
+     *
+     * @return false if the queue is full or closed, the caller should then run the cleanup itself
+     */
+    public boolean submit(ComponentCleanup cleanup, CleanupHandler handler) {
+        pruneFailed();
+        String key = cleanup.getKey();
+        if (executor.getQueue().remainingCapacity() == 0) {
+            log.warn("Cleanup queue is full, the cleanup of {} is not queued", key);
+            return false;
+        }
+        cleanup.setScheduledAtMs(System.currentTimeMillis());
+        statuses.put(key, new CleanupStatus(cleanup, State.PENDING, null, cleanup.getScheduledAtMs()));
+        // persist before queueing, so a cleanup is never running without being journaled
+        journal(cleanup, true);
+        try {
+            executor.execute(() -> run(cleanup, handler));
+            return true;
+        } catch (RejectedExecutionException e) {
+            statuses.remove(key);
+            journal(cleanup, false);
+            log.warn("Cleanup queue is full, the cleanup of {} is not queued", key);
+            return false;
+        }
+    }
+
+    private void run(ComponentCleanup cleanup, CleanupHandler handler) {
+        String key = cleanup.getKey();
+        statuses.put(key, new CleanupStatus(cleanup, State.RUNNING, null, System.currentTimeMillis()));
+        try {
+            handler.cleanup(cleanup);
+            // under the lock of the cleanup, so refreshJournal can't record it again once it is removed
+            synchronized (cleanup) {
+                journal(cleanup, false);
+                statuses.remove(key);
+            }
+            log.info("Cleaned up {}", key);
+        } catch (Throwable e) {
+            log.error("Failed to clean up {}", key, e);
+            statuses.put(key, new CleanupStatus(cleanup, State.FAILED, e.getMessage(), System.currentTimeMillis()));
+        }
+    }
+
+    private void journal(ComponentCleanup cleanup, boolean record) {
+        if (journal == null) {
+            return;
+        }
+        try {
+            if (record) {
+                journal.record(cleanup);
+            } else {
+                journal.remove(cleanup);
+            }
+        } catch (Exception e) {
+            // the journal only matters if the worker stops, don't fail the cleanup because of it
+            log.warn("Failed to {} the cleanup of {} in the journal", record ? "record" : "remove",
+                    cleanup.getKey(), e);
+        }
+    }
+
+    /**
+     * Returns whether the cleanup of a component is queued or running.
+     */
+    public boolean isPending(String key) {
+        CleanupStatus status = statuses.get(key);
+        return status != null && status.getState() != State.FAILED;
+    }
+
+    /**
+     * Makes way for a component registered again under the name of a deleted one. Returns false while the cleanup of
+     * the deleted one is queued or running on this worker, or was scheduled or refreshed by any worker within the
+     * grace period. Otherwise a failed or abandoned cleanup is dropped, so it is never resumed against the new
+     * component.
+     */
+    public boolean discardStaleCleanup(Function.FunctionDetails.ComponentType componentType, String tenant,
+                                       String namespace, String name, String hashName, long graceMs)
+            throws ApiException {
+        String key = ComponentCleanup.getKey(componentType, tenant, namespace, name);
+        if (isPending(key)) {
+            return false;
+        }
+        if (journal != null) {
+            ComponentCleanup journaled = journal.get(componentType, hashName);
+            if (journaled != null) {
+                if (System.currentTimeMillis() - journaled.getScheduledAtMs() < graceMs) {
+                    return false;
+                }
+                log.info("Dropping the abandoned cleanup of {}, it is registered again", key);
+                journal.remove(journaled);
+            }
+        }
+        statuses.remove(key);
+        return true;
+    }
+
+    /**
+     * Refreshes the journal entries of the cleanups queued or running on this worker, so the reconcilers of the other
+     * workers don't resume a cleanup which is slow rather than abandoned.
+     */
+    public void refreshJournal() {
+        if (journal == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (CleanupStatus status : statuses.values()) {
+            ComponentCleanup cleanup = status.getCleanup();
+            synchronized (cleanup) {
+                // the status read above may be stale, only refresh a cleanup which is still queued or running
+                CleanupStatus current = statuses.get(cleanup.getKey());
+                if (current != null && current.getCleanup() == cleanup && current.getState() != State.FAILED) {
+                    cleanup.setScheduledAtMs(now);
+                    journal(cleanup, true);
+                }
+            }
+        }
+    }
+
+    public Map<String, CleanupStatus> getStatuses() {
+        pruneFailed();
+        return Collections.unmodifiableMap(new HashMap<>(statuses));
+    }
+
+    /**
+     * The pool to delete the subscriptions of the topics of a component in parallel on. It is separate from the
+     * cleanup pool, so a cleanup never waits for a thread it holds itself.
+     */
+    public ExecutorService getTopicExecutor() {
+        return topicExecutor;
+    }
+
+    public void writeMetrics(SimpleTextOutputStream out) {
+        Map<State, Integer> counts = new HashMap<>();
+        for (CleanupStatus status : getStatuses().values()) {
+            counts.merge(status.getState(), 1, Integer::sum);
+        }
+        out.write("# TYPE pulsar_function_worker_component_cleanups gauge\n");
+        for (State state : State.values()) {
+            out.write("pulsar_function_worker_component_cleanups{state=\"").write(state.name().toLowerCase())
+                    .write("\"} ").write(counts.getOrDefault(state, 0)).write('\n');
+        }
+    }
+
+    public void close() {
+        executor.shutdownNow();
+        topicExecutor.shutdownNow();
+    }
+
+    @VisibleForTesting
+    void pruneFailed() {
+        long now = System.currentTimeMillis();
+        statuses.values().removeIf(status -> status.getState() == State.FAILED
+                && now - status.getUpdatedAtMs() > FAILED_RETENTION_MS);
+    }
+}
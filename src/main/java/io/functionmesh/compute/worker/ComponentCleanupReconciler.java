@@ -0,0 +1,112 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.functionmesh.compute.worker;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Periodically resumes the journaled cleanups which are not queued on this worker and were not scheduled within the
+ * grace period, e.g. the cleanups of a worker which stopped or the cleanups which failed. They are resumed through
+ * the {@link ComponentCleanupQueue}, which bounds how many of them run at the same time.
+ *
+ * <p>Every worker runs a reconciler. Each round it first refreshes the entries of the cleanups queued or running on
+ * its own worker, so a slow cleanup is not resumed by another worker while it runs, the grace period must therefore
+ * be well above the interval. Resuming a cleanup schedules it again, so the other workers leave it alone for another
+ * grace period. A cleanup is resumed at most a number of times before it is dropped from the journal, and the
+ * handler must check that the component was not registered again under the same name before it cleans up, see
+ * {@link ComponentCleanup#getUid()}.
+ */
+@Slf4j
+public class ComponentCleanupReconciler {
+    private final ComponentCleanupJournal journal;
+    private final ComponentCleanupQueue queue;
+    private final ComponentCleanupQueue.CleanupHandler handler;
+    private final long intervalSeconds;
+    private final long graceMs;
+    private final int maxResumeAttempts;
+    private final ScheduledExecutorService reconcileExecutor =
+            Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                    .setNameFormat("function-mesh-worker-service-cleanup-reconciler-%d")
+                    .build());
+
+    public ComponentCleanupReconciler(ComponentCleanupJournal journal, ComponentCleanupQueue queue,
+                                      ComponentCleanupQueue.CleanupHandler handler, long intervalSeconds,
+                                      long graceSeconds, int maxResumeAttempts) {
+        this.journal = journal;
+        this.queue = queue;
+        this.handler = handler;
+        this.intervalSeconds = intervalSeconds;
+        this.graceMs = TimeUnit.SECONDS.toMillis(graceSeconds);
+        this.maxResumeAttempts = maxResumeAttempts;
+    }
+
+    public void start() {
+        reconcileExecutor.scheduleWithFixedDelay(this::reconcile, intervalSeconds, intervalSeconds,
+                TimeUnit.SECONDS);
+    }
+
+    @VisibleForTesting
+    int reconcile() {
+        queue.refreshJournal();
+        List<ComponentCleanup> cleanups;
+        try {
+            cleanups = journal.list();
+        } catch (Exception e) {
+            log.warn("Failed to list the journaled cleanups", e);
+            return 0;
+        }
+        long now = System.currentTimeMillis();
+        int resumed = 0;
+        for (ComponentCleanup cleanup : cleanups) {
+            if (queue.isPending(cleanup.getKey()) || now - cleanup.getScheduledAtMs() < graceMs) {
+                continue;
+            }
+            if (cleanup.getResumeAttempts() >= maxResumeAttempts) {
+                log.error("Giving up the cleanup of {} after {} attempts, its subscriptions, package and secrets "
+                        + "may need to be removed by hand", cleanup.getKey(), cleanup.getResumeAttempts() + 1);
+                try {
+                    journal.remove(cleanup);
+                } catch (Exception e) {
+                    log.warn("Failed to remove the cleanup of {} from the journal", cleanup.getKey(), e);
+                }
+                continue;
+            }
+            cleanup.setResumeAttempts(cleanup.getResumeAttempts() + 1);
+            if (!queue.submit(cleanup, handler)) {
+                // the queue is full, try the rest in the next round
+                break;
+            }
+            resumed++;
+        }
+        if (resumed > 0) {
+            log.info("Resumed {} of {} journaled cleanups", resumed, cleanups.size());
+        }
+        return resumed;
+    }
+
+    public void close() {
+        reconcileExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,179 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.functionmesh.compute.worker;
+
+import static io.functionmesh.compute.util.CommonUtil.COMPONENT_FUNCTION;
+import static io.functionmesh.compute.util.CommonUtil.COMPONENT_SINK;
+import static io.functionmesh.compute.util.CommonUtil.COMPONENT_SOURCE;
+import io.functionmesh.compute.util.CommonUtil;
+import io.kubernetes.client.openapi.models.V1Pod;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.ToDoubleFunction;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.pulsar.common.util.SimpleTextOutputStream;
+import org.apache.pulsar.functions.proto.InstanceCommunication.MetricsData;
+
+/**
+ * Writes the metrics of function/connector instances polled by {@link InstanceStatusPoller} in the Prometheus text
+ * format.
+ */
+public class FunctionsStatsGenerator {
+    private static final String[] COMPONENT_TYPES = {COMPONENT_FUNCTION, COMPONENT_SINK, COMPONENT_SOURCE};
+
+    public static void generate(Collection<InstanceStatusPoller.Snapshot> snapshots, SimpleTextOutputStream out) {
+        for (String componentType : COMPONENT_TYPES) {
+            writeMetric(out, snapshots, componentType, "received_total", MetricsData::getReceivedTotal);
+            writeMetric(out, snapshots, componentType, "received_total_1min", MetricsData::getReceivedTotal1Min);
+            writeMetric(out, snapshots, componentType, "processed_successfully_total",
+                    MetricsData::getProcessedSuccessfullyTotal);
+            writeMetric(out, snapshots, componentType, "processed_successfully_total_1min",
+                    MetricsData::getProcessedSuccessfullyTotal1Min);
+            writeMetric(out, snapshots, componentType, "system_exceptions_total",
+                    MetricsData::getSystemExceptionsTotal);
+            writeMetric(out, snapshots, componentType, "system_exceptions_total_1min",
+                    MetricsData::getSystemExceptionsTotal1Min);
+            writeMetric(out, snapshots, componentType, "user_exceptions_total", MetricsData::getUserExceptionsTotal);
+            writeMetric(out, snapshots, componentType, "user_exceptions_total_1min",
+                    MetricsData::getUserExceptionsTotal1Min);
+            writeMetric(out, snapshots, componentType, "process_latency_ms", MetricsData::getAvgProcessLatency);
+            writeMetric(out, snapshots, componentType, "process_latency_ms_1min",
+                    MetricsData::getAvgProcessLatency1Min);
+            writeMetric(out, snapshots, componentType, "last_invocation", MetricsData::getLastInvocation);
+        }
+        for (String componentType : COMPONENT_TYPES) {
+            // the samples of a metric family must be written together, so the names of all instances are collected
+            // first, different user metric names may also map to the same metric name
+            Set<String> userMetricNames = new TreeSet<>();
+            for (InstanceStatusPoller.Snapshot snapshot : snapshots) {
+                if (componentType.equals(snapshot.getComponentType()) && hasMetrics(snapshot)) {
+                    for (String userMetricName : snapshot.getMetricsData().getUserMetricsMap().keySet()) {
+                        userMetricNames.add(toMetricName(userMetricName));
+                    }
+                }
+            }
+            for (String userMetricName : userMetricNames) {
+                writeUserMetric(out, snapshots, componentType, userMetricName);
+            }
+        }
+    }
+
+    /**
+     * Builds the Prometheus labels of an instance from the pod labels, or returns null if the pod is not labeled
+     * with the pulsar cluster, tenant, namespace and component name.
+     */
+    public static String buildMetricsLabels(V1Pod pod) {
+        if (pod == null || pod.getMetadata() == null || pod.getMetadata().getLabels() == null) {
+            return null;
+        }
+        Map<String, String> labels = pod.getMetadata().getLabels();
+        String cluster = getLabel(labels, CommonUtil.CLUSTER_LABEL_CLAIM, CommonUtil.CLUSTER_LABEL_CLAIM_DEPRECATED);
+        String tenant = getLabel(labels, CommonUtil.TENANT_LABEL_CLAIM, CommonUtil.TENANT_LABEL_CLAIM_DEPRECATED);
+        String namespace =
+                getLabel(labels, CommonUtil.NAMESPACE_LABEL_CLAIM, CommonUtil.NAMESPACE_LABEL_CLAIM_DEPRECATED);
+        String name = getLabel(labels, CommonUtil.COMPONENT_LABEL_CLAIM, CommonUtil.COMPONENT_LABEL_CLAIM_DEPRECATED);
+        int shardId = CommonUtil.getShardIdFromPodName(pod.getMetadata().getName());
+        if (StringUtils.isAnyEmpty(cluster, tenant, namespace, name) || shardId == -1) {
+            return null;
+        }
+        return String.format("cluster=\"%s\",tenant=\"%s\",namespace=\"%s/%s\",name=\"%s\",instance_id=\"%d\","
+                + "fqfn=\"%s/%s/%s\"", cluster, tenant, tenant, namespace, name, shardId, tenant, namespace, name);
+    }
+
+    /**
+     * Returns the component type from the name of a pod created by the statefulset
+     * "{@code <name>-<componentType>}", or null if it is not a function/connector pod.
+     */
+    public static String getComponentType(String podName) {
+        if (StringUtils.isEmpty(podName) || podName.lastIndexOf('-') <= 0) {
+            return null;
+        }
+        String jobName = podName.substring(0, podName.lastIndexOf('-'));
+        for (String componentType : COMPONENT_TYPES) {
+            if (jobName.endsWith("-" + componentType)) {
+                return componentType;
+            }
+        }
+        return null;
+    }
+
+    private static void writeMetric(SimpleTextOutputStream out, Collection<InstanceStatusPoller.Snapshot> snapshots,
+                                    String componentType, String name, ToDoubleFunction<MetricsData> value) {
+        boolean typeWritten = false;
+        for (InstanceStatusPoller.Snapshot snapshot : snapshots) {
+            if (!componentType.equals(snapshot.getComponentType()) || !hasMetrics(snapshot)) {
+                continue;
+            }
+            if (!typeWritten) {
+                out.write("# TYPE pulsar_").write(componentType).write('_').write(name).write(" gauge\n");
+                typeWritten = true;
+            }
+            out.write("pulsar_").write(componentType).write('_').write(name)
+                    .write('{').write(snapshot.getMetricsLabels()).write("} ")
+                    .write(value.applyAsDouble(snapshot.getMetricsData())).write('\n');
+        }
+    }
+
+    private static void writeUserMetric(SimpleTextOutputStream out,
+                                        Collection<InstanceStatusPoller.Snapshot> snapshots,
+                                        String componentType, String name) {
+        boolean typeWritten = false;
+        for (InstanceStatusPoller.Snapshot snapshot : snapshots) {
+            if (!componentType.equals(snapshot.getComponentType()) || !hasMetrics(snapshot)) {
+                continue;
+            }
+            for (Map.Entry<String, Double> userMetric : snapshot.getMetricsData().getUserMetricsMap().entrySet()) {
+                if (userMetric.getValue().isNaN() || !name.equals(toMetricName(userMetric.getKey()))) {
+                    continue;
+                }
+                if (!typeWritten) {
+                    out.write("# TYPE pulsar_").write(componentType).write("_user_metric_").write(name)
+                            .write(" gauge\n");
+                    typeWritten = true;
+                }
+                out.write("pulsar_").write(componentType).write("_user_metric_").write(name)
+                        .write('{').write(snapshot.getMetricsLabels()).write("} ").write(userMetric.getValue())
+                        .write('\n');
+            }
+        }
+    }
+
+    private static boolean hasMetrics(InstanceStatusPoller.Snapshot snapshot) {
+        return snapshot.getComponentType() != null && snapshot.getMetricsLabels() != null
+                && snapshot.getMetricsData() != null;
+    }
+
+    private static String toMetricName(String name) {
+        StringBuilder metricName = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            boolean valid = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_' || c == ':'
+                    || (c >= '0' && c <= '9');
+            metricName.append(valid ? c : '_');
+        }
+        return metricName.toString();
+    }
+
+    private static String getLabel(Map<String, String> labels, String key, String deprecatedKey) {
+        String value = labels.get(key);
+        return StringUtils.isNotEmpty(value) ? value : labels.get(deprecatedKey);
+    }
+}
@@ -0,0 +1,169 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.functionmesh.compute.worker;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import lombok.AllArgsConstructor;
+
+/**
+ * Bounds the number of gRPC calls to function/connector instances in flight across all requests, a call over the
+ * limit waits until another one completes. It never blocks a thread, waiting calls are started by the completion of
+ * an earlier call. A call is rejected when too many calls are waiting already, and fails with a
+ * {@link TimeoutException} when it waited longer than the wait timeout.
+ */
+public class InstanceCallLimiter {
+    private final int maxConcurrency;
+    private final int maxWaiting;
+    private final long maxWaitNanos;
+    // starts the waiting calls, so a chain of calls failing right away doesn't recurse on one stack
+    private final Executor startExecutor;
+    private final Queue<Waiter> waiting = new ArrayDeque<>();
+    private int inFlight;
+
+    @AllArgsConstructor
+    private static class Waiter {
+        private final Runnable start;
+        private final CompletableFuture<?> result;
+        private final long enqueuedNanos;
+    }
+
+    /**
+     * Create a limiter where calls wait without a bound.
+     */
+    public InstanceCallLimiter(int maxConcurrency) {
+        this(maxConcurrency, Integer.MAX_VALUE, Long.MAX_VALUE);
+    }
+
+    public InstanceCallLimiter(int maxConcurrency, int maxWaiting, long maxWaitMs) {
+        this(maxConcurrency, maxWaiting, maxWaitMs, ForkJoinPool.commonPool());
+    }
+
+    InstanceCallLimiter(int maxConcurrency, int maxWaiting, long maxWaitMs, Executor startExecutor) {
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.maxWaiting = Math.max(0, maxWaiting);
+        this.maxWaitNanos = maxWaitMs == Long.MAX_VALUE ? Long.MAX_VALUE : TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        this.startExecutor = startExecutor;
+    }
+
+    public <T> CompletableFuture<T> execute(Supplier<CompletableFuture<T>> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Runnable start = () -> {
+            CompletableFuture<T> future;
+            try {
+                future = call.get();
+            } catch (Throwable e) {
+                future = new CompletableFuture<>();
+                future.completeExceptionally(e);
+            }
+            future.whenComplete((value, e) -> {
+                release();
+                if (e != null) {
+                    result.completeExceptionally(e);
+                } else {
+                    result.complete(value);
+                }
+            });
+        };
+        List<Waiter> expired = null;
+        boolean started = false;
+        boolean rejected = false;
+        synchronized (this) {
+            if (inFlight < maxConcurrency) {
+                inFlight++;
+                started = true;
+            } else {
+                expired = pollExpired();
+                if (waiting.size() >= maxWaiting) {
+                    rejected = true;
+                } else {
+                    waiting.add(new Waiter(start, result, System.nanoTime()));
+                }
+            }
+        }
+        failExpired(expired);
+        if (rejected) {
+            result.completeExceptionally(new RejectedExecutionException(
+                    "Too many instance calls are waiting, max waiting: " + maxWaiting));
+        } else if (started) {
+            start.run();
+        }
+        return result;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized int getWaiting() {
+        return waiting.size();
+    }
+
+    private void release() {
+        Waiter next;
+        List<Waiter> expired;
+        synchronized (this) {
+            expired = pollExpired();
+            next = waiting.poll();
+            if (next == null) {
+                inFlight--;
+            }
+        }
+        failExpired(expired);
+        if (next != null) {
+            // the permit passes to the next call
+            startExecutor.execute(next.start);
+        }
+    }
+
+    // the waiters are in arrival order, so the expired ones are at the head of the queue
+    private List<Waiter> pollExpired() {
+        if (maxWaitNanos == Long.MAX_VALUE) {
+            return null;
+        }
+        List<Waiter> expired = null;
+        long now = System.nanoTime();
+        while (!waiting.isEmpty() && now - waiting.peek().enqueuedNanos > maxWaitNanos) {
+            if (expired == null) {
+                expired = new ArrayList<>();
+            }
+            expired.add(waiting.poll());
+        }
+        return expired;
+    }
+
+    private void failExpired(List<Waiter> expired) {
+        if (expired == null) {
+            return;
+        }
+        for (Waiter waiter : expired) {
+            waiter.result.completeExceptionally(new TimeoutException(
+                    "Instance call waited longer than " + TimeUnit.NANOSECONDS.toMillis(maxWaitNanos) + " ms"));
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.functionmesh.compute.worker;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListener;
+import io.functionmesh.compute.util.KubernetesUtils;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Status;
+import io.kubernetes.client.openapi.models.V1ContainerStatus;
+import io.kubernetes.client.openapi.models.V1Pod;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A pool of gRPC channels to the instance control service of function/connector pods, keyed by the pod service
+ * address. A pooled channel is replaced when the pod is recreated or its container restarts, or when a call on it
+ * fails because the instance could not be reached.
+ *
+ * <p>Every channel returned by {@link #getChannel} must be handed back with {@link #release} once its call completed.
+ * A channel removed from the pool is only shut down after the calls of all its holders completed.
+ */
+@Slf4j
+public class InstanceControlChannelPool {
+    public static final int INSTANCE_CONTROL_PORT = 9093;
+
+    private final Cache<String, PooledChannel> channels;
+    // the channels handed out and not released yet, including the ones removed from the pool since
+    private final Map<ManagedChannel, PooledChannel> leased = new IdentityHashMap<>();
+
+    private static class PooledChannel {
+        private final ManagedChannel channel;
+        private final String podUid;
+        private final Integer restartCount;
+        private int references;
+        private boolean removed;
+
+        private PooledChannel(ManagedChannel channel, String podUid, Integer restartCount) {
+            this.channel = channel;
+            this.podUid = podUid;
+            this.restartCount = restartCount;
+        }
+    }
+
+    public InstanceControlChannelPool(long maxSize, long idleTimeoutSeconds) {
+        this.channels = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(idleTimeoutSeconds, TimeUnit.SECONDS)
+                .removalListener((RemovalListener<String, PooledChannel>) notification -> {
+                    log.debug("removing channel to {}, cause: {}", notification.getKey(), notification.getCause());
+                    onRemoval(notification.getValue());
+                })
+                .build();
+    }
+
+    public static ManagedChannel newChannel(String address) {
+        return ManagedChannelBuilder.forAddress(address, INSTANCE_CONTROL_PORT)
+                .usePlaintext()
+                .build();
+    }
+
+    public synchronized ManagedChannel getChannel(V1Pod pod, String address) {
+        String podUid = pod != null && pod.getMetadata() != null ? pod.getMetadata().getUid() : null;
+        V1ContainerStatus containerStatus = KubernetesUtils.extractDefaultContainerStatus(pod);
+        Integer restartCount = containerStatus != null ? containerStatus.getRestartCount() : null;
+        PooledChannel pooled = channels.getIfPresent(address);
+        if (pooled != null && (!Objects.equals(pooled.podUid, podUid)
+                || !Objects.equals(pooled.restartCount, restartCount))) {
+            log.debug("pod behind {} was restarted, invalidating channel", address);
+            channels.invalidate(address);
+            pooled = null;
+        }
+        if (pooled == null) {
+            pooled = new PooledChannel(newChannel(address), podUid, restartCount);
+            channels.put(address, pooled);
+        }
+        pooled.references++;
+        leased.put(pooled.channel, pooled);
+        return pooled.channel;
+    }
+
+    /**
+     * Hands back a channel returned by {@link #getChannel}. The channel is removed from the pool if the call failed
+     * because the instance could not be reached, the other calls on it are still completed.
+     *
+     * @param e the error of the call, or null if it succeeded
+     */
+    public synchronized void release(String address, ManagedChannel channel, Throwable e) {
+        PooledChannel pooled = leased.get(channel);
+        if (pooled == null) {
+            return;
+        }
+        if (isConnectionFailure(e) && channels.getIfPresent(address) == pooled) {
+            log.debug("instance behind {} is unavailable, invalidating channel", address);
+            channels.invalidate(address);
+        }
+        if (--pooled.references == 0) {
+            leased.remove(channel);
+            if (pooled.removed) {
+                pooled.channel.shutdown();
+            }
+        }
+    }
+
+    // whether a call failed to reach the instance, rather than being answered with an error by it
+    private static boolean isConnectionFailure(Throwable e) {
+        return e != null && Status.fromThrowable(e).getCode() == Status.Code.UNAVAILABLE;
+    }
+
+    public synchronized long size() {
+        return channels.size();
+    }
+
+    public synchronized void close() {
+        channels.invalidateAll();
+        channels.cleanUp();
+    }
+
+    // the removal listener runs on the thread changing the cache, which holds the lock of the pool
+    private void onRemoval(PooledChannel pooled) {
+        pooled.removed = true;
+        if (pooled.references == 0) {
+            pooled.channel.shutdown();
+        }
+    }
+}
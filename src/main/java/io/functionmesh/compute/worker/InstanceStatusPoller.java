@@ -0,0 +1,193 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.functionmesh.compute.worker;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.functionmesh.compute.util.CommonUtil;
+import io.functionmesh.compute.util.KubernetesUtils;
+import io.grpc.ManagedChannel;
+import io.kubernetes.client.openapi.apis.CoreV1Api;
+import io.kubernetes.client.openapi.models.V1Pod;
+import io.kubernetes.client.openapi.models.V1PodList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.pulsar.functions.proto.InstanceCommunication;
+import org.apache.pulsar.functions.proto.InstanceControlGrpc;
+
+/**
+ * Periodically polls the status and metrics of every running function/connector instance in the job namespace, so
+ * that status and stats requests can be served from the latest snapshot instead of a gRPC fan-out per request. A
+ * bounded number of instances is polled at the same time, a failed instance only drops its own snapshot.
+ */
+@Slf4j
+public class InstanceStatusPoller {
+    private final CoreV1Api coreV1Api;
+    private final String jobNamespace;
+    private final InstanceControlChannelPool channelPool;
+    // bounds the instances polled at the same time, so a poll of many instances doesn't open a channel to each at once
+    private final InstanceCallLimiter callLimiter;
+    private final long pollIntervalSeconds;
+    private final long maxStalenessMs;
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService pollExecutor =
+            Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                    .setNameFormat("function-mesh-worker-service-status-poller-%d")
+                    .build());
+
+    @Getter
+    @AllArgsConstructor
+    public static class Snapshot {
+        private final String podUid;
+        private final String componentType;
+        private final String metricsLabels;
+        private final InstanceCommunication.FunctionStatus functionStatus;
+        private final InstanceCommunication.MetricsData metricsData;
+        private final long timestampMs;
+    }
+
+    /**
+     * @param maxConcurrency the maximum number of instances polled at the same time
+     */
+    public InstanceStatusPoller(CoreV1Api coreV1Api, String jobNamespace, InstanceControlChannelPool channelPool,
+                                int maxConcurrency, long pollIntervalSeconds, long maxStalenessSeconds) {
+        this.coreV1Api = coreV1Api;
+        this.jobNamespace = jobNamespace;
+        this.channelPool = channelPool;
+        this.callLimiter = new InstanceCallLimiter(maxConcurrency);
+        this.pollIntervalSeconds = pollIntervalSeconds;
+        this.maxStalenessMs = TimeUnit.SECONDS.toMillis(maxStalenessSeconds);
+    }
+
+    public void start() {
+        pollExecutor.scheduleWithFixedDelay(this::poll, 0, pollIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    public void close() {
+        pollExecutor.shutdownNow();
+        snapshots.clear();
+    }
+
+    /**
+     * Returns the latest snapshot of the given pod, or null if there is none, it was taken from a previous
+     * incarnation of the pod, or it is older than the staleness bound.
+     */
+    public Snapshot getSnapshot(V1Pod pod) {
+        if (pod == null || pod.getMetadata() == null) {
+            return null;
+        }
+        Snapshot snapshot = snapshots.get(pod.getMetadata().getName());
+        if (snapshot == null || !Objects.equals(snapshot.getPodUid(), pod.getMetadata().getUid())
+                || System.currentTimeMillis() - snapshot.getTimestampMs() > maxStalenessMs) {
+            return null;
+        }
+        return snapshot;
+    }
+
+    public Map<String, Snapshot> getSnapshots() {
+        return Collections.unmodifiableMap(snapshots);
+    }
+
+    @VisibleForTesting
+    void updateSnapshot(String podName, Snapshot snapshot) {
+        snapshots.put(podName, snapshot);
+    }
+
+    @VisibleForTesting
+    void poll() {
+        try {
+            Map<String, V1Pod> pods = listInstancePods();
+            snapshots.keySet().retainAll(pods.keySet());
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            pods.forEach((podName, pod) -> {
+                if (!KubernetesUtils.isPodRunning(pod) || pod.getSpec() == null
+                        || StringUtils.isEmpty(pod.getSpec().getSubdomain())) {
+                    snapshots.remove(podName);
+                    return;
+                }
+                futures.add(pollInstance(podName, pod));
+            });
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+            log.debug("Polled status of {} instances in namespace {}", futures.size(), jobNamespace);
+        } catch (Exception e) {
+            log.warn("Poll instance status failed from namespace {}", jobNamespace, e);
+        }
+    }
+
+    private CompletableFuture<Void> pollInstance(String podName, V1Pod pod) {
+        // the channel is only taken once the instance gets its turn
+        return callLimiter.execute(() -> fetchSnapshot(podName, pod)).handle((snapshot, e) -> {
+            if (e != null) {
+                // let requests fall back to a live call, which reports the error to the user
+                log.debug("Poll status of {} failed from namespace {}", podName, jobNamespace, e);
+                snapshots.remove(podName);
+            } else {
+                snapshots.put(podName, snapshot);
+            }
+            return null;
+        });
+    }
+
+    @VisibleForTesting
+    CompletableFuture<Snapshot> fetchSnapshot(String podName, V1Pod pod) {
+        String address = KubernetesUtils.getServiceUrl(podName, pod.getSpec().getSubdomain(), jobNamespace);
+        ManagedChannel channel = channelPool != null
+                ? channelPool.getChannel(pod, address) : InstanceControlChannelPool.newChannel(address);
+        InstanceControlGrpc.InstanceControlFutureStub stub = InstanceControlGrpc.newFutureStub(channel);
+        CompletableFuture<InstanceCommunication.FunctionStatus> statusFuture = CommonUtil.getFunctionStatusAsync(stub);
+        CompletableFuture<InstanceCommunication.MetricsData> metricsFuture = CommonUtil.getFunctionMetricsAsync(stub);
+        return CompletableFuture.allOf(statusFuture, metricsFuture).whenComplete((v, e) -> {
+            if (channelPool == null) {
+                channel.shutdown();
+            } else {
+                channelPool.release(address, channel, e);
+            }
+        }).thenApply(v -> new Snapshot(pod.getMetadata().getUid(), FunctionsStatsGenerator.getComponentType(podName),
+                FunctionsStatsGenerator.buildMetricsLabels(pod), statusFuture.join(), metricsFuture.join(),
+                System.currentTimeMillis()));
+    }
+
+    private Map<String, V1Pod> listInstancePods() throws Exception {
+        Map<String, V1Pod> pods = new LinkedHashMap<>();
+        for (String labelSelector : new String[]{CommonUtil.COMPONENT_LABEL_CLAIM,
+                CommonUtil.COMPONENT_LABEL_CLAIM_DEPRECATED}) {
+            V1PodList podList = coreV1Api.listNamespacedPod(
+                    jobNamespace, null, null, null, null,
+                    labelSelector, null, null, null, null,
+                    null);
+            if (podList != null && podList.getItems() != null) {
+                podList.getItems().forEach(pod -> pods.putIfAbsent(KubernetesUtils.getPodName(pod), pod));
+            }
+        }
+        return pods;
+    }
+}
@@ -0,0 +1,123 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.functionmesh.compute.worker;
+
+import static io.functionmesh.compute.util.CommonUtil.CLUSTER_LABEL_CLAIM;
+import static io.functionmesh.compute.util.CommonUtil.CLUSTER_LABEL_CLAIM_DEPRECATED;
+import static io.functionmesh.compute.util.CommonUtil.NAMESPACE_LABEL_CLAIM;
+import static io.functionmesh.compute.util.CommonUtil.NAMESPACE_LABEL_CLAIM_DEPRECATED;
+import static io.functionmesh.compute.util.CommonUtil.TENANT_LABEL_CLAIM;
+import static io.functionmesh.compute.util.CommonUtil.TENANT_LABEL_CLAIM_DEPRECATED;
+import io.kubernetes.client.common.KubernetesListObject;
+import io.kubernetes.client.common.KubernetesObject;
+import io.kubernetes.client.informer.SharedIndexInformer;
+import io.kubernetes.client.informer.SharedInformerFactory;
+import io.kubernetes.client.informer.cache.Lister;
+import io.kubernetes.client.util.generic.GenericKubernetesApi;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A list+watch backed local cache of Function/Sink/Source resources.
+ *
+ * <p>Objects returned by the cache are shared with the informer and must be treated as read-only.
+ */
+@Slf4j
+public class MeshComponentCache<T extends KubernetesObject> {
+    // index resources by the pulsar cluster/tenant/namespace labels
+    public static final String PULSAR_NAMESPACE_INDEX = "pulsar-namespace";
+
+    @Getter
+    private final SharedIndexInformer<T> informer;
+    private final Lister<T> lister;
+
+    public MeshComponentCache(SharedIndexInformer<T> informer) {
+        this.informer = informer;
+        this.lister = new Lister<>(informer.getIndexer());
+        this.informer.addIndexers(
+                Collections.singletonMap(PULSAR_NAMESPACE_INDEX, MeshComponentCache::getPulsarNamespaceIndexKeys));
+    }
+
+    public static <T extends KubernetesObject, K extends KubernetesListObject> MeshComponentCache<T> create(
+            SharedInformerFactory informerFactory,
+            GenericKubernetesApi<T, K> resourceApi,
+            Class<T> apiTypeClass,
+            long resyncIntervalSeconds,
+            String jobNamespace) {
+        SharedIndexInformer<T> informer = informerFactory.sharedIndexInformerFor(resourceApi, apiTypeClass,
+                TimeUnit.SECONDS.toMillis(resyncIntervalSeconds), jobNamespace);
+        return new MeshComponentCache<>(informer);
+    }
+
+    public boolean hasSynced() {
+        return informer.hasSynced();
+    }
+
+    /**
+     * Get the resource from the local cache.
+     *
+     * @return the cached resource, or null if the cache is not synced yet or the resource is not found
+     */
+    public T get(String namespace, String name) {
+        if (!hasSynced()) {
+            return null;
+        }
+        return lister.namespace(namespace).get(name);
+    }
+
+    /**
+     * List the cached resources which belong to the given pulsar namespace, both the labels and the deprecated
+     * labels are matched.
+     */
+    public List<T> listByPulsarNamespace(String cluster, String tenant, String namespace) {
+        return informer.getIndexer().byIndex(PULSAR_NAMESPACE_INDEX,
+                getPulsarNamespaceIndexKey(cluster, tenant, namespace));
+    }
+
+    public static String getPulsarNamespaceIndexKey(String cluster, String tenant, String namespace) {
+        return String.format("%s/%s/%s", cluster, tenant, namespace);
+    }
+
+    static List<String> getPulsarNamespaceIndexKeys(KubernetesObject obj) {
+        if (obj.getMetadata() == null || obj.getMetadata().getLabels() == null) {
+            return Collections.emptyList();
+        }
+        Map<String, String> labels = obj.getMetadata().getLabels();
+        List<String> keys = new ArrayList<>();
+        if (labels.containsKey(CLUSTER_LABEL_CLAIM) && labels.containsKey(TENANT_LABEL_CLAIM)
+                && labels.containsKey(NAMESPACE_LABEL_CLAIM)) {
+            keys.add(getPulsarNamespaceIndexKey(labels.get(CLUSTER_LABEL_CLAIM), labels.get(TENANT_LABEL_CLAIM),
+                    labels.get(NAMESPACE_LABEL_CLAIM)));
+        }
+        if (labels.containsKey(CLUSTER_LABEL_CLAIM_DEPRECATED) && labels.containsKey(TENANT_LABEL_CLAIM_DEPRECATED)
+                && labels.containsKey(NAMESPACE_LABEL_CLAIM_DEPRECATED)) {
+            String key = getPulsarNamespaceIndexKey(labels.get(CLUSTER_LABEL_CLAIM_DEPRECATED),
+                    labels.get(TENANT_LABEL_CLAIM_DEPRECATED), labels.get(NAMESPACE_LABEL_CLAIM_DEPRECATED));
+            if (!keys.contains(key)) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+}
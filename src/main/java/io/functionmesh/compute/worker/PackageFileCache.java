@@ -0,0 +1,217 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.functionmesh.compute.worker;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FileUtils;
+import org.apache.pulsar.client.admin.PulsarAdminException;
+
+/**
+ * A size bounded, least recently used on-disk cache of packages downloaded from the package management service,
+ * keyed by the package url and checksum.
+ *
+ * <p>A file returned by {@link #acquire} must be handed back with {@link #release} instead of being deleted, files
+ * in use are never evicted. The files are kept in a dedicated subdirectory of the given directory, which is emptied
+ * on start.
+ */
+@Slf4j
+public class PackageFileCache {
+    static final String CACHE_DIRECTORY_NAME = "mesh-package-cache";
+
+    private final Path directory;
+    private final long maxSizeBytes;
+    // access ordered, the eldest entry is the least recently used one
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<File, Entry> entriesByFile = new HashMap<>();
+    private final Map<String, CompletableFuture<File>> downloads = new ConcurrentHashMap<>();
+    private long sizeBytes = 0;
+
+    private static class Entry {
+        private final File file;
+        private final long sizeBytes;
+        private int references = 0;
+
+        private Entry(File file) {
+            this.file = file;
+            this.sizeBytes = file.length();
+        }
+    }
+
+    @FunctionalInterface
+    public interface PackageDownloader {
+        void download(String path) throws IOException, PulsarAdminException;
+    }
+
+    public PackageFileCache(Path directory, long maxSizeBytes) throws IOException {
+        // the cache only owns its own subdirectory, the configured directory may be shared with other files
+        this.directory = directory.resolve(CACHE_DIRECTORY_NAME);
+        this.maxSizeBytes = maxSizeBytes;
+        // the cache index lives in memory, drop the files left by a previous run
+        if (Files.exists(this.directory)) {
+            FileUtils.cleanDirectory(this.directory.toFile());
+        } else {
+            Files.createDirectories(this.directory);
+        }
+    }
+
+    /**
+     * Returns the cached file of the package, or downloads it into the cache if it is not cached yet.
+     */
+    public File acquire(String packageUrl, String checksum, String fileName, PackageDownloader downloader)
+            throws IOException, PulsarAdminException {
+        String key = DigestUtils.sha256Hex((packageUrl + "@" + checksum).getBytes(StandardCharsets.UTF_8));
+        while (true) {
+            File file = acquireIfPresent(key);
+            if (file != null) {
+                log.debug("Package {} with checksum {} is served from cache", packageUrl, checksum);
+                return file;
+            }
+            // only one request downloads a package, the others wait for it and then take it from the cache
+            CompletableFuture<File> download = new CompletableFuture<>();
+            CompletableFuture<File> inFlight = downloads.putIfAbsent(key, download);
+            if (inFlight == null) {
+                try {
+                    return download(key, fileName, downloader, download);
+                } finally {
+                    downloads.remove(key, download);
+                }
+            }
+            awaitDownload(inFlight);
+            // the downloaded file may already be evicted again once it is released, in which case it is retried
+        }
+    }
+
+    private File download(String key, String fileName, PackageDownloader downloader, CompletableFuture<File> download)
+            throws IOException, PulsarAdminException {
+        try {
+            // the package may be put by a download that completed since the cache was looked up
+            File file = acquireIfPresent(key);
+            if (file != null) {
+                download.complete(file);
+                return file;
+            }
+            Path entryDirectory = directory.resolve(key);
+            Files.createDirectories(entryDirectory);
+            Path tempPath = entryDirectory.resolve(fileName + "." + UUID.randomUUID() + ".tmp");
+            Path filePath = entryDirectory.resolve(fileName);
+            try {
+                downloader.download(tempPath.toString());
+                Files.move(tempPath, filePath, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException | PulsarAdminException | RuntimeException e) {
+                FileUtils.deleteQuietly(entryDirectory.toFile());
+                throw e;
+            }
+            file = put(key, filePath.toFile());
+            download.complete(file);
+            return file;
+        } catch (IOException | PulsarAdminException | RuntimeException e) {
+            download.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static void awaitDownload(CompletableFuture<File> download) throws IOException, PulsarAdminException {
+        try {
+            download.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the package download");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof PulsarAdminException) {
+                throw (PulsarAdminException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * Hands back a file returned by {@link #acquire}.
+     *
+     * @return false if the file is not managed by the cache
+     */
+    public synchronized boolean release(File file) {
+        Entry entry = entriesByFile.get(file);
+        if (entry == null) {
+            return false;
+        }
+        entry.references--;
+        evictIfNeeded();
+        return true;
+    }
+
+    public synchronized long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    private synchronized File acquireIfPresent(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        entry.references++;
+        return entry.file;
+    }
+
+    private synchronized File put(String key, File file) {
+        Entry entry = new Entry(file);
+        entry.references++;
+        entries.put(key, entry);
+        entriesByFile.put(file, entry);
+        sizeBytes += entry.sizeBytes;
+        evictIfNeeded();
+        return file;
+    }
+
+    private void evictIfNeeded() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (sizeBytes > maxSizeBytes && iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.references > 0) {
+                continue;
+            }
+            iterator.remove();
+            entriesByFile.remove(entry.file);
+            sizeBytes -= entry.sizeBytes;
+            FileUtils.deleteQuietly(entry.file.getParentFile());
+            log.debug("Evicted package file {} from cache", entry.file);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.functionmesh.compute.worker;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import lombok.Value;
+import org.apache.pulsar.functions.proto.Function;
+
+/**
+ * Caches the results of inspecting the classes of function/connector packages, so the same package is not
+ * downloaded, extracted and loaded again on every register or update. Entries are keyed by the package url and
+ * checksum, see {@link #getPackageKey}.
+ *
+ * <p>Only class names are cached, holding the classes would keep their class loaders alive.
+ */
+public class PackageInspectionCache {
+    private final Cache<String, String[]> functionTypeNames;
+    private final Cache<String, ConnectorClasses> connectorClasses;
+
+    @Value
+    public static class ConnectorClasses {
+        String className;
+        String typeClassName;
+    }
+
+    public PackageInspectionCache(long maxSize) {
+        this.functionTypeNames = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .build();
+        this.connectorClasses = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    public static String getPackageKey(String packageUrl, String checksum) {
+        return packageUrl + "@" + checksum;
+    }
+
+    /**
+     * Get the cached input and output type names of a function class.
+     *
+     * @return the type names, an empty array if the types could not be resolved, or null if it is not cached
+     */
+    public String[] getFunctionTypeNames(String packageKey, String className, boolean windowed) {
+        return functionTypeNames.getIfPresent(getFunctionKey(packageKey, className, windowed));
+    }
+
+    public void putFunctionTypeNames(String packageKey, String className, boolean windowed, String[] typeNames) {
+        functionTypeNames.put(getFunctionKey(packageKey, className, windowed), typeNames);
+    }
+
+    public ConnectorClasses getConnectorClasses(String packageKey,
+                                                Function.FunctionDetails.ComponentType componentType) {
+        return connectorClasses.getIfPresent(packageKey + "/" + componentType);
+    }
+
+    public void putConnectorClasses(String packageKey, Function.FunctionDetails.ComponentType componentType,
+                                    ConnectorClasses classes) {
+        connectorClasses.put(packageKey + "/" + componentType, classes);
+    }
+
+    private static String getFunctionKey(String packageKey, String className, boolean windowed) {
+        return packageKey + "/" + className + "/" + windowed;
+    }
+}
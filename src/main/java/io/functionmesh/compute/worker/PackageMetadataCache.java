@@ -0,0 +1,90 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.functionmesh.compute.worker;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.apache.pulsar.client.admin.PulsarAdminException;
+import org.apache.pulsar.packages.management.core.common.PackageMetadata;
+
+/**
+ * Caches the metadata of packages for a short time, so the file name and checksum lookups made while handling a
+ * single register or update share one metadata request. Concurrent lookups of the same package wait for a single
+ * request.
+ *
+ * <p>Packages uploaded or deleted through this worker update the cache directly, packages changed elsewhere are
+ * picked up once the entry expires.
+ */
+public class PackageMetadataCache {
+    private final Cache<String, PackageMetadata> cache;
+
+    public interface MetadataLoader {
+        PackageMetadata load(String packageUrl) throws PulsarAdminException;
+    }
+
+    public PackageMetadataCache(long maxSize, long ttlSeconds) {
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .build();
+    }
+
+    /**
+     * Get the metadata of a package, loading it if it is not cached. Failed lookups, including missing packages,
+     * are not cached.
+     *
+     * @return the metadata, or null if the loader returned none
+     */
+    public PackageMetadata getMetadata(String packageUrl, MetadataLoader loader) throws PulsarAdminException {
+        try {
+            return cache.get(packageUrl, () -> {
+                PackageMetadata packageMetadata = loader.load(packageUrl);
+                if (packageMetadata == null) {
+                    throw new MissingMetadataException();
+                }
+                return packageMetadata;
+            });
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof MissingMetadataException) {
+                return null;
+            }
+            if (e.getCause() instanceof PulsarAdminException) {
+                throw (PulsarAdminException) e.getCause();
+            }
+            throw new PulsarAdminException(e.getCause());
+        }
+    }
+
+    public void put(String packageUrl, PackageMetadata packageMetadata) {
+        cache.put(packageUrl, packageMetadata);
+    }
+
+    public void invalidate(String packageUrl) {
+        cache.invalidate(packageUrl);
+    }
+
+    private static class MissingMetadataException extends Exception {
+        MissingMetadataException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.functionmesh.compute.worker;
+
+import java.io.IOException;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Asks the API server for the metadata of the listed and watched objects only, so an informer built on
+ * {@link io.functionmesh.compute.models.PartialObjectMetadata} neither receives nor keeps their content. It must only
+ * be installed on a client dedicated to such informers.
+ */
+public class PartialObjectMetadataInterceptor implements Interceptor {
+    static final String LIST_ACCEPT = "application/json;as=PartialObjectMetadataList;g=meta.k8s.io;v=v1";
+    static final String WATCH_ACCEPT = "application/json;as=PartialObjectMetadata;g=meta.k8s.io;v=v1";
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        // watch events carry single objects
+        String accept = "true".equals(request.url().queryParameter("watch")) ? WATCH_ACCEPT : LIST_ACCEPT;
+        return chain.proceed(request.newBuilder()
+                .header("Accept", accept)
+                .build());
+    }
+}
@@ -0,0 +1,84 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.functionmesh.compute.worker;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.apache.pulsar.common.util.SimpleTextOutputStream;
+
+/**
+ * Lets concurrent identical read requests share one computation: the first request for a key computes the result,
+ * the requests for the same key arriving while it is in flight wait for and return that result. Nothing is cached,
+ * a request arriving after the computation completed starts a new one.
+ *
+ * <p>The key must identify the operation as well as the component, a key is always computed into the same type.
+ */
+public class RequestCoalescer {
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Compute the result on the calling thread, or wait for the computation in flight for the key.
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V execute(String key, Supplier<V> supplier) {
+        CompletableFuture<Object> leader = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, leader);
+        if (existing != null) {
+            coalesced.increment();
+            try {
+                return (V) existing.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
+        try {
+            V result = supplier.get();
+            inFlight.remove(key, leader);
+            leader.complete(result);
+            return result;
+        } catch (Throwable t) {
+            inFlight.remove(key, leader);
+            leader.completeExceptionally(t);
+            throw t;
+        }
+    }
+
+    public int getInFlight() {
+        return inFlight.size();
+    }
+
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    public void writeMetrics(SimpleTextOutputStream out) {
+        out.write("# TYPE pulsar_function_worker_coalesced_requests_total counter\n");
+        out.write("pulsar_function_worker_coalesced_requests_total ").write(getCoalesced()).write('\n');
+        out.write("# TYPE pulsar_function_worker_coalesced_requests_in_flight gauge\n");
+        out.write("pulsar_function_worker_coalesced_requests_in_flight ").write(getInFlight()).write('\n');
+    }
+}
@@ -0,0 +1,80 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.functionmesh.compute.worker;
+
+import io.functionmesh.compute.models.PartialObjectMetadata;
+import io.functionmesh.compute.models.PartialObjectMetadataList;
+import io.kubernetes.client.informer.SharedIndexInformer;
+import io.kubernetes.client.informer.SharedInformerFactory;
+import io.kubernetes.client.util.generic.GenericKubernetesApi;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import lombok.Getter;
+
+/**
+ * A list+watch backed index of the secrets in the job namespace by the value of an annotation. Only the metadata of
+ * the secrets is listed and watched, see {@link PartialObjectMetadataInterceptor}, so the secret data is never held
+ * in memory; the secret is referenced by name and read by the function mesh operator.
+ */
+public class SecretAnnotationIndex {
+    public static final String ANNOTATION_INDEX = "annotation";
+
+    @Getter
+    private final SharedIndexInformer<PartialObjectMetadata> informer;
+
+    public SecretAnnotationIndex(SharedIndexInformer<PartialObjectMetadata> informer, String annotationKey) {
+        this.informer = informer;
+        this.informer.addIndexers(Collections.singletonMap(ANNOTATION_INDEX, secret -> {
+            if (secret.getMetadata() == null || secret.getMetadata().getAnnotations() == null
+                    || !secret.getMetadata().getAnnotations().containsKey(annotationKey)) {
+                return Collections.emptyList();
+            }
+            return Collections.singletonList(secret.getMetadata().getAnnotations().get(annotationKey));
+        }));
+    }
+
+    public static SecretAnnotationIndex create(SharedInformerFactory informerFactory,
+                                               GenericKubernetesApi<PartialObjectMetadata,
+                                                       PartialObjectMetadataList> secretApi,
+                                               long resyncIntervalSeconds,
+                                               String jobNamespace,
+                                               String annotationKey) {
+        SharedIndexInformer<PartialObjectMetadata> informer = informerFactory.sharedIndexInformerFor(secretApi,
+                PartialObjectMetadata.class, TimeUnit.SECONDS.toMillis(resyncIntervalSeconds), jobNamespace);
+        return new SecretAnnotationIndex(informer, annotationKey);
+    }
+
+    public boolean hasSynced() {
+        return informer.hasSynced();
+    }
+
+    /**
+     * Get the name of a secret annotated with the given value.
+     *
+     * @return the secret name, or null if no secret is annotated with the value
+     */
+    public String getSecretName(String annotationValue) {
+        List<PartialObjectMetadata> secrets = informer.getIndexer().byIndex(ANNOTATION_INDEX, annotationValue);
+        if (secrets.isEmpty()) {
+            return null;
+        }
+        return secrets.get(0).getMetadata().getName();
+    }
+}
@@ -0,0 +1,116 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.functionmesh.compute.worker;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pulsar.client.admin.PulsarAdmin;
+import org.apache.pulsar.client.admin.PulsarAdminException;
+import org.apache.pulsar.common.policies.data.TenantInfo;
+
+/**
+ * Caches the tenant info fetched from the broker. Entries are refreshed in background after the refresh interval, so
+ * a request only waits for the broker on the first access to a tenant or after an entry expired. A tenant removed
+ * on the broker is dropped by the first refresh which doesn't find it.
+ */
+@Slf4j
+public class TenantInfoCache {
+    private final ExecutorService refreshExecutor =
+            Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+                    .setNameFormat("function-mesh-worker-service-tenant-refresh-%d")
+                    .build());
+    private final LoadingCache<String, TenantInfo> tenants;
+
+    public TenantInfoCache(PulsarAdmin brokerAdmin, long maxSize, long ttlSeconds, long refreshSeconds) {
+        this(brokerAdmin, maxSize, ttlSeconds, refreshSeconds, tenant -> { });
+    }
+
+    /**
+     * @param tenantChangeListener called with the tenant when a refresh finds its tenant info changed or removed
+     */
+    public TenantInfoCache(PulsarAdmin brokerAdmin, long maxSize, long ttlSeconds, long refreshSeconds,
+                           Consumer<String> tenantChangeListener) {
+        this.tenants = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .refreshAfterWrite(refreshSeconds, TimeUnit.SECONDS)
+                .build(CacheLoader.asyncReloading(new CacheLoader<String, TenantInfo>() {
+                    @Override
+                    public TenantInfo load(String tenant) throws PulsarAdminException {
+                        return brokerAdmin.tenants().getTenantInfo(tenant);
+                    }
+
+                    @Override
+                    public ListenableFuture<TenantInfo> reload(String tenant, TenantInfo oldTenantInfo)
+                            throws PulsarAdminException {
+                        TenantInfo tenantInfo;
+                        try {
+                            tenantInfo = load(tenant);
+                        } catch (PulsarAdminException.NotFoundException e) {
+                            // a failed refresh keeps the old entry, drop it so the removed tenant is not served
+                            log.info("Tenant {} was removed", tenant);
+                            invalidate(tenant);
+                            tenantChangeListener.accept(tenant);
+                            throw e;
+                        }
+                        if (!Objects.equals(oldTenantInfo, tenantInfo)) {
+                            log.info("Tenant info of {} changed", tenant);
+                            tenantChangeListener.accept(tenant);
+                        }
+                        return Futures.immediateFuture(tenantInfo);
+                    }
+                }, refreshExecutor));
+    }
+
+    /**
+     * Returns the info of the tenant, a missing tenant is not cached and fails with
+     * {@link PulsarAdminException.NotFoundException}.
+     */
+    public TenantInfo getTenantInfo(String tenant) throws PulsarAdminException {
+        try {
+            return tenants.get(tenant);
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof PulsarAdminException) {
+                throw (PulsarAdminException) e.getCause();
+            }
+            throw new PulsarAdminException(e.getCause());
+        }
+    }
+
+    public void invalidate(String tenant) {
+        tenants.invalidate(tenant);
+    }
+
+    public void close() {
+        refreshExecutor.shutdownNow();
+        tenants.invalidateAll();
+    }
+}
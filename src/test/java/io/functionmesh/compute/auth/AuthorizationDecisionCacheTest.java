@@ -0,0 +1,85 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.functionmesh.compute.auth;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.pulsar.client.admin.PulsarAdminException;
+import org.apache.pulsar.functions.proto.Function;
+import org.junit.Test;
+
+public class AuthorizationDecisionCacheTest {
+    private static final Function.FunctionDetails.ComponentType FUNCTION =
+            Function.FunctionDetails.ComponentType.FUNCTION;
+
+    @Test
+    public void testIsAuthorized() throws Exception {
+        AuthorizationDecisionCache cache = new AuthorizationDecisionCache(100, 60, 60);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertTrue(cache.isAuthorized("admin", "public", "default", FUNCTION, () -> {
+            loads.incrementAndGet();
+            return true;
+        }));
+        assertTrue(cache.isAuthorized("admin", "public", "default", FUNCTION, () -> {
+            loads.incrementAndGet();
+            return false;
+        }));
+        assertEquals(1, loads.get());
+
+        // negative decisions are cached too
+        assertFalse(cache.isAuthorized("user", "public", "default", FUNCTION, () -> {
+            loads.incrementAndGet();
+            return false;
+        }));
+        assertFalse(cache.isAuthorized("user", "public", "default", FUNCTION, () -> {
+            loads.incrementAndGet();
+            return true;
+        }));
+        assertEquals(2, loads.get());
+
+        cache.invalidateTenant("public");
+        assertTrue(cache.isAuthorized("user", "public", "default", FUNCTION, () -> {
+            loads.incrementAndGet();
+            return true;
+        }));
+        assertFalse(cache.isAuthorized("admin", "public", "default", FUNCTION, () -> {
+            loads.incrementAndGet();
+            return false;
+        }));
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    public void testFailureIsNotCached() throws Exception {
+        AuthorizationDecisionCache cache = new AuthorizationDecisionCache(100, 60, 60);
+        try {
+            cache.isAuthorized("admin", "public", "default", FUNCTION, () -> {
+                throw new PulsarAdminException("failed");
+            });
+            fail("should throw the loader exception");
+        } catch (PulsarAdminException e) {
+            // expected
+        }
+        assertTrue(cache.isAuthorized("admin", "public", "default", FUNCTION, () -> true));
+    }
+}
@@ -32,6 +32,10 @@ import io.kubernetes.client.openapi.apis.CoreV1Api;
 import io.kubernetes.client.openapi.models.V1ObjectMeta;
 import io.kubernetes.client.openapi.models.V1Secret;
 import io.kubernetes.client.openapi.models.V1SecretList;
+import io.kubernetes.client.openapi.models.V2beta2MetricSpec;
+import io.kubernetes.client.openapi.models.V2beta2MetricTarget;
+import io.kubernetes.client.openapi.models.V2beta2ResourceMetricSource;
+import java.util.Collections;
 import org.apache.pulsar.broker.authentication.AuthenticationParameters;
 import org.apache.pulsar.common.util.RestException;
 import org.apache.pulsar.functions.worker.WorkerConfig;
@@ -114,4 +118,18 @@ public class CommonUtilTest {
             assertEquals(e.getMessage(), "No handler for given auth plugin: Un-Supported-Auth-Provider");
         }
     }
+
+    @Test
+    public void testConvertJsonModel() {
+        V2beta2MetricSpec metricSpec = new V2beta2MetricSpec()
+                .type("Resource")
+                .resource(new V2beta2ResourceMetricSource()
+                        .name("cpu")
+                        .target(new V2beta2MetricTarget().type("Utilization").averageUtilization(80)));
+
+        V2beta2MetricSpec[] converted = CommonUtil.convertJsonModel(
+                Collections.singletonList(metricSpec), V2beta2MetricSpec[].class);
+        assertEquals(1, converted.length);
+        assertEquals(metricSpec, converted[0]);
+    }
 }
@@ -27,8 +27,11 @@ import io.functionmesh.compute.functions.models.*;
 import io.functionmesh.compute.models.CustomRuntimeOptions;
 import io.functionmesh.compute.models.MeshWorkerServiceCustomConfig;
 import io.functionmesh.compute.testdata.Generate;
+import io.functionmesh.compute.worker.PackageFileCache;
 import io.kubernetes.client.openapi.apis.CustomObjectsApi;
 
+import java.io.File;
+
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -39,12 +42,14 @@ import okhttp3.internal.http.RealResponseBody;
 import org.apache.pulsar.client.admin.PulsarAdmin;
 import org.apache.pulsar.common.functions.FunctionConfig;
 import org.apache.pulsar.common.functions.WindowConfig;
+import org.apache.pulsar.common.util.RestException;
 import org.apache.pulsar.functions.proto.InstanceControlGrpc;
 import org.apache.pulsar.functions.runtime.kubernetes.KubernetesRuntimeFactoryConfig;
 import org.apache.pulsar.functions.worker.WorkerConfig;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.Mockito;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PowerMockIgnore;
 import org.powermock.core.classloader.annotations.PrepareForTest;
@@ -176,6 +181,49 @@ public class FunctionsUtilTest {
         Assert.assertEquals(v1alpha1FunctionSpec.getVolumeMounts(), volumeMountList);
     }
 
+    @Test
+    public void testPackageFileReleasedOnError() throws Exception {
+        MeshWorkerService meshWorkerService = PowerMockito.mock(MeshWorkerService.class);
+        WorkerConfig workerConfig = PowerMockito.mock(WorkerConfig.class);
+        KubernetesRuntimeFactoryConfig factoryConfig = PowerMockito.mock(KubernetesRuntimeFactoryConfig.class);
+        PowerMockito.when(meshWorkerService.getWorkerConfig()).thenReturn(workerConfig);
+        PowerMockito.when(meshWorkerService.getFactoryConfig()).thenReturn(factoryConfig);
+        PowerMockito.when(workerConfig.getFunctionsWorkerServiceCustomConfigs()).thenReturn(Collections.emptyMap());
+        PowerMockito.when(meshWorkerService.getMeshWorkerServiceCustomConfig())
+                .thenReturn(PowerMockito.mock(MeshWorkerServiceCustomConfig.class));
+        PackageFileCache packageFileCache = PowerMockito.mock(PackageFileCache.class);
+        PowerMockito.when(meshWorkerService.getPackageFileCache()).thenReturn(packageFileCache);
+        File packageFile = File.createTempFile("function", ".jar");
+        packageFile.deleteOnExit();
+        PowerMockito.when(packageFileCache.release(packageFile)).thenReturn(true);
+        PowerMockito.stub(PowerMockito.method(CommonUtil.class, "downloadPackageFile")).toReturn(packageFile);
+
+        // the package metadata can't be read
+        PowerMockito.stub(PowerMockito.method(CommonUtil.class, "getFilenameFromPackageMetadata"))
+                .toThrow(new IllegalStateException("metadata not found"));
+        FunctionConfig functionConfig = Generate.createJavaFunctionWithPackageURLConfig("public", "default", "fn");
+        try {
+            FunctionsUtil.createV1alpha1FunctionFromFunctionConfig("Function", "compute.functionmesh.io",
+                    "v1alpha1", "fn", functionConfig.getJar(), functionConfig, null, meshWorkerService);
+            Assert.fail("the request should be rejected");
+        } catch (RestException e) {
+            Assert.assertEquals(400, e.getResponse().getStatus());
+        }
+        Mockito.verify(packageFileCache, Mockito.times(1)).release(packageFile);
+
+        // the function class is not in the package
+        PowerMockito.stub(PowerMockito.method(CommonUtil.class, "getFilenameFromPackageMetadata")).toReturn(null);
+        functionConfig = Generate.createJavaFunctionWithPackageURLConfig("public", "default", "fn");
+        try {
+            FunctionsUtil.createV1alpha1FunctionFromFunctionConfig("Function", "compute.functionmesh.io",
+                    "v1alpha1", "fn", functionConfig.getJar(), functionConfig, null, meshWorkerService);
+            Assert.fail("the request should be rejected");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        Mockito.verify(packageFileCache, Mockito.times(2)).release(packageFile);
+    }
+
     @Test
     public void testCreateFunctionConfigFromV1alpha1Function() throws JsonProcessingException {
         String tenant = "public";
@@ -0,0 +1,163 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.functionmesh.compute.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import io.functionmesh.compute.MeshWorkerService;
+import io.kubernetes.client.openapi.apis.CoreV1Api;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import io.kubernetes.client.openapi.models.V1Secret;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class KubernetesUtilsTest {
+
+    @Test
+    public void testCreateMergePatch() {
+        JsonElement source = JsonParser.parseString("{\"metadata\":{\"labels\":{\"a\":\"1\",\"b\":\"2\"}},"
+                + "\"spec\":{\"replicas\":1,\"image\":\"runner:1\",\"args\":[\"x\"],\"maxReplicas\":3}}");
+        JsonElement target = JsonParser.parseString("{\"metadata\":{\"labels\":{\"a\":\"1\",\"c\":\"3\"}},"
+                + "\"spec\":{\"replicas\":2,\"image\":\"runner:1\",\"args\":[\"x\",\"y\"]}}");
+
+        JsonElement patch = KubernetesUtils.createMergePatch(source, target);
+        assertEquals(JsonParser.parseString("{\"metadata\":{\"labels\":{\"b\":null,\"c\":\"3\"}},"
+                + "\"spec\":{\"maxReplicas\":null,\"replicas\":2,\"args\":[\"x\",\"y\"]}}"), patch);
+    }
+
+    @Test
+    public void testCreateMergePatchWithoutChanges() {
+        JsonElement source = JsonParser.parseString("{\"spec\":{\"replicas\":1,\"args\":[\"x\"]}}");
+        JsonElement target = JsonParser.parseString("{\"spec\":{\"replicas\":1,\"args\":[\"x\"]}}");
+        assertNull(KubernetesUtils.createMergePatch(source, target));
+    }
+
+    @Test
+    public void testApplyMergePatch() {
+        JsonElement target = JsonParser.parseString("{\"metadata\":{\"labels\":{\"a\":\"1\",\"b\":\"2\"}},"
+                + "\"spec\":{\"replicas\":1,\"image\":\"runner:2\",\"args\":[\"x\"],\"maxReplicas\":3}}");
+        JsonElement patch = JsonParser.parseString("{\"metadata\":{\"labels\":{\"b\":null,\"c\":\"3\"}},"
+                + "\"spec\":{\"maxReplicas\":null,\"replicas\":2,\"args\":[\"x\",\"y\"]}}");
+
+        JsonElement patched = KubernetesUtils.applyMergePatch(target, patch);
+        // fields missing from the patch are kept
+        assertEquals(JsonParser.parseString("{\"metadata\":{\"labels\":{\"a\":\"1\",\"c\":\"3\"}},"
+                + "\"spec\":{\"replicas\":2,\"image\":\"runner:2\",\"args\":[\"x\",\"y\"]}}"), patched);
+        assertEquals(JsonParser.parseString("[\"x\"]"), target.getAsJsonObject().getAsJsonObject("spec").get("args"));
+    }
+
+    @Test
+    public void testSecretDataDigest() {
+        Map<String, byte[]> data = new HashMap<>();
+        data.put("useTls", "true".getBytes(StandardCharsets.UTF_8));
+        data.put("tlsTrustCertsFilePath", "/etc/tls/ca.crt".getBytes(StandardCharsets.UTF_8));
+        Map<String, byte[]> sameData = new LinkedHashMap<>();
+        sameData.put("tlsTrustCertsFilePath", "/etc/tls/ca.crt".getBytes(StandardCharsets.UTF_8));
+        sameData.put("useTls", "true".getBytes(StandardCharsets.UTF_8));
+        Map<String, byte[]> otherData = new HashMap<>(data);
+        otherData.put("useTls", "false".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(KubernetesUtils.getSecretDataDigest(data), KubernetesUtils.getSecretDataDigest(sameData));
+        assertNotEquals(KubernetesUtils.getSecretDataDigest(data), KubernetesUtils.getSecretDataDigest(otherData));
+    }
+
+    @Test
+    public void testUpsertSecretSkipsUnchangedSecret() throws Exception {
+        Map<String, byte[]> data = Collections.singletonMap("useTls", "true".getBytes(StandardCharsets.UTF_8));
+        MeshWorkerService workerService = mock(MeshWorkerService.class);
+        CoreV1Api coreV1Api = mock(CoreV1Api.class);
+        when(workerService.getCoreV1Api()).thenReturn(coreV1Api);
+        when(workerService.getJobNamespace()).thenReturn("default");
+        V1Secret existingSecret = new V1Secret().metadata(new V1ObjectMeta().putAnnotationsItem(
+                KubernetesUtils.ANNOTATION_SECRET_DIGEST, KubernetesUtils.getSecretDataDigest(data)));
+        when(coreV1Api.readNamespacedSecret(anyString(), eq("default"), any(), any(), any()))
+                .thenReturn(existingSecret);
+
+        String secretName = KubernetesUtils.upsertSecret("function", "tls", "cluster", "public", "default", "test",
+                data, workerService);
+
+        assertEquals(KubernetesUtils.getUniqueSecretName("function", "tls",
+                DigestUtils.sha256Hex(KubernetesUtils.getSecretName("cluster", "public", "default", "test"))),
+                secretName);
+        verify(coreV1Api, never()).createNamespacedSecret(anyString(), any(), any(), any(), any());
+        verify(coreV1Api, never()).replaceNamespacedSecret(anyString(), anyString(), any(), any(), any(), any());
+    }
+
+    @Test
+    public void testUpsertSecretWritesChangedSecret() throws Exception {
+        Map<String, byte[]> data = Collections.singletonMap("useTls", "true".getBytes(StandardCharsets.UTF_8));
+        MeshWorkerService workerService = mock(MeshWorkerService.class);
+        CoreV1Api coreV1Api = mock(CoreV1Api.class);
+        when(workerService.getCoreV1Api()).thenReturn(coreV1Api);
+        when(workerService.getJobNamespace()).thenReturn("default");
+        when(coreV1Api.readNamespacedSecret(anyString(), eq("default"), any(), any(), any()))
+                .thenReturn(new V1Secret().metadata(new V1ObjectMeta()
+                        .putAnnotationsItem(KubernetesUtils.ANNOTATION_SECRET_DIGEST, "outdated")));
+
+        KubernetesUtils.upsertSecret("function", "tls", "cluster", "public", "default", "test", data,
+                workerService);
+
+        ArgumentCaptor<V1Secret> secretCaptor = ArgumentCaptor.forClass(V1Secret.class);
+        verify(coreV1Api).createNamespacedSecret(eq("default"), secretCaptor.capture(), any(), any(), any());
+        assertEquals(KubernetesUtils.getSecretDataDigest(data),
+                secretCaptor.getValue().getMetadata().getAnnotations().get(KubernetesUtils.ANNOTATION_SECRET_DIGEST));
+    }
+
+    @Test
+    public void testMatchesLabelSelector() {
+        Map<String, String> labels = new HashMap<>();
+        labels.put("component", "function");
+        labels.put("name", "test");
+
+        assertTrue(KubernetesUtils.matchesLabelSelector("component=function,name==test", labels));
+        assertTrue(KubernetesUtils.matchesLabelSelector("component, name!=other, !missing", labels));
+        assertFalse(KubernetesUtils.matchesLabelSelector("component=function,name=other", labels));
+        assertFalse(KubernetesUtils.matchesLabelSelector("name!=test", labels));
+        assertFalse(KubernetesUtils.matchesLabelSelector("missing", labels));
+        assertFalse(KubernetesUtils.isEqualityLabelSelector("name in (test)"));
+    }
+
+    @Test
+    public void testGetCommonLabelSelector() {
+        assertEquals("component=function,namespace=default", KubernetesUtils.getCommonLabelSelector(Arrays.asList(
+                "component=function,name=first,namespace=default",
+                "component=function,namespace=default,name=second")));
+        assertNull(KubernetesUtils.getCommonLabelSelector(Arrays.asList("name=first", "name=second")));
+        assertNull(KubernetesUtils.getCommonLabelSelector(Collections.emptyList()));
+    }
+}
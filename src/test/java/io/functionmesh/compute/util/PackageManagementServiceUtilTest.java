@@ -0,0 +1,175 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.functionmesh.compute.util;
+
+import static io.functionmesh.compute.models.PackageMetadataProperties.PROPERTY_CHECKSUM;
+import static io.functionmesh.compute.models.PackageMetadataProperties.PROPERTY_FILE_NAME;
+import static io.functionmesh.compute.models.PackageMetadataProperties.PROPERTY_FILE_SIZE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import io.functionmesh.compute.MeshWorkerService;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.CRC32;
+import org.apache.commons.io.FileUtils;
+import org.apache.pulsar.client.admin.Packages;
+import org.apache.pulsar.client.admin.PulsarAdmin;
+import org.apache.pulsar.client.admin.PulsarAdminException;
+import org.apache.pulsar.packages.management.core.common.PackageMetadata;
+import org.glassfish.jersey.media.multipart.FormDataContentDisposition;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class PackageManagementServiceUtilTest {
+
+    private Path tempDirectory;
+
+    @Before
+    public void setup() throws Exception {
+        tempDirectory = Files.createTempDirectory("package-upload-test");
+    }
+
+    @After
+    public void cleanup() throws Exception {
+        FileUtils.deleteDirectory(tempDirectory.toFile());
+    }
+
+    @Test
+    public void testUploadComputesChecksumAndSizeWhileCopying() throws Exception {
+        byte[] content = "function-mesh-package-content".getBytes(StandardCharsets.UTF_8);
+        CRC32 crc32 = new CRC32();
+        crc32.update(content);
+
+        PulsarAdmin admin = mock(PulsarAdmin.class);
+        Packages packages = mock(Packages.class);
+        when(admin.packages()).thenReturn(packages);
+        when(packages.getMetadata(anyString())).thenThrow(mock(PulsarAdminException.NotFoundException.class));
+        AtomicReference<byte[]> uploadedContent = new AtomicReference<>();
+        doAnswer(invocation -> {
+            uploadedContent.set(Files.readAllBytes(Paths.get((String) invocation.getArgument(2))));
+            return null;
+        }).when(packages).upload(any(PackageMetadata.class), anyString(), anyString());
+
+        FormDataContentDisposition fileDetail = mock(FormDataContentDisposition.class);
+        when(fileDetail.getFileName()).thenReturn("test.jar");
+
+        String packageName = PackageManagementServiceUtil.uploadPackageToPackageService(mockWorker(admin),
+                PackageManagementServiceUtil.PACKAGE_TYPE_FUNCTION, "public", "default", "test",
+                new ByteArrayInputStream(content), fileDetail, tempDirectory.toString());
+
+        assertEquals("function://public/default/test", packageName);
+        ArgumentCaptor<PackageMetadata> metadataCaptor = ArgumentCaptor.forClass(PackageMetadata.class);
+        verify(packages).upload(metadataCaptor.capture(), eq(packageName), anyString());
+        PackageMetadata metadata = metadataCaptor.getValue();
+        assertEquals(Long.toString(crc32.getValue()), metadata.getProperties().get(PROPERTY_CHECKSUM));
+        assertEquals(Long.toString(content.length), metadata.getProperties().get(PROPERTY_FILE_SIZE));
+        assertEquals("test.jar", metadata.getProperties().get(PROPERTY_FILE_NAME));
+        assertEquals(new String(content, StandardCharsets.UTF_8),
+                new String(uploadedContent.get(), StandardCharsets.UTF_8));
+
+        // the temporary file is removed once the upload is done
+        File[] leftovers = tempDirectory.toFile().listFiles();
+        assertFalse(leftovers != null && leftovers.length > 0);
+    }
+
+    @Test
+    public void testUploadSkipsUnchangedPackage() throws Exception {
+        byte[] content = "function-mesh-package-content".getBytes(StandardCharsets.UTF_8);
+        CRC32 crc32 = new CRC32();
+        crc32.update(content);
+
+        PulsarAdmin admin = mock(PulsarAdmin.class);
+        Packages packages = mock(Packages.class);
+        when(admin.packages()).thenReturn(packages);
+        when(packages.getMetadata("function://public/default/test")).thenReturn(
+                buildExistingMetadata("test.jar", content.length, crc32.getValue()));
+
+        FormDataContentDisposition fileDetail = mock(FormDataContentDisposition.class);
+        when(fileDetail.getFileName()).thenReturn("test.jar");
+
+        String packageName = PackageManagementServiceUtil.uploadPackageToPackageService(mockWorker(admin),
+                PackageManagementServiceUtil.PACKAGE_TYPE_FUNCTION, "public", "default", "test",
+                new ByteArrayInputStream(content), fileDetail, tempDirectory.toString());
+
+        assertEquals("function://public/default/test", packageName);
+        verify(packages, never()).delete(anyString());
+        verify(packages, never()).upload(any(PackageMetadata.class), anyString(), anyString());
+        File[] leftovers = tempDirectory.toFile().listFiles();
+        assertFalse(leftovers != null && leftovers.length > 0);
+    }
+
+    @Test
+    public void testUploadReplacesChangedPackage() throws Exception {
+        byte[] content = "function-mesh-package-content".getBytes(StandardCharsets.UTF_8);
+        CRC32 crc32 = new CRC32();
+        crc32.update(content);
+
+        PulsarAdmin admin = mock(PulsarAdmin.class);
+        Packages packages = mock(Packages.class);
+        when(admin.packages()).thenReturn(packages);
+        when(packages.getMetadata("function://public/default/test")).thenReturn(
+                buildExistingMetadata("test.jar", content.length, crc32.getValue() + 1));
+
+        FormDataContentDisposition fileDetail = mock(FormDataContentDisposition.class);
+        when(fileDetail.getFileName()).thenReturn("test.jar");
+
+        String packageName = PackageManagementServiceUtil.uploadPackageToPackageService(mockWorker(admin),
+                PackageManagementServiceUtil.PACKAGE_TYPE_FUNCTION, "public", "default", "test",
+                new ByteArrayInputStream(content), fileDetail, tempDirectory.toString());
+
+        verify(packages, times(1)).getMetadata(packageName);
+        verify(packages).delete(packageName);
+        verify(packages).upload(any(PackageMetadata.class), eq(packageName), anyString());
+    }
+
+    private static MeshWorkerService mockWorker(PulsarAdmin admin) {
+        MeshWorkerService worker = mock(MeshWorkerService.class);
+        when(worker.getBrokerAdmin()).thenReturn(admin);
+        return worker;
+    }
+
+    private static PackageMetadata buildExistingMetadata(String fileName, long fileSize, long checksum) {
+        PackageMetadata packageMetadata = new PackageMetadata();
+        packageMetadata.setContact(PackageManagementServiceUtil.MESH_WORKER_SERVICE_PACKAGE_CONTACT);
+        Map<String, String> properties = new HashMap<>();
+        properties.put(PROPERTY_FILE_NAME, fileName);
+        properties.put(PROPERTY_FILE_SIZE, Long.toString(fileSize));
+        properties.put(PROPERTY_CHECKSUM, Long.toString(checksum));
+        packageMetadata.setProperties(properties);
+        return packageMetadata;
+    }
+}
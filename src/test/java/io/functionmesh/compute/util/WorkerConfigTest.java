@@ -20,7 +20,9 @@ package io.functionmesh.compute.util;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import io.functionmesh.compute.functions.models.V1alpha1FunctionSpecPodImagePullSecrets;
 import io.functionmesh.compute.functions.models.V1alpha1FunctionSpecPodInitContainers;
 import io.functionmesh.compute.functions.models.V1alpha1FunctionSpecPodVolumes;
@@ -30,7 +32,9 @@ import io.functionmesh.compute.sinks.models.V1alpha1SinkSpecPodVolumes;
 import io.functionmesh.compute.sources.models.V1alpha1SourceSpecPodInitContainers;
 import io.functionmesh.compute.sources.models.V1alpha1SourceSpecPodVolumes;
 import io.kubernetes.client.openapi.models.V1OwnerReference;
+import io.kubernetes.client.openapi.models.V1Volume;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
@@ -147,4 +151,26 @@ public class WorkerConfigTest {
         assertEquals(120L, customConfig.getConnectorSearchIntervalSeconds());
         assertEquals("connector-definitions/conf.yaml", customConfig.getConnectorDefinitionsFilePath());
     }
+
+    @Test
+    public void testCustomConfigCrdFragmentsAreCached() throws Exception {
+        MeshWorkerServiceCustomConfig customConfig = new MeshWorkerServiceCustomConfig();
+        customConfig.setVolumes(Collections.singletonList(new V1Volume().name("volume-a")));
+
+        List<V1alpha1FunctionSpecPodVolumes> first = customConfig.asV1alpha1FunctionSpecPodVolumesList();
+        List<V1alpha1FunctionSpecPodVolumes> second = customConfig.asV1alpha1FunctionSpecPodVolumesList();
+        assertEquals(first, second);
+        assertNotSame(first, second);
+        assertSame(first.get(0), second.get(0));
+
+        // callers may add to the returned list without changing the cached fragment
+        first.add(new V1alpha1FunctionSpecPodVolumes().name("volume-extra"));
+        assertEquals(1, customConfig.asV1alpha1FunctionSpecPodVolumesList().size());
+
+        // replacing the config field refreshes the fragment
+        customConfig.setVolumes(Collections.singletonList(new V1Volume().name("volume-b")));
+        assertEquals("volume-b", customConfig.asV1alpha1FunctionSpecPodVolumesList().get(0).getName());
+
+        assertNull(customConfig.asV1alpha1FunctionSpecPodInitContainers());
+    }
 }
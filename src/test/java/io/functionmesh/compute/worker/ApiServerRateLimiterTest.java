@@ -0,0 +1,135 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.functionmesh.compute.worker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.junit.Test;
+
+public class ApiServerRateLimiterTest {
+
+    private static Response response(Request request, int code, String retryAfter) {
+        Response.Builder builder = new Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(code)
+                .message("")
+                .body(ResponseBody.create(MediaType.parse("application/json"), "{}"));
+        if (retryAfter != null) {
+            builder.header("Retry-After", retryAfter);
+        }
+        return builder.build();
+    }
+
+    @Test
+    public void testTokenBucket() throws Exception {
+        ApiServerRateLimiter limiter = new ApiServerRateLimiter(10, 1, 1, 10, 10_000, 0);
+        long start = System.nanoTime();
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire();
+            limiter.release(false, 0);
+        }
+        // the first request takes the burst, the next two wait for a token each
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(String.valueOf(elapsedMs), elapsedMs >= 150);
+    }
+
+    @Test
+    public void testConcurrencyLimit() throws Exception {
+        ApiServerRateLimiter limiter = new ApiServerRateLimiter(0, 1, 1, 1, 100, 0);
+        limiter.acquire();
+        assertEquals(1, limiter.getInFlight());
+        try {
+            limiter.acquire();
+            fail("the second request should time out waiting for the first one");
+        } catch (IOException e) {
+            assertEquals(0, limiter.getWaiting());
+        }
+        limiter.release(false, 0);
+        limiter.acquire();
+        limiter.release(false, 0);
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    public void testAdditiveIncreaseMultiplicativeDecrease() throws Exception {
+        ApiServerRateLimiter limiter = new ApiServerRateLimiter(0, 1, 2, 16, 10_000, 0);
+        assertEquals(16, limiter.getConcurrencyLimit());
+
+        limiter.acquire();
+        limiter.acquire();
+        limiter.release(true, 200);
+        assertEquals(8, limiter.getConcurrencyLimit());
+        // throttled again during the Retry-After of the first throttling, the limit is not decreased twice
+        limiter.release(true, 0);
+        assertEquals(8, limiter.getConcurrencyLimit());
+
+        // grows by about one after a limit of successful responses
+        for (int i = 0; i < 9; i++) {
+            limiter.acquire();
+            limiter.release(false, 0);
+        }
+        assertEquals(9, limiter.getConcurrencyLimit());
+    }
+
+    @Test
+    public void testRetryAfterThrottling() throws Exception {
+        ApiServerRateLimiter limiter = new ApiServerRateLimiter(0, 1, 1, 4, 10_000, 1);
+        Request request = new Request.Builder().url("http://localhost/api/v1/namespaces/default/pods").build();
+        Interceptor.Chain chain = mock(Interceptor.Chain.class);
+        when(chain.request()).thenReturn(request);
+        when(chain.proceed(any()))
+                .thenReturn(response(request, 429, "0"))
+                .thenReturn(response(request, 200, null));
+
+        Response response = limiter.intercept(chain);
+        assertEquals(200, response.code());
+        verify(chain, times(2)).proceed(request);
+        assertEquals(2, limiter.getConcurrencyLimit());
+
+        // the retries are bounded, the last throttled response is returned
+        when(chain.proceed(any()))
+                .thenReturn(response(request, 429, "0"))
+                .thenReturn(response(request, 429, "0"));
+        assertEquals(429, limiter.intercept(chain).code());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    public void testRetryAfterHeader() {
+        Request request = new Request.Builder().url("http://localhost/").build();
+        assertEquals(3000, ApiServerRateLimiter.getRetryAfterMs(response(request, 429, "3")));
+        assertEquals(ApiServerRateLimiter.DEFAULT_RETRY_AFTER_MS,
+                ApiServerRateLimiter.getRetryAfterMs(response(request, 429, null)));
+    }
+}
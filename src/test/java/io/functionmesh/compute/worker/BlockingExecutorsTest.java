@@ -0,0 +1,88 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.functionmesh.compute.worker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class BlockingExecutorsTest {
+
+    @Test
+    public void testModeFromString() {
+        assertEquals(BlockingExecutors.Mode.PLATFORM, BlockingExecutors.Mode.fromString("platform"));
+        assertEquals(BlockingExecutors.Mode.VIRTUAL, BlockingExecutors.Mode.fromString(" Virtual "));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidMode() {
+        BlockingExecutors.Mode.fromString("carrier");
+    }
+
+    @Test
+    public void testExecutorNamesThreads() throws Exception {
+        for (BlockingExecutors.Mode mode : BlockingExecutors.Mode.values()) {
+            ExecutorService executor =
+                    BlockingExecutors.newExecutor(mode, "function-mesh-worker-service-test-%d", 2);
+            try {
+                String name = CompletableFuture.supplyAsync(() -> Thread.currentThread().getName(), executor)
+                        .get(10, TimeUnit.SECONDS);
+                assertTrue(name, name.startsWith("function-mesh-worker-service-test-"));
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    @Test
+    public void testExecutorIsBounded() throws Exception {
+        for (BlockingExecutors.Mode mode : BlockingExecutors.Mode.values()) {
+            ExecutorService executor =
+                    BlockingExecutors.newExecutor(mode, "function-mesh-worker-service-test-%d", 2);
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger maxRunning = new AtomicInteger();
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            try {
+                for (int i = 0; i < 10; i++) {
+                    futures.add(CompletableFuture.runAsync(() -> {
+                        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                        try {
+                            Thread.sleep(20);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        running.decrementAndGet();
+                    }, executor));
+                }
+                for (CompletableFuture<Void> future : futures) {
+                    future.get(30, TimeUnit.SECONDS);
+                }
+                assertTrue(mode + " ran " + maxRunning.get() + " tasks at once", maxRunning.get() <= 2);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.functionmesh.compute.worker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import io.functionmesh.compute.util.CommonUtil;
+import io.kubernetes.client.custom.V1Patch;
+import io.kubernetes.client.openapi.models.V1ConfigMap;
+import io.kubernetes.client.openapi.models.V1ConfigMapList;
+import io.kubernetes.client.openapi.models.V1Status;
+import io.kubernetes.client.util.generic.GenericKubernetesApi;
+import io.kubernetes.client.util.generic.KubernetesApiResponse;
+import io.kubernetes.client.util.generic.options.PatchOptions;
+import java.util.Collections;
+import java.util.List;
+import org.apache.pulsar.functions.proto.Function;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class ComponentCleanupJournalTest {
+
+    private static final String NAMESPACE = "default";
+    private static final String CONFIG_MAP = "cleanups";
+
+    private static ComponentCleanup cleanup() {
+        return ComponentCleanup.builder()
+                .componentType(Function.FunctionDetails.ComponentType.SINK)
+                .tenant("public")
+                .namespace("default")
+                .name("test")
+                .hashName("test-0123abcd")
+                .topics(Collections.singletonList("persistent://public/default/input"))
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testRecordCreatesConfigMapWhenMissing() throws Exception {
+        GenericKubernetesApi<V1ConfigMap, V1ConfigMapList> api = mock(GenericKubernetesApi.class);
+        when(api.patch(eq(NAMESPACE), eq(CONFIG_MAP), eq(V1Patch.PATCH_FORMAT_JSON_MERGE_PATCH), any(V1Patch.class),
+                any(PatchOptions.class))).thenReturn(new KubernetesApiResponse<>(new V1Status(), 404));
+        when(api.create(any(V1ConfigMap.class))).thenAnswer(i -> new KubernetesApiResponse<>(i.getArgument(0)));
+
+        ComponentCleanupJournal journal = new ComponentCleanupJournal(api, NAMESPACE, CONFIG_MAP);
+        journal.record(cleanup());
+
+        ArgumentCaptor<V1ConfigMap> created = ArgumentCaptor.forClass(V1ConfigMap.class);
+        verify(api).create(created.capture());
+        assertEquals(CONFIG_MAP, created.getValue().getMetadata().getName());
+        String entry = created.getValue().getData().get("sink.test-0123abcd");
+        assertEquals(cleanup(), CommonUtil.GSON.fromJson(entry, ComponentCleanup.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testRemovePatchesOnlyTheEntry() throws Exception {
+        GenericKubernetesApi<V1ConfigMap, V1ConfigMapList> api = mock(GenericKubernetesApi.class);
+        ArgumentCaptor<V1Patch> patch = ArgumentCaptor.forClass(V1Patch.class);
+        when(api.patch(eq(NAMESPACE), eq(CONFIG_MAP), eq(V1Patch.PATCH_FORMAT_JSON_MERGE_PATCH), patch.capture(),
+                any(PatchOptions.class))).thenReturn(new KubernetesApiResponse<>(new V1ConfigMap()));
+
+        new ComponentCleanupJournal(api, NAMESPACE, CONFIG_MAP).remove(cleanup());
+
+        JsonObject data = JsonParser.parseString(patch.getValue().getValue()).getAsJsonObject()
+                .getAsJsonObject("data");
+        assertEquals(1, data.size());
+        assertTrue(data.get("sink.test-0123abcd").isJsonNull());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testListSkipsInvalidEntries() throws Exception {
+        GenericKubernetesApi<V1ConfigMap, V1ConfigMapList> api = mock(GenericKubernetesApi.class);
+        V1ConfigMap configMap = new V1ConfigMap()
+                .putDataItem("sink.test-0123abcd", CommonUtil.GSON.toJson(cleanup()))
+                .putDataItem("invalid", "{");
+        when(api.get(NAMESPACE, CONFIG_MAP)).thenReturn(new KubernetesApiResponse<>(configMap));
+
+        List<ComponentCleanup> cleanups = new ComponentCleanupJournal(api, NAMESPACE, CONFIG_MAP).list();
+        assertEquals(Collections.singletonList(cleanup()), cleanups);
+
+        when(api.get(NAMESPACE, CONFIG_MAP)).thenReturn(new KubernetesApiResponse<>(new V1Status(), 404));
+        assertTrue(new ComponentCleanupJournal(api, NAMESPACE, CONFIG_MAP).list().isEmpty());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testGetEntry() throws Exception {
+        GenericKubernetesApi<V1ConfigMap, V1ConfigMapList> api = mock(GenericKubernetesApi.class);
+        V1ConfigMap configMap = new V1ConfigMap()
+                .putDataItem("sink.test-0123abcd", CommonUtil.GSON.toJson(cleanup()));
+        when(api.get(NAMESPACE, CONFIG_MAP)).thenReturn(new KubernetesApiResponse<>(configMap));
+
+        ComponentCleanupJournal journal = new ComponentCleanupJournal(api, NAMESPACE, CONFIG_MAP);
+        assertEquals(cleanup(), journal.get(Function.FunctionDetails.ComponentType.SINK, "test-0123abcd"));
+        assertNull(journal.get(Function.FunctionDetails.ComponentType.SOURCE, "test-0123abcd"));
+    }
+}
@@ -0,0 +1,181 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.functionmesh.compute.worker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.pulsar.functions.proto.Function;
+import org.junit.Test;
+
+public class ComponentCleanupQueueTest {
+
+    private static ComponentCleanup cleanup(String name) {
+        return ComponentCleanup.builder()
+                .componentType(Function.FunctionDetails.ComponentType.FUNCTION)
+                .tenant("public")
+                .namespace("default")
+                .name(name)
+                .build();
+    }
+
+    @Test
+    public void testCleanupIsPendingUntilDone() throws Exception {
+        ComponentCleanupQueue queue = new ComponentCleanupQueue(1, 10, 1);
+        try {
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            ComponentCleanup cleanup = cleanup("test");
+            assertTrue(queue.submit(cleanup, c -> {
+                started.countDown();
+                release.await();
+            }));
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            assertTrue(queue.isPending(cleanup.getKey()));
+            assertEquals(ComponentCleanupQueue.State.RUNNING,
+                    queue.getStatuses().get(cleanup.getKey()).getState());
+
+            release.countDown();
+            long deadline = System.currentTimeMillis() + 10000;
+            while (queue.isPending(cleanup.getKey()) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertFalse(queue.isPending(cleanup.getKey()));
+            assertTrue(queue.getStatuses().isEmpty());
+        } finally {
+            queue.close();
+        }
+    }
+
+    @Test
+    public void testFailedCleanupIsReported() throws Exception {
+        ComponentCleanupQueue queue = new ComponentCleanupQueue(1, 10, 1);
+        try {
+            ComponentCleanup cleanup = cleanup("test");
+            assertTrue(queue.submit(cleanup, c -> {
+                throw new IllegalStateException("failed");
+            }));
+            long deadline = System.currentTimeMillis() + 10000;
+            while (queue.getStatuses().get(cleanup.getKey()).getState() != ComponentCleanupQueue.State.FAILED
+                    && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            ComponentCleanupQueue.CleanupStatus status = queue.getStatuses().get(cleanup.getKey());
+            assertEquals(ComponentCleanupQueue.State.FAILED, status.getState());
+            assertEquals("failed", status.getError());
+            assertFalse(queue.isPending(cleanup.getKey()));
+        } finally {
+            queue.close();
+        }
+    }
+
+    @Test
+    public void testSubmitIsRejectedWhenFull() throws Exception {
+        ComponentCleanupQueue queue = new ComponentCleanupQueue(1, 1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            CountDownLatch started = new CountDownLatch(1);
+            assertTrue(queue.submit(cleanup("running"), c -> {
+                started.countDown();
+                release.await();
+            }));
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            assertTrue(queue.submit(cleanup("queued"), c -> release.await()));
+
+            ComponentCleanup rejected = cleanup("rejected");
+            assertFalse(queue.submit(rejected, c -> { }));
+            assertFalse(queue.isPending(rejected.getKey()));
+            assertEquals(2, queue.getStatuses().size());
+        } finally {
+            release.countDown();
+            queue.close();
+        }
+    }
+
+    @Test
+    public void testDiscardStaleCleanup() throws Exception {
+        Function.FunctionDetails.ComponentType type = Function.FunctionDetails.ComponentType.FUNCTION;
+        long graceMs = TimeUnit.MINUTES.toMillis(5);
+        ComponentCleanupJournal journal = mock(ComponentCleanupJournal.class);
+        ComponentCleanupQueue queue = new ComponentCleanupQueue(1, 10, 1, journal);
+        try {
+            // scheduled by another worker within the grace period
+            ComponentCleanup recent = cleanup("recent");
+            recent.setScheduledAtMs(System.currentTimeMillis());
+            when(journal.get(type, "recent-hash")).thenReturn(recent);
+            assertFalse(queue.discardStaleCleanup(type, "public", "default", "recent", "recent-hash", graceMs));
+            verify(journal, never()).remove(recent);
+
+            // abandoned, it is dropped so it is never resumed against the new component
+            ComponentCleanup abandoned = cleanup("abandoned");
+            abandoned.setScheduledAtMs(System.currentTimeMillis() - 2 * graceMs);
+            when(journal.get(type, "abandoned-hash")).thenReturn(abandoned);
+            assertTrue(queue.discardStaleCleanup(type, "public", "default", "abandoned", "abandoned-hash", graceMs));
+            verify(journal).remove(abandoned);
+
+            // failed on this worker
+            ComponentCleanup failed = cleanup("failed");
+            assertTrue(queue.submit(failed, c -> {
+                throw new IllegalStateException("failed");
+            }));
+            long deadline = System.currentTimeMillis() + 10000;
+            while (queue.getStatuses().get(failed.getKey()).getState() != ComponentCleanupQueue.State.FAILED
+                    && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue(queue.discardStaleCleanup(type, "public", "default", "failed", "failed-hash", graceMs));
+            assertFalse(queue.getStatuses().containsKey(failed.getKey()));
+        } finally {
+            queue.close();
+        }
+    }
+
+    @Test
+    public void testRefreshSkipsCompletedCleanup() throws Exception {
+        ComponentCleanupJournal journal = mock(ComponentCleanupJournal.class);
+        ComponentCleanupQueue queue = new ComponentCleanupQueue(1, 10, 1, journal);
+        try {
+            ComponentCleanup cleanup = cleanup("test");
+            CountDownLatch removing = new CountDownLatch(1);
+            doAnswer(invocation -> {
+                removing.countDown();
+                Thread.sleep(200);
+                return null;
+            }).when(journal).remove(cleanup);
+            assertTrue(queue.submit(cleanup, c -> {
+            }));
+            assertTrue(removing.await(10, TimeUnit.SECONDS));
+
+            // the reconciler refreshes while the cleanup completes, it must not record the cleanup again
+            queue.refreshJournal();
+            verify(journal, times(1)).record(cleanup);
+            assertTrue(queue.getStatuses().isEmpty());
+        } finally {
+            queue.close();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.functionmesh.compute.worker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.pulsar.functions.proto.Function;
+import org.junit.Test;
+
+public class ComponentCleanupReconcilerTest {
+
+    private static ComponentCleanup cleanup(String name, long scheduledAtMs) {
+        return ComponentCleanup.builder()
+                .componentType(Function.FunctionDetails.ComponentType.FUNCTION)
+                .tenant("public")
+                .namespace("default")
+                .name(name)
+                .hashName(name + "-0123abcd")
+                .scheduledAtMs(scheduledAtMs)
+                .build();
+    }
+
+    @Test
+    public void testOnlyStaleCleanupsAreResumed() throws Exception {
+        long now = System.currentTimeMillis();
+        ComponentCleanupJournal journal = mock(ComponentCleanupJournal.class);
+        when(journal.list()).thenReturn(Arrays.asList(
+                cleanup("stale", now - TimeUnit.MINUTES.toMillis(10)),
+                cleanup("recent", now)));
+        ComponentCleanupQueue queue = new ComponentCleanupQueue(1, 10, 1, journal);
+        CountDownLatch resumed = new CountDownLatch(1);
+        try {
+            ComponentCleanupReconciler reconciler = new ComponentCleanupReconciler(journal, queue,
+                    c -> {
+                        assertEquals("stale", c.getName());
+                        resumed.countDown();
+                    }, 60, 300, 3);
+            assertEquals(1, reconciler.reconcile());
+            assertTrue(resumed.await(10, TimeUnit.SECONDS));
+        } finally {
+            queue.close();
+        }
+    }
+
+    @Test
+    public void testCleanupIsDroppedAfterMaxResumeAttempts() throws Exception {
+        long now = System.currentTimeMillis();
+        ComponentCleanup exhausted = cleanup("exhausted", now - TimeUnit.MINUTES.toMillis(10));
+        exhausted.setResumeAttempts(3);
+        ComponentCleanup retried = cleanup("retried", now - TimeUnit.MINUTES.toMillis(10));
+        retried.setResumeAttempts(1);
+        ComponentCleanupJournal journal = mock(ComponentCleanupJournal.class);
+        when(journal.list()).thenReturn(Arrays.asList(exhausted, retried));
+        ComponentCleanupQueue queue = new ComponentCleanupQueue(1, 10, 1, journal);
+        CountDownLatch resumed = new CountDownLatch(1);
+        try {
+            ComponentCleanupReconciler reconciler = new ComponentCleanupReconciler(journal, queue,
+                    c -> {
+                        assertEquals("retried", c.getName());
+                        resumed.countDown();
+                    }, 60, 300, 3);
+            assertEquals(1, reconciler.reconcile());
+            assertTrue(resumed.await(10, TimeUnit.SECONDS));
+            verify(journal).remove(exhausted);
+            // the attempt is recorded before the cleanup is resumed
+            verify(journal).record(argThat(c -> "retried".equals(c.getName()) && c.getResumeAttempts() == 2));
+        } finally {
+            queue.close();
+        }
+    }
+
+    @Test
+    public void testRunningCleanupsAreRefreshed() throws Exception {
+        ComponentCleanupJournal journal = mock(ComponentCleanupJournal.class);
+        when(journal.list()).thenReturn(Arrays.asList());
+        ComponentCleanupQueue queue = new ComponentCleanupQueue(1, 10, 1, journal);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            ComponentCleanup slow = cleanup("slow", 0);
+            queue.submit(slow, c -> {
+                running.countDown();
+                release.await();
+            });
+            assertTrue(running.await(10, TimeUnit.SECONDS));
+            slow.setScheduledAtMs(0);
+            ComponentCleanupReconciler reconciler =
+                    new ComponentCleanupReconciler(journal, queue, c -> { }, 60, 300, 3);
+            assertEquals(0, reconciler.reconcile());
+            // refreshed, so the other workers don't resume it while it runs
+            assertTrue(slow.getScheduledAtMs() > 0);
+            verify(journal, never()).remove(any());
+        } finally {
+            release.countDown();
+            queue.close();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.functionmesh.compute.worker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import io.functionmesh.compute.util.CommonUtil;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import io.kubernetes.client.openapi.models.V1Pod;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import org.apache.pulsar.common.util.SimpleTextOutputStream;
+import org.apache.pulsar.functions.proto.InstanceCommunication;
+import org.junit.Test;
+
+public class FunctionsStatsGeneratorTest {
+    @Test
+    public void testGetComponentType() {
+        assertEquals(CommonUtil.COMPONENT_FUNCTION, FunctionsStatsGenerator.getComponentType("test-function-0"));
+        assertEquals(CommonUtil.COMPONENT_SINK, FunctionsStatsGenerator.getComponentType("test-sink-12"));
+        assertEquals(CommonUtil.COMPONENT_SOURCE, FunctionsStatsGenerator.getComponentType("test-source-1"));
+        assertNull(FunctionsStatsGenerator.getComponentType("test-0"));
+        assertNull(FunctionsStatsGenerator.getComponentType(""));
+    }
+
+    @Test
+    public void testGenerate() {
+        V1Pod pod = new V1Pod().metadata(new V1ObjectMeta().name("test-function-0")
+                .putLabelsItem(CommonUtil.CLUSTER_LABEL_CLAIM, "test-pulsar")
+                .putLabelsItem(CommonUtil.TENANT_LABEL_CLAIM, "public")
+                .putLabelsItem(CommonUtil.NAMESPACE_LABEL_CLAIM, "default")
+                .putLabelsItem(CommonUtil.COMPONENT_LABEL_CLAIM, "test"));
+        String labels = FunctionsStatsGenerator.buildMetricsLabels(pod);
+        assertEquals("cluster=\"test-pulsar\",tenant=\"public\",namespace=\"public/default\",name=\"test\","
+                + "instance_id=\"0\",fqfn=\"public/default/test\"", labels);
+
+        InstanceStatusPoller.Snapshot snapshot = new InstanceStatusPoller.Snapshot("uid-1",
+                CommonUtil.COMPONENT_FUNCTION, labels, null,
+                InstanceCommunication.MetricsData.newBuilder()
+                        .setReceivedTotal(10)
+                        .putUserMetrics("my.metric", 1.0)
+                        .build(),
+                System.currentTimeMillis());
+
+        ByteBuf buf = Unpooled.buffer();
+        try {
+            FunctionsStatsGenerator.generate(Collections.singletonList(snapshot), new SimpleTextOutputStream(buf));
+            String output = buf.toString(StandardCharsets.UTF_8);
+            assertTrue(output.contains("# TYPE pulsar_function_received_total gauge\n"));
+            assertTrue(output.contains("pulsar_function_received_total{" + labels + "} 10.0\n"));
+            assertTrue(output.contains("# TYPE pulsar_function_user_metric_my_metric gauge\n"
+                    + "pulsar_function_user_metric_my_metric{" + labels + "} 1.0\n"));
+            assertFalse(output.contains("pulsar_sink_"));
+        } finally {
+            buf.release();
+        }
+    }
+
+    @Test
+    public void testUserMetricFamiliesAreWrittenOnce() {
+        InstanceStatusPoller.Snapshot first = new InstanceStatusPoller.Snapshot("uid-1",
+                CommonUtil.COMPONENT_FUNCTION, "instance_id=\"0\"", null,
+                InstanceCommunication.MetricsData.newBuilder()
+                        .putUserMetrics("a", 1.0)
+                        .putUserMetrics("b", 2.0)
+                        .build(),
+                System.currentTimeMillis());
+        InstanceStatusPoller.Snapshot second = new InstanceStatusPoller.Snapshot("uid-2",
+                CommonUtil.COMPONENT_FUNCTION, "instance_id=\"1\"", null,
+                InstanceCommunication.MetricsData.newBuilder()
+                        .putUserMetrics("b", 3.0)
+                        .putUserMetrics("a", 4.0)
+                        .putUserMetrics("c", Double.NaN)
+                        .build(),
+                System.currentTimeMillis());
+
+        ByteBuf buf = Unpooled.buffer();
+        try {
+            FunctionsStatsGenerator.generate(Arrays.asList(first, second), new SimpleTextOutputStream(buf));
+            String output = buf.toString(StandardCharsets.UTF_8);
+            String userMetrics = output.substring(output.indexOf("# TYPE pulsar_function_user_metric_"));
+            assertEquals("# TYPE pulsar_function_user_metric_a gauge\n"
+                    + "pulsar_function_user_metric_a{instance_id=\"0\"} 1.0\n"
+                    + "pulsar_function_user_metric_a{instance_id=\"1\"} 4.0\n"
+                    + "# TYPE pulsar_function_user_metric_b gauge\n"
+                    + "pulsar_function_user_metric_b{instance_id=\"0\"} 2.0\n"
+                    + "pulsar_function_user_metric_b{instance_id=\"1\"} 3.0\n", userMetrics);
+        } finally {
+            buf.release();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.functionmesh.compute.worker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class InstanceCallLimiterTest {
+
+    @Test
+    public void testCallsOverTheLimitWait() {
+        InstanceCallLimiter limiter = new InstanceCallLimiter(2, Integer.MAX_VALUE, Long.MAX_VALUE, Runnable::run);
+        AtomicInteger started = new AtomicInteger();
+        List<CompletableFuture<Integer>> calls = new ArrayList<>();
+        List<CompletableFuture<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            CompletableFuture<Integer> call = new CompletableFuture<>();
+            calls.add(call);
+            results.add(limiter.execute(() -> {
+                started.incrementAndGet();
+                return call;
+            }));
+        }
+        assertEquals(2, started.get());
+        assertEquals(2, limiter.getInFlight());
+        assertEquals(1, limiter.getWaiting());
+
+        calls.get(0).complete(0);
+        assertEquals(Integer.valueOf(0), results.get(0).join());
+        assertEquals(3, started.get());
+        assertEquals(2, limiter.getInFlight());
+
+        calls.get(1).completeExceptionally(new IllegalStateException("failed"));
+        assertTrue(results.get(1).isCompletedExceptionally());
+        calls.get(2).complete(2);
+        assertEquals(Integer.valueOf(2), results.get(2).join());
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(0, limiter.getWaiting());
+    }
+
+    @Test
+    public void testFailingSupplierReleasesThePermit() {
+        InstanceCallLimiter limiter = new InstanceCallLimiter(1, Integer.MAX_VALUE, Long.MAX_VALUE, Runnable::run);
+        CompletableFuture<Object> result = limiter.execute(() -> {
+            throw new IllegalStateException("failed");
+        });
+        assertTrue(result.isCompletedExceptionally());
+        assertFalse(limiter.execute(() -> CompletableFuture.completedFuture(1)).isCompletedExceptionally());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    private static Throwable getError(CompletableFuture<?> future) {
+        try {
+            future.join();
+            throw new AssertionError("the call should fail");
+        } catch (CompletionException e) {
+            return e.getCause();
+        }
+    }
+
+    @Test
+    public void testWaitingCallsAreBounded() {
+        InstanceCallLimiter limiter = new InstanceCallLimiter(1, 1, Long.MAX_VALUE, Runnable::run);
+        CompletableFuture<Integer> call = new CompletableFuture<>();
+        limiter.execute(() -> call);
+        CompletableFuture<Integer> waiting = limiter.execute(() -> CompletableFuture.completedFuture(1));
+        CompletableFuture<Integer> rejected = limiter.execute(() -> CompletableFuture.completedFuture(2));
+        assertSame(RejectedExecutionException.class, getError(rejected).getClass());
+        assertEquals(1, limiter.getWaiting());
+
+        call.complete(0);
+        assertEquals(Integer.valueOf(1), waiting.join());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    public void testExpiredCallsAreDropped() throws Exception {
+        InstanceCallLimiter limiter = new InstanceCallLimiter(1, 10, 10, Runnable::run);
+        CompletableFuture<Integer> call = new CompletableFuture<>();
+        limiter.execute(() -> call);
+        AtomicInteger started = new AtomicInteger();
+        CompletableFuture<Integer> expired = limiter.execute(() -> {
+            started.incrementAndGet();
+            return CompletableFuture.completedFuture(1);
+        });
+        Thread.sleep(50);
+
+        call.complete(0);
+        assertSame(TimeoutException.class, getError(expired).getClass());
+        assertEquals(0, started.get());
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(0, limiter.getWaiting());
+    }
+}
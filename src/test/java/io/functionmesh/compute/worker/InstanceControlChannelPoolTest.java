@@ -0,0 +1,85 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.functionmesh.compute.worker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import io.grpc.ManagedChannel;
+import io.grpc.Status;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import io.kubernetes.client.openapi.models.V1Pod;
+import java.util.concurrent.CompletionException;
+import org.junit.Test;
+
+public class InstanceControlChannelPoolTest {
+    @Test
+    public void testGetChannel() {
+        InstanceControlChannelPool pool = new InstanceControlChannelPool(10, 60);
+        V1Pod pod = new V1Pod().metadata(new V1ObjectMeta().name("test-function-0").uid("uid-1"));
+        String address = "test-function-0.test-function.default.svc.cluster.local";
+
+        ManagedChannel channel = pool.getChannel(pod, address);
+        assertSame(channel, pool.getChannel(pod, address));
+        assertEquals(1, pool.size());
+        pool.release(address, channel, null);
+        pool.release(address, channel, null);
+
+        // pod was recreated
+        V1Pod recreatedPod = new V1Pod().metadata(new V1ObjectMeta().name("test-function-0").uid("uid-2"));
+        ManagedChannel newChannel = pool.getChannel(recreatedPod, address);
+        assertNotSame(channel, newChannel);
+        assertTrue(channel.isShutdown());
+        assertEquals(1, pool.size());
+        pool.release(address, newChannel, null);
+
+        ManagedChannel another = pool.getChannel(recreatedPod, address);
+        assertSame(newChannel, another);
+        pool.close();
+        // still in use by a call
+        assertFalse(another.isShutdown());
+        assertEquals(0, pool.size());
+        pool.release(address, another, null);
+        assertTrue(another.isShutdown());
+    }
+
+    @Test
+    public void testReleaseAfterFailure() {
+        InstanceControlChannelPool pool = new InstanceControlChannelPool(10, 60);
+        V1Pod pod = new V1Pod().metadata(new V1ObjectMeta().name("test-function-0").uid("uid-1"));
+        String address = "test-function-0.test-function.default.svc.cluster.local";
+
+        // an error answered by the instance keeps the channel
+        ManagedChannel channel = pool.getChannel(pod, address);
+        pool.release(address, channel, new CompletionException(Status.INTERNAL.asRuntimeException()));
+        assertSame(channel, pool.getChannel(pod, address));
+
+        // an unreachable instance drops the channel, once the other call on it completed
+        ManagedChannel inUse = pool.getChannel(pod, address);
+        pool.release(address, channel, new CompletionException(Status.UNAVAILABLE.asRuntimeException()));
+        assertEquals(0, pool.size());
+        assertFalse(channel.isShutdown());
+        assertNotSame(channel, pool.getChannel(pod, address));
+        pool.release(address, inUse, null);
+        assertTrue(channel.isShutdown());
+        pool.close();
+    }
+}
@@ -0,0 +1,134 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.functionmesh.compute.worker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import io.functionmesh.compute.util.CommonUtil;
+import io.kubernetes.client.openapi.apis.CoreV1Api;
+import io.kubernetes.client.openapi.models.V1ContainerStatus;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import io.kubernetes.client.openapi.models.V1Pod;
+import io.kubernetes.client.openapi.models.V1PodList;
+import io.kubernetes.client.openapi.models.V1PodSpec;
+import io.kubernetes.client.openapi.models.V1PodStatus;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.pulsar.functions.proto.InstanceCommunication;
+import org.junit.Test;
+
+public class InstanceStatusPollerTest {
+    @Test
+    public void testGetSnapshot() {
+        InstanceStatusPoller poller =
+                new InstanceStatusPoller(mock(CoreV1Api.class), "default", null, 16, 30, 90);
+        V1Pod pod = new V1Pod().metadata(new V1ObjectMeta().name("test-function-0").uid("uid-1"));
+        assertNull(poller.getSnapshot(pod));
+
+        InstanceStatusPoller.Snapshot snapshot = new InstanceStatusPoller.Snapshot("uid-1", "function",
+                null, InstanceCommunication.FunctionStatus.newBuilder().setRunning(true).build(),
+                InstanceCommunication.MetricsData.newBuilder().setReceivedTotal(10).build(),
+                System.currentTimeMillis());
+        poller.updateSnapshot("test-function-0", snapshot);
+        assertEquals(snapshot, poller.getSnapshot(pod));
+
+        // pod was recreated
+        V1Pod recreatedPod = new V1Pod().metadata(new V1ObjectMeta().name("test-function-0").uid("uid-2"));
+        assertNull(poller.getSnapshot(recreatedPod));
+
+        // snapshot is too old
+        poller.updateSnapshot("test-function-0", new InstanceStatusPoller.Snapshot("uid-1", "function", null,
+                snapshot.getFunctionStatus(), snapshot.getMetricsData(), System.currentTimeMillis() - 100_000));
+        assertNull(poller.getSnapshot(pod));
+        poller.close();
+    }
+
+    private static V1Pod runningPod(String name, String uid) {
+        return new V1Pod()
+                .metadata(new V1ObjectMeta().name(name).uid(uid))
+                .spec(new V1PodSpec().subdomain("test-function"))
+                .status(new V1PodStatus().phase("Running")
+                        .containerStatuses(Collections.singletonList(new V1ContainerStatus().ready(true))));
+    }
+
+    @Test
+    public void testPollWithPartialFailures() throws Exception {
+        CoreV1Api coreV1Api = mock(CoreV1Api.class);
+        List<V1Pod> pods = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            pods.add(runningPod("test-function-" + i, "uid-" + i));
+        }
+        when(coreV1Api.listNamespacedPod(eq("default"), any(), any(), any(), any(),
+                eq(CommonUtil.COMPONENT_LABEL_CLAIM), any(), any(), any(), any(), any()))
+                .thenReturn(new V1PodList().items(pods));
+
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(6);
+        InstanceStatusPoller poller = new InstanceStatusPoller(coreV1Api, "default", null, 2, 30, 90) {
+            @Override
+            CompletableFuture<Snapshot> fetchSnapshot(String podName, V1Pod pod) {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                return CompletableFuture.supplyAsync(() -> {
+                    try {
+                        Thread.sleep(20);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    inFlight.decrementAndGet();
+                    if (podName.endsWith("-1") || podName.endsWith("-4")) {
+                        throw new IllegalStateException("instance is unavailable");
+                    }
+                    return new Snapshot(pod.getMetadata().getUid(), "function", null,
+                            InstanceCommunication.FunctionStatus.newBuilder().setRunning(true).build(),
+                            InstanceCommunication.MetricsData.getDefaultInstance(), System.currentTimeMillis());
+                }, executor);
+            }
+        };
+        try {
+            InstanceStatusPoller.Snapshot previous = new InstanceStatusPoller.Snapshot("uid-1", "function", null,
+                    InstanceCommunication.FunctionStatus.getDefaultInstance(),
+                    InstanceCommunication.MetricsData.getDefaultInstance(), System.currentTimeMillis());
+            poller.updateSnapshot("test-function-1", previous);
+            poller.updateSnapshot("deleted-function-0", previous);
+
+            poller.poll();
+            // the failed instances and the deleted pod have no snapshot, the others are polled
+            assertEquals(new HashSet<>(Arrays.asList("test-function-0", "test-function-2", "test-function-3",
+                    "test-function-5")), poller.getSnapshots().keySet());
+            assertTrue(poller.getSnapshots().get("test-function-0").getFunctionStatus().getRunning());
+            assertTrue(maxInFlight.get() <= 2);
+        } finally {
+            poller.close();
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.functionmesh.compute.worker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import io.functionmesh.compute.util.CommonUtil;
+import io.kubernetes.client.informer.SharedIndexInformer;
+import io.kubernetes.client.informer.cache.Cache;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import io.kubernetes.client.openapi.models.V1Pod;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+public class MeshComponentCacheTest {
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGet() {
+        SharedIndexInformer<V1Pod> informer = mock(SharedIndexInformer.class);
+        Cache<V1Pod> indexer = new Cache<>();
+        when(informer.getIndexer()).thenReturn(indexer);
+        when(informer.hasSynced()).thenReturn(false);
+
+        MeshComponentCache<V1Pod> cache = new MeshComponentCache<>(informer);
+        V1Pod pod = new V1Pod().metadata(new V1ObjectMeta().namespace("default").name("test"));
+        indexer.add(pod);
+
+        // not synced yet
+        assertNull(cache.get("default", "test"));
+
+        when(informer.hasSynced()).thenReturn(true);
+        assertEquals(pod, cache.get("default", "test"));
+        assertNull(cache.get("default", "not-exist"));
+        assertNull(cache.get("other", "test"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testListByPulsarNamespace() {
+        SharedIndexInformer<V1Pod> informer = mock(SharedIndexInformer.class);
+        Cache<V1Pod> indexer = new Cache<>();
+        when(informer.getIndexer()).thenReturn(indexer);
+        doAnswer(invocation -> {
+            indexer.addIndexers(invocation.getArgument(0));
+            return null;
+        }).when(informer).addIndexers(any(Map.class));
+
+        MeshComponentCache<V1Pod> cache = new MeshComponentCache<>(informer);
+        V1Pod pod = new V1Pod().metadata(new V1ObjectMeta().namespace("default").name("test")
+                .putLabelsItem(CommonUtil.CLUSTER_LABEL_CLAIM, "test-pulsar")
+                .putLabelsItem(CommonUtil.TENANT_LABEL_CLAIM, "public")
+                .putLabelsItem(CommonUtil.NAMESPACE_LABEL_CLAIM, "default"));
+        V1Pod legacyPod = new V1Pod().metadata(new V1ObjectMeta().namespace("default").name("legacy")
+                .putLabelsItem(CommonUtil.CLUSTER_LABEL_CLAIM_DEPRECATED, "test-pulsar")
+                .putLabelsItem(CommonUtil.TENANT_LABEL_CLAIM_DEPRECATED, "public")
+                .putLabelsItem(CommonUtil.NAMESPACE_LABEL_CLAIM_DEPRECATED, "default"));
+        V1Pod otherPod = new V1Pod().metadata(new V1ObjectMeta().namespace("default").name("other")
+                .putLabelsItem(CommonUtil.CLUSTER_LABEL_CLAIM, "test-pulsar")
+                .putLabelsItem(CommonUtil.TENANT_LABEL_CLAIM, "public")
+                .putLabelsItem(CommonUtil.NAMESPACE_LABEL_CLAIM, "other"));
+        indexer.add(pod);
+        indexer.add(legacyPod);
+        indexer.add(otherPod);
+
+        List<V1Pod> pods = cache.listByPulsarNamespace("test-pulsar", "public", "default");
+        assertEquals(2, pods.size());
+        assertTrue(pods.contains(pod));
+        assertTrue(pods.contains(legacyPod));
+        assertEquals(1, cache.listByPulsarNamespace("test-pulsar", "public", "other").size());
+        assertTrue(cache.listByPulsarNamespace("test-pulsar", "other", "default").isEmpty());
+    }
+}
@@ -0,0 +1,176 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.functionmesh.compute.worker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PackageFileCacheTest {
+    private Path directory;
+
+    @Before
+    public void setup() throws Exception {
+        directory = Files.createTempDirectory("package-cache-test");
+    }
+
+    @After
+    public void cleanup() {
+        FileUtils.deleteQuietly(directory.toFile());
+    }
+
+    @Test
+    public void testAcquire() throws Exception {
+        PackageFileCache cache = new PackageFileCache(directory, 1024);
+        AtomicInteger downloads = new AtomicInteger();
+        PackageFileCache.PackageDownloader downloader = path -> {
+            downloads.incrementAndGet();
+            Files.write(Paths.get(path), new byte[100]);
+        };
+
+        File file = cache.acquire("function://public/default/test@v1", "1234", "test.jar", downloader);
+        assertTrue(file.exists());
+        assertEquals("test.jar", file.getName());
+        assertTrue(cache.release(file));
+
+        assertEquals(file, cache.acquire("function://public/default/test@v1", "1234", "test.jar", downloader));
+        assertEquals(1, downloads.get());
+        assertTrue(cache.release(file));
+
+        // a new checksum of the same package is downloaded again
+        File newFile = cache.acquire("function://public/default/test@v1", "5678", "test.jar", downloader);
+        assertNotEquals(file, newFile);
+        assertEquals(2, downloads.get());
+        assertTrue(cache.release(newFile));
+
+        assertFalse(cache.release(new File("not-cached.jar")));
+    }
+
+    @Test
+    public void testEviction() throws Exception {
+        PackageFileCache cache = new PackageFileCache(directory, 250);
+        PackageFileCache.PackageDownloader downloader = path -> Files.write(Paths.get(path), new byte[100]);
+
+        File first = cache.acquire("function://public/default/first@v1", "1", "first.jar", downloader);
+        File second = cache.acquire("function://public/default/second@v1", "1", "second.jar", downloader);
+        cache.release(second);
+        // the first file is in use, the second one is evicted instead
+        File third = cache.acquire("function://public/default/third@v1", "1", "third.jar", downloader);
+        assertTrue(first.exists());
+        assertFalse(second.exists());
+        assertTrue(third.exists());
+        assertEquals(200, cache.getSizeBytes());
+        cache.release(first);
+        cache.release(third);
+    }
+
+    @Test
+    public void testConcurrentAcquire() throws Exception {
+        PackageFileCache cache = new PackageFileCache(directory, 1024);
+        AtomicInteger downloads = new AtomicInteger();
+        CountDownLatch downloading = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        PackageFileCache.PackageDownloader downloader = path -> {
+            downloads.incrementAndGet();
+            downloading.countDown();
+            try {
+                finish.await();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            Files.write(Paths.get(path), new byte[100]);
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<File>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                futures.add(executor.submit(
+                        () -> cache.acquire("function://public/default/test@v1", "1234", "test.jar", downloader)));
+            }
+            assertTrue(downloading.await(10, TimeUnit.SECONDS));
+            finish.countDown();
+            Set<File> files = new HashSet<>();
+            for (Future<File> future : futures) {
+                files.add(future.get(10, TimeUnit.SECONDS));
+            }
+            assertEquals(1, files.size());
+            assertEquals(1, downloads.get());
+            // every caller holds a reference of its own
+            File file = files.iterator().next();
+            for (int i = 0; i < 4; i++) {
+                assertTrue(cache.release(file));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFailedDownload() throws Exception {
+        PackageFileCache cache = new PackageFileCache(directory, 1024);
+        try {
+            cache.acquire("function://public/default/test@v1", "1234", "test.jar", path -> {
+                Files.write(Paths.get(path), new byte[10]);
+                throw new IOException("download failed");
+            });
+            fail("the download failure should be propagated");
+        } catch (IOException e) {
+            assertEquals("download failed", e.getMessage());
+        }
+        assertEquals(0, cache.getSizeBytes());
+        // the next request downloads the package again
+        File file = cache.acquire("function://public/default/test@v1", "1234", "test.jar",
+                path -> Files.write(Paths.get(path), new byte[100]));
+        assertTrue(file.exists());
+        assertTrue(cache.release(file));
+    }
+
+    @Test
+    public void testKeepsForeignFiles() throws Exception {
+        Path foreign = Files.write(directory.resolve("foreign.jar"), new byte[10]);
+        Path stale = directory.resolve(PackageFileCache.CACHE_DIRECTORY_NAME).resolve("stale.jar");
+        Files.createDirectories(stale.getParent());
+        Files.write(stale, new byte[10]);
+
+        new PackageFileCache(directory, 1024);
+        assertTrue(Files.exists(foreign));
+        assertFalse(Files.exists(stale));
+    }
+}
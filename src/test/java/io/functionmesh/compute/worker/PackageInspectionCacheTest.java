@@ -0,0 +1,96 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.functionmesh.compute.worker;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import org.apache.pulsar.functions.proto.Function;
+import org.junit.Test;
+
+public class PackageInspectionCacheTest {
+    private static final String PACKAGE_URL = "function://public/default/test@v1";
+
+    @Test
+    public void testGetPackageKey() {
+        assertEquals(PACKAGE_URL + "@1234", PackageInspectionCache.getPackageKey(PACKAGE_URL, "1234"));
+        // a changed checksum of the same package is another package
+        assertNotEquals(PackageInspectionCache.getPackageKey(PACKAGE_URL, "1234"),
+                PackageInspectionCache.getPackageKey(PACKAGE_URL, "5678"));
+        // the same checksum of another package is another package too
+        assertNotEquals(PackageInspectionCache.getPackageKey(PACKAGE_URL, "1234"),
+                PackageInspectionCache.getPackageKey("function://public/default/other@v1", "1234"));
+    }
+
+    @Test
+    public void testFunctionTypeNames() {
+        PackageInspectionCache cache = new PackageInspectionCache(100);
+        String packageKey = PackageInspectionCache.getPackageKey(PACKAGE_URL, "1234");
+        String[] typeNames = new String[]{String.class.getName(), Integer.class.getName()};
+        assertNull(cache.getFunctionTypeNames(packageKey, "org.example.Function", false));
+
+        cache.putFunctionTypeNames(packageKey, "org.example.Function", false, typeNames);
+        assertArrayEquals(typeNames, cache.getFunctionTypeNames(packageKey, "org.example.Function", false));
+        // the class name and the window config are part of the key
+        assertNull(cache.getFunctionTypeNames(packageKey, "org.example.Function", true));
+        assertNull(cache.getFunctionTypeNames(packageKey, "org.example.OtherFunction", false));
+        assertNull(cache.getFunctionTypeNames(PackageInspectionCache.getPackageKey(PACKAGE_URL, "5678"),
+                "org.example.Function", false));
+
+        // unresolved types are cached as an empty array
+        cache.putFunctionTypeNames(packageKey, "org.example.Function", true, new String[0]);
+        assertEquals(0, cache.getFunctionTypeNames(packageKey, "org.example.Function", true).length);
+    }
+
+    @Test
+    public void testConnectorClasses() {
+        PackageInspectionCache cache = new PackageInspectionCache(100);
+        String packageKey = PackageInspectionCache.getPackageKey("sink://public/default/test@v1", "1234");
+        PackageInspectionCache.ConnectorClasses classes =
+                new PackageInspectionCache.ConnectorClasses("org.example.Sink", String.class.getName());
+        cache.putConnectorClasses(packageKey, Function.FunctionDetails.ComponentType.SINK, classes);
+        assertEquals(classes, cache.getConnectorClasses(packageKey, Function.FunctionDetails.ComponentType.SINK));
+        // the component type is part of the key
+        assertNull(cache.getConnectorClasses(packageKey, Function.FunctionDetails.ComponentType.SOURCE));
+        assertNull(cache.getConnectorClasses(
+                PackageInspectionCache.getPackageKey("sink://public/default/test@v1", "5678"),
+                Function.FunctionDetails.ComponentType.SINK));
+    }
+
+    @Test
+    public void testEviction() {
+        PackageInspectionCache cache = new PackageInspectionCache(2);
+        for (int i = 0; i < 10; i++) {
+            cache.putFunctionTypeNames(PackageInspectionCache.getPackageKey(PACKAGE_URL, String.valueOf(i)),
+                    "org.example.Function", false, new String[0]);
+        }
+        int cached = 0;
+        for (int i = 0; i < 10; i++) {
+            if (cache.getFunctionTypeNames(PackageInspectionCache.getPackageKey(PACKAGE_URL, String.valueOf(i)),
+                    "org.example.Function", false) != null) {
+                cached++;
+            }
+        }
+        assertEquals(2, cached);
+        // the latest entry is kept
+        assertArrayEquals(new String[0], cache.getFunctionTypeNames(
+                PackageInspectionCache.getPackageKey(PACKAGE_URL, "9"), "org.example.Function", false));
+    }
+}
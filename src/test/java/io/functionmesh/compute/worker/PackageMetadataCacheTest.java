@@ -0,0 +1,84 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.functionmesh.compute.worker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.pulsar.client.admin.PulsarAdminException;
+import org.apache.pulsar.packages.management.core.common.PackageMetadata;
+import org.junit.Test;
+
+public class PackageMetadataCacheTest {
+
+    private static final String PACKAGE_URL = "function://public/default/test";
+
+    @Test
+    public void testMetadataIsLoadedOnce() throws Exception {
+        PackageMetadataCache cache = new PackageMetadataCache(10, 60);
+        PackageMetadata packageMetadata = new PackageMetadata();
+        AtomicInteger loads = new AtomicInteger();
+        PackageMetadataCache.MetadataLoader loader = url -> {
+            loads.incrementAndGet();
+            return packageMetadata;
+        };
+
+        assertSame(packageMetadata, cache.getMetadata(PACKAGE_URL, loader));
+        assertSame(packageMetadata, cache.getMetadata(PACKAGE_URL, loader));
+        assertEquals(1, loads.get());
+
+        cache.invalidate(PACKAGE_URL);
+        assertSame(packageMetadata, cache.getMetadata(PACKAGE_URL, loader));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testPutReplacesMetadata() throws Exception {
+        PackageMetadataCache cache = new PackageMetadataCache(10, 60);
+        PackageMetadata packageMetadata = new PackageMetadata();
+        cache.put(PACKAGE_URL, packageMetadata);
+
+        assertSame(packageMetadata, cache.getMetadata(PACKAGE_URL, url -> {
+            throw new IllegalStateException("should not load cached metadata");
+        }));
+    }
+
+    @Test
+    public void testFailedLookupsAreNotCached() throws Exception {
+        PackageMetadataCache cache = new PackageMetadataCache(10, 60);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertNull(cache.getMetadata(PACKAGE_URL, url -> {
+            loads.incrementAndGet();
+            return null;
+        }));
+        try {
+            cache.getMetadata(PACKAGE_URL, url -> {
+                loads.incrementAndGet();
+                throw new PulsarAdminException("failed");
+            });
+            fail("the loader exception should be rethrown");
+        } catch (PulsarAdminException e) {
+            assertEquals("failed", e.getMessage());
+        }
+        assertEquals(2, loads.get());
+    }
+}
@@ -0,0 +1,48 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.functionmesh.compute.worker;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class PartialObjectMetadataInterceptorTest {
+
+    private static String intercept(String url) throws Exception {
+        Interceptor.Chain chain = mock(Interceptor.Chain.class);
+        when(chain.request()).thenReturn(new Request.Builder().url(url).header("Accept", "application/json").build());
+        new PartialObjectMetadataInterceptor().intercept(chain);
+        ArgumentCaptor<Request> request = ArgumentCaptor.forClass(Request.class);
+        verify(chain).proceed(request.capture());
+        return request.getValue().header("Accept");
+    }
+
+    @Test
+    public void testAccept() throws Exception {
+        assertEquals(PartialObjectMetadataInterceptor.LIST_ACCEPT,
+                intercept("https://kubernetes/api/v1/namespaces/default/secrets?resourceVersion=0"));
+        assertEquals(PartialObjectMetadataInterceptor.WATCH_ACCEPT,
+                intercept("https://kubernetes/api/v1/namespaces/default/secrets?watch=true&resourceVersion=10"));
+    }
+}
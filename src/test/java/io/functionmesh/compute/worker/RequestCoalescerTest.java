@@ -0,0 +1,108 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.functionmesh.compute.worker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.ws.rs.core.Response;
+import org.apache.pulsar.common.util.RestException;
+import org.junit.Test;
+
+public class RequestCoalescerTest {
+
+    @Test
+    public void testConcurrentRequestsShareOneComputation() throws Exception {
+        RequestCoalescer coalescer = new RequestCoalescer();
+        AtomicInteger computations = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> coalescer.execute("key", () -> {
+            computations.incrementAndGet();
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "status";
+        }));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(() -> coalescer.execute("key", () -> {
+            computations.incrementAndGet();
+            return "other";
+        }));
+        while (coalescer.getCoalesced() < 1) {
+            Thread.sleep(10);
+        }
+        release.countDown();
+
+        assertEquals("status", leader.get(10, TimeUnit.SECONDS));
+        assertEquals("status", follower.get(10, TimeUnit.SECONDS));
+        assertEquals(1, computations.get());
+        assertEquals(0, coalescer.getInFlight());
+
+        // nothing is cached, a later request computes again
+        assertEquals("again", coalescer.execute("key", () -> "again"));
+    }
+
+    @Test
+    public void testFailureIsSharedAndNotKept() throws Exception {
+        RequestCoalescer coalescer = new RequestCoalescer();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        RestException error = new RestException(Response.Status.NOT_FOUND, "not found");
+
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> coalescer.execute("key", () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw error;
+        }));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(
+                () -> coalescer.execute("key", () -> "status"));
+        while (coalescer.getCoalesced() < 1) {
+            Thread.sleep(10);
+        }
+        release.countDown();
+
+        for (CompletableFuture<String> future : Arrays.asList(leader, follower)) {
+            try {
+                future.get(10, TimeUnit.SECONDS);
+                fail("the failure should be shared");
+            } catch (ExecutionException e) {
+                assertSame(error, e.getCause());
+            }
+        }
+        assertEquals(0, coalescer.getInFlight());
+        assertEquals("status", coalescer.execute("key", () -> "status"));
+    }
+}
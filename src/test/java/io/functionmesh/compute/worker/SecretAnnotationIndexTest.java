@@ -0,0 +1,62 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.functionmesh.compute.worker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import io.functionmesh.compute.models.PartialObjectMetadata;
+import io.kubernetes.client.informer.SharedIndexInformer;
+import io.kubernetes.client.informer.cache.Cache;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import java.util.Map;
+import org.junit.Test;
+
+public class SecretAnnotationIndexTest {
+    private static final String ANNOTATION_KEY = "cloud.streamnative.io/service-account.email";
+
+    private static PartialObjectMetadata secret(V1ObjectMeta metadata) {
+        PartialObjectMetadata secret = new PartialObjectMetadata();
+        secret.setMetadata(metadata);
+        return secret;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGetSecretName() {
+        SharedIndexInformer<PartialObjectMetadata> informer = mock(SharedIndexInformer.class);
+        Cache<PartialObjectMetadata> indexer = new Cache<>();
+        when(informer.getIndexer()).thenReturn(indexer);
+        doAnswer(invocation -> {
+            indexer.addIndexers(invocation.getArgument(0));
+            return null;
+        }).when(informer).addIndexers(any(Map.class));
+
+        SecretAnnotationIndex index = new SecretAnnotationIndex(informer, ANNOTATION_KEY);
+        indexer.add(secret(new V1ObjectMeta().namespace("default").name("secret-1")
+                .putAnnotationsItem(ANNOTATION_KEY, "role-1")));
+        indexer.add(secret(new V1ObjectMeta().namespace("default").name("secret-2")));
+
+        assertEquals("secret-1", index.getSecretName("role-1"));
+        assertNull(index.getSecretName("role-2"));
+    }
+}
@@ -0,0 +1,127 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.functionmesh.compute.worker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.pulsar.client.admin.PulsarAdmin;
+import org.apache.pulsar.client.admin.PulsarAdminException;
+import org.apache.pulsar.client.admin.Tenants;
+import org.apache.pulsar.common.policies.data.TenantInfo;
+import org.junit.Test;
+
+public class TenantInfoCacheTest {
+    @Test
+    public void testGetTenantInfo() throws Exception {
+        PulsarAdmin admin = mock(PulsarAdmin.class);
+        Tenants tenants = mock(Tenants.class);
+        TenantInfo tenantInfo = TenantInfo.builder().build();
+        when(admin.tenants()).thenReturn(tenants);
+        when(tenants.getTenantInfo("public")).thenReturn(tenantInfo);
+        when(tenants.getTenantInfo("not-exist"))
+                .thenThrow(new PulsarAdminException.NotFoundException(new RuntimeException(), "not found", 404));
+
+        TenantInfoCache cache = new TenantInfoCache(admin, 100, 300, 60);
+        assertEquals(tenantInfo, cache.getTenantInfo("public"));
+        assertEquals(tenantInfo, cache.getTenantInfo("public"));
+        verify(tenants, times(1)).getTenantInfo("public");
+
+        cache.invalidate("public");
+        assertEquals(tenantInfo, cache.getTenantInfo("public"));
+        verify(tenants, times(2)).getTenantInfo("public");
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                cache.getTenantInfo("not-exist");
+                fail("should throw NotFoundException");
+            } catch (PulsarAdminException.NotFoundException e) {
+                // expected
+            }
+        }
+        // a missing tenant is not cached
+        verify(tenants, times(2)).getTenantInfo("not-exist");
+        cache.close();
+    }
+
+    @Test
+    public void testTenantChangeListener() throws Exception {
+        PulsarAdmin admin = mock(PulsarAdmin.class);
+        Tenants tenants = mock(Tenants.class);
+        TenantInfo tenantInfo = TenantInfo.builder().adminRoles(Collections.singleton("admin")).build();
+        TenantInfo changedTenantInfo = TenantInfo.builder().adminRoles(Collections.singleton("other")).build();
+        when(admin.tenants()).thenReturn(tenants);
+        when(tenants.getTenantInfo("public")).thenReturn(tenantInfo, tenantInfo, changedTenantInfo);
+
+        Set<String> changedTenants = ConcurrentHashMap.newKeySet();
+        CountDownLatch changed = new CountDownLatch(1);
+        TenantInfoCache cache = new TenantInfoCache(admin, 100, 300, 1, tenant -> {
+            changedTenants.add(tenant);
+            changed.countDown();
+        });
+        assertEquals(tenantInfo, cache.getTenantInfo("public"));
+        // the first refresh finds the same tenant info
+        Thread.sleep(1100);
+        cache.getTenantInfo("public");
+        verify(tenants, timeout(5000).times(2)).getTenantInfo("public");
+        assertTrue(changedTenants.isEmpty());
+
+        Thread.sleep(1100);
+        cache.getTenantInfo("public");
+        assertTrue(changed.await(5, TimeUnit.SECONDS));
+        assertEquals(Collections.singleton("public"), changedTenants);
+        cache.close();
+    }
+
+    @Test
+    public void testRemovedTenantIsDropped() throws Exception {
+        PulsarAdmin admin = mock(PulsarAdmin.class);
+        Tenants tenants = mock(Tenants.class);
+        TenantInfo tenantInfo = TenantInfo.builder().adminRoles(Collections.singleton("admin")).build();
+        when(admin.tenants()).thenReturn(tenants);
+        when(tenants.getTenantInfo("public")).thenReturn(tenantInfo)
+                .thenThrow(new PulsarAdminException.NotFoundException(new RuntimeException(), "not found", 404));
+
+        CountDownLatch removed = new CountDownLatch(1);
+        TenantInfoCache cache = new TenantInfoCache(admin, 100, 300, 1, tenant -> removed.countDown());
+        assertEquals(tenantInfo, cache.getTenantInfo("public"));
+        Thread.sleep(1100);
+        // triggers the refresh, which finds the tenant removed
+        cache.getTenantInfo("public");
+        assertTrue(removed.await(5, TimeUnit.SECONDS));
+
+        try {
+            cache.getTenantInfo("public");
+            fail("should throw NotFoundException");
+        } catch (PulsarAdminException.NotFoundException e) {
+            // expected
+        }
+        cache.close();
+    }
+}